@@ -3,6 +3,7 @@ package tracker;
 import tracker.services.Managers;
 import tracker.services.TaskManager;
 import tracker.webapi.HttpTaskServer;
+import tracker.webapi.enums.ExecutionModes;
 import tracker.webapi.handlers.TestDataWebAPI;
 
 import java.io.IOException;
@@ -13,9 +14,15 @@ public class Main {
      * При необходимости можно реализовать конфигурационный файл и получать их при запуске программы.
      * - USE_FILE_STORAGE - признак использования файлового хранилища
      * - USE_TEST_DATA - признак использования демонстрационных данных
+     * - PORT - прослушиваемый веб-сервером порт
+     * - BACKLOG - глубина очереди запросов веб-сервера (0 - берем из настроек ОС)
+     * - EXECUTION_MODE - режим обработки запросов веб-сервером
      */
     private static final boolean USE_FILE_STORAGE = false;
     private static final boolean USE_TEST_DATA = false;
+    private static final int PORT = HttpTaskServer.DEFAULT_PORT;
+    private static final int BACKLOG = HttpTaskServer.DEFAULT_BACKLOG;
+    private static final ExecutionModes EXECUTION_MODE = ExecutionModes.VIRTUAL_THREADS;
 
     /**
      * Поле taskManager используется для хранения менеджера задач текущего экземпляра приложения.
@@ -30,9 +37,10 @@ public class Main {
      * Запуск веб-сервер приложения.
      */
     private static void runWebServices() throws IOException {
-        HttpTaskServer httpTaskServer = new HttpTaskServer(taskManager);
+        HttpTaskServer httpTaskServer = new HttpTaskServer(taskManager, PORT, BACKLOG, EXECUTION_MODE);
         httpTaskServer.runWebServices();    //запуск web-сервера
 
-        if (USE_TEST_DATA) TestDataWebAPI.createTask(taskManager);
+        //Демонстрационные данные добавляем через менеджер сервера: он может работать с запросами параллельно.
+        if (USE_TEST_DATA) TestDataWebAPI.createTask(httpTaskServer.getTaskManager());
     }
 }
\ No newline at end of file
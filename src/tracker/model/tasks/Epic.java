@@ -1,28 +1,39 @@
 package tracker.model.tasks;
 
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
+import tracker.model.enums.Status;
+
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
-public class Epic extends Task implements PropertyChangeListener {
+public class Epic extends Task implements ScheduleListener {
     private transient List<Subtask> subtasks = new ArrayList<>();
 
+    //Количество подзадач эпика в каждом статусе (индекс - Status.ordinal()).
+    //Ведется при добавлении, удалении подзадач и смене их статуса, статус эпика по нему определяется за O(1).
+    //Поле не сериализуется, после десериализации счетчики рассчитываются по списку подзадач при первом обращении.
+    private transient int[] statusCounts = new int[Status.values().length];
+
     //Группа временных параметров (начала выполнения, продолжительность, конец выполнения).
     //Обозначаем аббревиатурой SDE (startTime, duration, endTime).
     private LocalDateTime endTime;
 
-    public Epic(String name, String descr) {
-        super(name, descr);
+    //Начала выполнения подзадач с количеством подзадач для каждого начала (упорядоченное мультимножество)
+    //и суммарная длительность всех подзадач в минутах. По ним показатели SDE пересчитываются за O(log n).
+    //Поля не сериализуются, после десериализации рассчитываются по списку подзадач при первом обращении.
+    private transient TreeMap<LocalDateTime, Integer> subtaskStartTimes = new TreeMap<>();
+    private transient long subtasksDuration;
 
-        initEpic();
+    public Epic(String name, String descr) {
+        super(name, descr); //сроки эпика без подзадач (начала нет, продолжительность нулевая) заданы конструктором Task
     }
 
     private void initEpic() {
         startTime = null;
         duration = Duration.ZERO;
         endTime = null;
+
+        updateCompactSchedule();
     }
 
     public List<Subtask> getSubtasks() {
@@ -34,9 +45,12 @@ public class Epic extends Task implements PropertyChangeListener {
     public void setSubtasks() {
         if (subtasks == null) subtasks = new ArrayList<>();
 
-        for (Subtask subtask : subtasks) subtask.removePropertyChangeListener(this);
+        for (Subtask subtask : subtasks) unlinkSubtask(subtask);
 
         subtasks = new ArrayList<>();   //в сеттере будем сбрасывать список подзадач
+        statusCounts = new int[Status.values().length];
+        subtaskStartTimes = new TreeMap<>();
+        subtasksDuration = 0;
 
         initEpic(); //нет подзадач, значит все временные показатели сбрасываем
     }
@@ -44,126 +58,219 @@ public class Epic extends Task implements PropertyChangeListener {
     public void setSubtasks(Subtask subtask) {
         if (subtasks == null) subtasks = new ArrayList<>();
 
-        subtask.addPropertyChangeListener(this);
+        getStatusCounts()[subtask.getStatus().ordinal()]++;
+
+        linkSubtask(subtask);
 
         subtasks.add(subtask);
 
-        calcSDEWithAddSubtask(subtask);
+        addSubtaskToSDE(subtask);
+    }
+
+    /// Удаляет подзадачу из списка подзадач эпика (подзадача ищется по ссылке).
+    public boolean removeSubtask(Subtask subtask) {
+        if (subtasks == null) subtasks = new ArrayList<>();
+
+        Iterator<Subtask> iterator = subtasks.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next() != subtask) continue;
+
+            iterator.remove();
+
+            getStatusCounts()[subtask.getStatus().ordinal()]--;
+
+            unlinkSubtask(subtask);
+
+            removeSubtaskFromSDE(subtask);
+
+            return true;
+        }
+
+        return false;
     }
 
     public void setSubtasks(List<Subtask> subtasks) {
         if (this.subtasks == null) this.subtasks = new ArrayList<>();
 
-        for (Subtask subtask : this.subtasks) subtask.removePropertyChangeListener(this);
-        for (Subtask subtask : subtasks) subtask.addPropertyChangeListener(this);
+        for (Subtask subtask : this.subtasks) unlinkSubtask(subtask);
+        for (Subtask subtask : subtasks) linkSubtask(subtask);
 
         this.subtasks = subtasks;
+        statusCounts = null;    //пересчитаем по новому списку при первом обращении
+        subtaskStartTimes = null;   //показатели SDE рассчитываем по новому списку сразу
+
+        prepareSDE();
+        applySDE();
+    }
+
+    //region Статусы подзадач.
+
+    /// Количество подзадач эпика в статусе status.
+    public int getSubtasksCount(Status status) {
+        return getStatusCounts()[status.ordinal()];
+    }
+
+    /// Процент выполнения эпика: доля подзадач в статусе DONE (0 - 100). У эпика без подзадач - 0.
+    public int getProgress() {
+        int[] counts = getStatusCounts();
+        int total = counts[Status.NEW.ordinal()] + counts[Status.IN_PROGRESS.ordinal()] + counts[Status.DONE.ordinal()];
+
+        if (total == 0) return 0;
+
+        return counts[Status.DONE.ordinal()] * 100 / total;
+    }
+
+    /// Статус эпика, определяемый по статусам подзадач (O(1)):
+    ///  - NEW - нет подзадач или все подзадачи в статусе NEW;
+    ///  - DONE - все подзадачи в статусе DONE;
+    ///  - IN_PROGRESS - во всех остальных случаях.
+    public Status getStatusBySubtasks() {
+        int[] counts = getStatusCounts();
+        int countNew = counts[Status.NEW.ordinal()];
+        int countInProgress = counts[Status.IN_PROGRESS.ordinal()];
+        int countDone = counts[Status.DONE.ordinal()];
+
+        if ((countInProgress > 0) || ((countNew > 0) && (countDone > 0))) return Status.IN_PROGRESS;
+        else if (countDone > 0) return Status.DONE;
+        else return Status.NEW;
+    }
+
+    /// Учет смены статуса подзадачи эпика (вызывается подзадачей).
+    void changedStatusSubtask(Status oldStatus, Status newStatus) {
+        int[] counts = getStatusCounts();
 
-        calcSDEWithChangedListSubtasks();
+        counts[oldStatus.ordinal()]--;
+        counts[newStatus.ordinal()]++;
     }
 
+    private int[] getStatusCounts() {
+        if (statusCounts == null) {
+            statusCounts = new int[Status.values().length];
+
+            if (subtasks != null) {
+                for (Subtask subtask : subtasks) statusCounts[subtask.getStatus().ordinal()]++;
+            }
+        }
+
+        return statusCounts;
+    }
+
+    private void linkSubtask(Subtask subtask) {
+        subtask.addScheduleListener(this);
+        subtask.linkedToEpic = true;
+    }
+
+    private void unlinkSubtask(Subtask subtask) {
+        subtask.removeScheduleListener(this);
+        subtask.linkedToEpic = false;
+    }
+    //endregion
+
     @Override
     public Optional<LocalDateTime> getEndTime() {
         return Optional.ofNullable(endTime);
     }
 
-    private void calcSDEWithAddSubtask(Subtask subtask) {
-        //При добавлении новой задачи выполняем коррекцию значений SDE:
-        //  1. startTime = min(st, subtask.st)
-        //  2. duration += subtask.duration
-        //  3. endTime = startTime + duration
-
-        if (subtask.startTime == null) return;  //такая задача не влияет на показатели SDE
+    //region Временные показатели эпика (SDE).
 
-        if (startTime == null) {
-            //До этого момента у эпика либо не было подзадач, либо у них startTime == null и duration = 0.
-            startTime = subtask.startTime;
-            duration = subtask.duration;
-            endTime = startTime.plus(duration);
+    //Показатели SDE ведутся инкрементально, без перебора списка подзадач:
+    //  1. startTime - минимальное начало выполнения в упорядоченном мультимножестве начал подзадач (O(log n)).
+    //  2. duration - сумма длительности всех подзадач, накопительный итог (O(1)).
+    //  3. endTime = startTime + duration.
+    //Если ни у одной подзадачи нет начала выполнения, показатели SDE сбрасываются.
 
-            return;
+    /// Учет добавленной в список подзадачи в показателях SDE.
+    private void addSubtaskToSDE(Subtask subtask) {
+        if (prepareSDE()) {
+            addStartTime(subtask.startTime);
+            subtasksDuration += subtask.getDuration();
         }
 
-        if (subtask.startTime.isBefore(startTime))
-            startTime = subtask.startTime;   //у новой подзадачи startTime меньше чем было у эпика
+        applySDE();
+    }
 
-        duration = duration.plus(subtask.duration); //увеличиваем длительность выполнения эпика
+    /// Учет удаленной из списка подзадачи в показателях SDE.
+    private void removeSubtaskFromSDE(Subtask subtask) {
+        if (prepareSDE()) {
+            removeStartTime(subtask.startTime);
+            subtasksDuration -= subtask.getDuration();
+        }
 
-        endTime = startTime.plus(duration); //актуализировали конец работ над эпиком
+        applySDE();
     }
 
-    private void calcSDEWithChangedListSubtasks() {
-        //При смене списка задач, выполняем новый расчет показателей SDE (с начала):
-        //  1. Находим минимальное значение startTime из списка подзадач (min st).
-        //  2. Находим duration как сумму длительности всех подзадач (сумма d).
-        //  3. Вычисляем значение endTime (et = st + d).
+    /// Проверка, что мультимножество начал и сумма длительности подзадач уже ведутся.
+    /// Если нет (эпик получен при десериализации или сменился список подзадач), они рассчитываются
+    /// по текущему списку подзадач, изменение в этом случае уже учтено и метод возвращает false.
+    private boolean prepareSDE() {
+        if (subtaskStartTimes != null) return true;
 
-        //Подготовлю объект компаратора, чтобы сравнивать подзадачи по полю startTime.
-        //Установлю правило, что подзадача со startTime == null считается больше подзадачи,
-        //у которой startTime != null.
-        Comparator<Subtask> subtaskComparator = (Subtask subtask1, Subtask subtask2) -> {
-            if ((subtask1.startTime == null) && (subtask2.startTime == null)) return 0; //подзадачи равны
-            else if (subtask2.startTime == null) return -1; //подзадача 2 > подзадачи 1
-            else if (subtask1.startTime == null) return 1;  //подзадача 1 > подзадачи 2
-            else if (subtask1.startTime.isBefore(subtask2.startTime)) return -1;    //подзадача 1 < подзадачи 2
-            else if (subtask1.startTime.equals(subtask2.startTime)) return 0;   //подзадачи равны
-            else return 1;  //подзадача 1 > подзадачи 2
-        };
+        subtaskStartTimes = new TreeMap<>();
+        subtasksDuration = 0;
 
-        Optional<Subtask> optionalSubtask = subtasks.stream().min(subtaskComparator);
-        if (optionalSubtask.isEmpty()) {
-            //Список подзадач пуст.
-            //В этом случае сбрасываем показатели SDE.
-            initEpic();
+        if (subtasks != null) {
+            for (Subtask subtask : subtasks) {
+                addStartTime(subtask.startTime);
+                subtasksDuration += subtask.getDuration();
+            }
+        }
 
-            return;
-        } else if (optionalSubtask.get().startTime == null) {
-            //У всех подзадач startTime == null и duration == 0.
+        return false;
+    }
+
+    private void addStartTime(LocalDateTime start) {
+        if (start != null) subtaskStartTimes.merge(start, 1, Integer::sum);
+    }
+
+    private void removeStartTime(LocalDateTime start) {
+        if (start != null) subtaskStartTimes.computeIfPresent(start, (key, count) -> (count > 1) ? count - 1 : null);
+    }
+
+    /// Перенос рассчитанных значений в поля SDE эпика.
+    private void applySDE() {
+        if (subtaskStartTimes.isEmpty()) {
+            //Список подзадач пуст или у всех подзадач startTime == null.
             //В этом случае сбрасываем показатели SDE.
             initEpic();
 
             return;
         }
 
-        startTime = optionalSubtask.get().startTime;    //определили начало работ
-
-        //Получили длительность эпика.
-        duration = subtasks.stream()
-                .map((subtask) -> subtask.duration)
-                .reduce(Duration.ZERO, Duration::plus);
-
+        startTime = subtaskStartTimes.firstKey();   //определили начало работ
+        duration = Duration.ofMinutes(subtasksDuration);  //длительность эпика
         endTime = startTime.plus(duration); //определили конец работ
+
+        updateCompactSchedule();
     }
+    //endregion
 
     @Override
-    public void propertyChange(PropertyChangeEvent evt) {
-        String nameField = evt.getPropertyName();
-
-        if (nameField.equals("startTime")) {
-            changedStartTimeSubtask(evt.getOldValue(), evt.getNewValue());
-        } else if (nameField.equals("duration")) {
-            changedDurationSubtask((long) evt.getOldValue(), (long) evt.getNewValue());
-        }
+    public void onScheduleChanged(Task task, LocalDateTime oldStartTime, long oldDuration) {
+        changedStartTimeSubtask(oldStartTime, task.startTime);
+        changedDurationSubtask(oldDuration, task.getDuration());
     }
 
-    private <T> void changedStartTimeSubtask(T oldValue, T newValue) {
-        if (oldValue.equals(newValue)) return;
+    private void changedStartTimeSubtask(LocalDateTime oldValue, LocalDateTime newValue) {
+        if (Objects.equals(oldValue, newValue)) return;
 
-        //System.out.println("Произошло изменение значения в поле startTime подзадачи с " + oldValue + " на " + newValue);
+        //Две подзадачи могут иметь одинаковое время начала, поэтому начала хранятся с количеством (мультимножество):
+        //убираем одно вхождение старого значения и добавляем новое (O(log n)).
+        if (prepareSDE()) {
+            removeStartTime(oldValue);
+            addStartTime(newValue);
+        }
 
-        //if (newValue.isBefore(startTime)) startTime = newValue; - решил для данного места оставить ситуацию, что две подзадачи
-        //могут иметь одинаковое время начала. Потребуется ее найти. Поэтому запускаем алгоритм расчета показателей SDE сначала.
-        calcSDEWithChangedListSubtasks();
+        applySDE();
     }
 
     private void changedDurationSubtask(long oldValue, long newValue) {
         if (oldValue == newValue) return;
 
-        //System.out.println("Произошло изменение значения в поле duration подзадачи с " + oldValue + " на " + newValue);
-        //duration = duration.minus(Duration.ofMinutes(oldValue)).plus(Duration.ofMinutes(newValue)); //скорректировал длительность работ над эпиком
-        duration = duration.minusMinutes(oldValue).plusMinutes(newValue);
+        //Сумма ведется по всем подзадачам, в т.ч. без начала выполнения (например, подзадачу еще только планируют).
+        //Если у эпика нет подзадач с началом выполнения, временные показатели эпика остаются не определены.
+        if (prepareSDE()) subtasksDuration += newValue - oldValue;
 
-        endTime = startTime.plus(duration); //актуализировал время завершения работы над эпиком
+        applySDE();
     }
 
     @Override
@@ -0,0 +1,13 @@
+package tracker.model.tasks;
+
+import java.time.LocalDateTime;
+
+/// Слушатель изменения плановых сроков задачи (начала и/или продолжительности выполнения).
+/// Вызывается после изменения полей задачи, новые значения берутся из самой задачи.
+/// В отличие от PropertyChangeListener, вызов не создает объектов события, не упаковывает значения
+/// и не сравнивает имена свойств.
+public interface ScheduleListener {
+    /// oldStartTime - начало выполнения до изменения (может быть null),
+    /// oldDuration - продолжительность выполнения в минутах до изменения.
+    void onScheduleChanged(Task task, LocalDateTime oldStartTime, long oldDuration);
+}
\ No newline at end of file
@@ -1,5 +1,6 @@
 package tracker.model.tasks;
 
+import tracker.model.enums.Status;
 import tracker.services.enums.TypeTask;
 import tracker.services.exceptions.SetPropertyTaskException;
 
@@ -9,6 +10,10 @@ import java.util.Objects;
 public class Subtask extends Task {
     private Epic epic;
 
+    //Подзадача входит в список подзадач своего эпика: эпик учитывает смену ее статуса.
+    //Объекты, созданные при десериализации, в список эпика не входят.
+    transient boolean linkedToEpic;
+
 //    private final PropertyChangeSupport pcs = new PropertyChangeSupport(this);
 //
 //    public void addPropertyChangeListener(PropertyChangeListener listener) {
@@ -41,6 +46,15 @@ public class Subtask extends Task {
         return epic;
     }
 
+    @Override
+    public void setStatus(Status status) {
+        Status oldStatus = getStatus();
+
+        super.setStatus(status);
+
+        if (linkedToEpic && (oldStatus != status)) epic.changedStatusSubtask(oldStatus, status);
+    }
+
     @Override
     public void setStartTime(LocalDateTime newValue) {
         super.setStartTime(newValue);
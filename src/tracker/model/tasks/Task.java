@@ -4,10 +4,12 @@ import tracker.model.enums.Status;
 import tracker.services.enums.TypeTask;
 import tracker.services.exceptions.SetPropertyTaskException;
 
-import java.beans.PropertyChangeListener;
-import java.beans.PropertyChangeSupport;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.Optional;
 
 public class Task {
@@ -16,25 +18,88 @@ public class Task {
 
     protected String name;
     protected String descr;
-    protected LocalDateTime startTime = null;   //дата и время, когда предполагается приступить к задаче
+    protected LocalDateTime startTime = null;   //дата и время, когда предполагается приступить к задаче (до секунд)
     protected Duration duration = Duration.ZERO;    //плановая продолжительность выполнения задачи в минутах
 
-    protected transient PropertyChangeSupport pcs;
+    /// Значение компактного срока выполнения, если срок не задан (нет начала выполнения).
+    public static final long NO_TIME = Long.MIN_VALUE;
 
-    public final void addPropertyChangeListener(PropertyChangeListener listener) {
+    /// Максимальная продолжительность выполнения в минутах (около 4 000 лет): сроки с такой продолжительностью
+    /// рассчитываются без переполнения.
+    public static final long MAX_DURATION_MINUTES = Integer.MAX_VALUE;
+
+    //Компактное представление сроков для горячих путей (сортировка, проверка пересечений, календарь занятости):
+    //начало и конец выполнения в секундах от эпохи (UTC) и продолжительность в минутах. Секунды, а не минуты,
+    //т.к. начало выполнения может быть задано с секундами. Доли секунды начала выполнения отбрасываются
+    //при установке (как и в JSON), поэтому компактное представление совпадает со startTime без потери точности. Конец выполнения рассчитывается один раз при изменении
+    //сроков, а не при каждом обращении. Поля не сериализуются: объект, созданный при десериализации (без вызова
+    //конструктора), рассчитает их при первом обращении.
+    private transient long startEpochSecond;
+    private transient long endEpochSecond;
+    private transient int durationMinutes;
+    private transient boolean compactScheduleReady;
+
+    //Слушатели изменения сроков выполнения. Подключаются редко (эпик, менеджер задач), а оповещаются при каждом
+    //изменении сроков, поэтому массив при подключении (отключении) копируется, а оповещение идет без выделения памяти.
+    protected transient ScheduleListener[] scheduleListeners;
+
+    public final void addScheduleListener(ScheduleListener listener) {
         //Инициализацию будем делать при подключении слушателя.
-        if (pcs == null) pcs = new PropertyChangeSupport(this);
+        if (scheduleListeners == null) {
+            scheduleListeners = new ScheduleListener[]{listener};
 
-        pcs.addPropertyChangeListener(listener);
+            return;
+        }
+
+        scheduleListeners = Arrays.copyOf(scheduleListeners, scheduleListeners.length + 1);
+        scheduleListeners[scheduleListeners.length - 1] = listener;
     }
 
-    public final void removePropertyChangeListener(PropertyChangeListener listener) {
-        if (pcs != null) pcs.removePropertyChangeListener(listener);
+    public final void removeScheduleListener(ScheduleListener listener) {
+        if (scheduleListeners == null) return;
+
+        for (int i = 0; i < scheduleListeners.length; i++) {
+            if (scheduleListeners[i] != listener) continue;
+
+            ScheduleListener[] listeners = new ScheduleListener[scheduleListeners.length - 1];
+            System.arraycopy(scheduleListeners, 0, listeners, 0, i);
+            System.arraycopy(scheduleListeners, i + 1, listeners, i, listeners.length - i);
+
+            scheduleListeners = (listeners.length == 0) ? null : listeners;
+
+            return;
+        }
+    }
+
+    /// Оповещает слушателей об изменении сроков. Если слушатель отклонил изменение (бросил исключение), то сроки
+    /// задачи возвращаются к прежним значениям, а слушатели, уже принявшие изменение, получают обратное оповещение.
+    private void fireScheduleChanged(LocalDateTime oldStartTime, long oldDuration) {
+        ScheduleListener[] listeners = scheduleListeners;
+        if (listeners == null) return;
+
+        for (int i = 0; i < listeners.length; i++) {
+            try {
+                listeners[i].onScheduleChanged(this, oldStartTime, oldDuration);
+            } catch (RuntimeException e) {
+                LocalDateTime rejectedStartTime = startTime;
+                long rejectedDuration = getDuration();
+
+                startTime = oldStartTime;
+                duration = convertMinutesToDuration(oldDuration);
+                updateCompactSchedule();
+
+                for (int j = 0; j < i; j++) listeners[j].onScheduleChanged(this, rejectedStartTime, rejectedDuration);
+
+                throw e;
+            }
+        }
     }
 
     public Task(String name, String descr) {
         this.name = name;
         this.descr = descr;
+
+        updateCompactSchedule();
     }
 
     public Task(String name, String descr, LocalDateTime startTime, long durationMinutes) throws SetPropertyTaskException {
@@ -42,9 +107,16 @@ public class Task {
 
         if ((startTime == null) && (durationMinutes != 0)) throw new SetPropertyTaskException(TypeTask.TASK, 0,
                 "Не допускается создание задачи с продолжительностью выполнения не равной нулю и startTime равным null.");
+        if (durationMinutes < 0) throw new SetPropertyTaskException(TypeTask.TASK, 0,
+                "Не допускается установка отрицательного значения в продолжительность выполнения задачи.");
+        if (durationMinutes > MAX_DURATION_MINUTES) throw new SetPropertyTaskException(TypeTask.TASK, 0,
+                getTooLongDurationMessage());
+
+        //Поля устанавливаем напрямую, а не через переопределяемые сеттеры: объект подкласса еще не создан.
+        this.startTime = truncateStartTime(startTime);
+        this.duration = convertMinutesToDuration(durationMinutes);
 
-        this.startTime = startTime;
-        this.setDuration(durationMinutes);
+        updateCompactSchedule();
     }
 
     public String getName() {
@@ -76,9 +148,12 @@ public class Task {
     }
 
     public void setStartTime(LocalDateTime newValue) {
-        Optional<LocalDateTime> oldValue = getStartTime();
+        newValue = truncateStartTime(newValue);
+
+        LocalDateTime oldValue = startTime;
         this.startTime = newValue;
-        if (pcs != null) pcs.firePropertyChange("startTime", oldValue, getStartTime());
+        updateCompactSchedule();
+        if (!Objects.equals(oldValue, newValue)) fireScheduleChanged(oldValue, getDuration());
     }
 
     public long getDuration() {
@@ -88,10 +163,61 @@ public class Task {
     public void setDuration(long durationMinutes) throws SetPropertyTaskException {
         if (durationMinutes < 0) throw new SetPropertyTaskException(TypeTask.TASK, id,
                 "Не допускается установка отрицательного значения в продолжительность выполнения задачи.");
+        if (durationMinutes > MAX_DURATION_MINUTES) throw new SetPropertyTaskException(TypeTask.TASK, id,
+                getTooLongDurationMessage());
 
         long oldValue = getDuration();
         this.duration = convertMinutesToDuration(durationMinutes);
-        if (pcs != null) pcs.firePropertyChange("duration", oldValue, getDuration());
+        updateCompactSchedule();
+        if (oldValue != durationMinutes) fireScheduleChanged(startTime, oldValue);
+    }
+
+    //region Компактное представление сроков выполнения.
+
+    /// Начало выполнения в секундах от эпохи (UTC) или NO_TIME, если начало не задано.
+    public final long getStartEpochSecond() {
+        if (!compactScheduleReady) updateCompactSchedule();
+
+        return startEpochSecond;
+    }
+
+    /// Конец выполнения в секундах от эпохи (UTC) или NO_TIME, если начало не задано.
+    public final long getEndEpochSecond() {
+        if (!compactScheduleReady) updateCompactSchedule();
+
+        return endEpochSecond;
+    }
+
+    /// Продолжительность выполнения в минутах (без обращения к Duration).
+    public final int getDurationMinutes() {
+        if (!compactScheduleReady) updateCompactSchedule();
+
+        return durationMinutes;
+    }
+
+    /// Пересчет компактного представления после изменения полей startTime и/или duration.
+    protected final void updateCompactSchedule() {
+        durationMinutes = (int) duration.toMinutes();   //не больше MAX_DURATION_MINUTES: приведение без потерь
+
+        if (startTime == null) {
+            startEpochSecond = NO_TIME;
+            endEpochSecond = NO_TIME;
+        } else {
+            startEpochSecond = startTime.toEpochSecond(ZoneOffset.UTC);
+            endEpochSecond = startEpochSecond + duration.getSeconds();
+        }
+
+        compactScheduleReady = true;
+    }
+    //endregion
+
+    private static String getTooLongDurationMessage() {
+        return String.format("Продолжительность выполнения задачи не может превышать %d минут.", MAX_DURATION_MINUTES);
+    }
+
+    /// Начало выполнения хранится с точностью до секунды.
+    private static LocalDateTime truncateStartTime(LocalDateTime startTime) {
+        return (startTime == null) ? null : startTime.truncatedTo(ChronoUnit.SECONDS);
     }
 
     private Duration convertMinutesToDuration(long durationMinutes) {
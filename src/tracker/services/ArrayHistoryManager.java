@@ -0,0 +1,164 @@
+package tracker.services;
+
+import tracker.model.tasks.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//Поставил модификатор доступа по умолчанию.
+//Создавать объекты класса ArrayHistoryManager только в Managers.
+
+/// История просмотров на массивах: вариант InMemoryHistoryManager без выделения памяти при просмотрах.
+/// Двусвязный список хранится в параллельных массивах ячеек (задача, предыдущая и следующая ячейки),
+/// освободившиеся ячейки собираются в список свободных и переиспользуются. Связь id задачи - ячейка хранится
+/// в массиве, индексированном id (как в TaskStorage), поэтому id не упаковываются, а поиск ячейки - одно обращение.
+/// Повторный просмотр задачи только переставляет ячейку в конец списка. Массивы растут, только когда в истории
+/// больше задач, чем было раньше.
+/// Как и InMemoryHistoryManager, история может быть ограничена по размеру (вытесняется самая старая задача).
+/// Методы синхронизированы: подзадачи разных эпиков могут удаляться параллельно (см. ConcurrentTaskManager).
+class ArrayHistoryManager implements HistoryManager {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NONE = -1; //нет ячейки (конец списка)
+
+    private final int capacity;    //максимальное количество задач в истории, InMemoryHistoryManager.UNBOUNDED - без ограничения
+
+    //region Ячейки двусвязного списка.
+    private Task[] items = new Task[INITIAL_CAPACITY];
+    private int[] prev = new int[INITIAL_CAPACITY];
+    private int[] next = new int[INITIAL_CAPACITY]; //для свободной ячейки - следующая свободная
+
+    private int head = NONE;
+    private int tail = NONE;
+    private int free = NONE;    //первая свободная ячейка
+    private int used;   //количество ячеек, выданных хотя бы раз
+    private int size;   //количество задач в истории
+    //endregion
+
+    private int[] slots = new int[INITIAL_CAPACITY];    //id задачи - ячейка + 1, 0 - задачи в истории нет
+
+    private long evictions;    //количество задач, вытесненных из истории при переполнении
+
+    ArrayHistoryManager() {
+        this(InMemoryHistoryManager.UNBOUNDED);
+    }
+
+    ArrayHistoryManager(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Размер истории не может быть отрицательным.");
+
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void add(Task task) {
+        int idTask = task.getId();
+
+        int slot = getSlot(idTask);
+        if (slot != NONE) {
+            items[slot] = task; //просмотрен может быть другой объект с тем же id
+            if (slot == tail) return;
+
+            unlink(slot);
+            linkLast(slot);
+
+            return;
+        }
+
+        slot = allocate();
+        items[slot] = task;
+        linkLast(slot);
+
+        ensureSlots(idTask);
+        slots[idTask] = slot + 1;
+        size++;
+
+        if ((capacity != InMemoryHistoryManager.UNBOUNDED) && (size > capacity)) {
+            release(head);
+
+            evictions++;
+        }
+    }
+
+    @Override
+    public synchronized List<Task> getHistory() {
+        List<Task> tasks = new ArrayList<>(size);
+
+        for (int slot = head; slot != NONE; slot = next[slot]) tasks.add(items[slot]);
+
+        return tasks;
+    }
+
+    @Override
+    public synchronized void remove(int id) {
+        int slot = getSlot(id);
+        if (slot == NONE) return;   //если задачи в истории нет, то выходим
+
+        release(slot);
+    }
+
+    @Override
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    private int getSlot(int id) {
+        if ((id < 0) || (id >= slots.length)) return NONE;
+
+        return slots[id] - 1;
+    }
+
+    /// Удаляет задачу ячейки slot из истории и возвращает ячейку в список свободных.
+    private void release(int slot) {
+        unlink(slot);
+
+        slots[items[slot].getId()] = 0;
+        items[slot] = null;
+
+        next[slot] = free;
+        free = slot;
+        size--;
+    }
+
+    private int allocate() {
+        if (free != NONE) {
+            int slot = free;
+            free = next[slot];
+
+            return slot;
+        }
+
+        if (used == items.length) {
+            int newCapacity = items.length * 2;
+
+            items = Arrays.copyOf(items, newCapacity);
+            prev = Arrays.copyOf(prev, newCapacity);
+            next = Arrays.copyOf(next, newCapacity);
+        }
+
+        return used++;
+    }
+
+    private void linkLast(int slot) {
+        prev[slot] = tail;
+        next[slot] = NONE;
+
+        if (tail == NONE) head = slot;
+        else next[tail] = slot;
+
+        tail = slot;
+    }
+
+    private void unlink(int slot) {
+        if (prev[slot] != NONE) next[prev[slot]] = next[slot];
+        else head = next[slot];
+
+        if (next[slot] != NONE) prev[next[slot]] = prev[slot];
+        else tail = prev[slot];
+    }
+
+    private void ensureSlots(int id) {
+        if (id < slots.length) return;
+
+        slots = Arrays.copyOf(slots, Math.max(slots.length * 2, id + 1));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,217 @@
+package tracker.services;
+
+import tracker.model.tasks.Task;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+//Поставил модификатор доступа по умолчанию.
+//Создавать объекты класса AsyncHistoryManager только в Managers.
+
+/// Асинхронная запись истории просмотров поверх другой истории (InMemoryHistoryManager, ArrayHistoryManager).
+/// Просмотры и удаления не меняют историю в потоке читателя, а публикуются событиями в ограниченный кольцевой буфер
+/// без блокировок: место в буфере занимается сравнением с обменом (CAS) счетчика, готовность ячейки отмечается
+/// ее номером последовательности. Один поток-потребитель забирает события по порядку и применяет их к истории
+/// пакетами (одна синхронизация истории на пакет). Удаления идут через тот же буфер, поэтому не могут обогнать
+/// просмотр той же задачи.
+/// Потоки не опрашивают буфер по таймеру: потребитель без событий засыпает (LockSupport.park), и его будит
+/// опубликовавший событие. Читатель при заполненном буфере и getHistory(true) засыпают в списке ожидающих,
+/// их будит потребитель после каждого пакета.
+/// getHistory(true) (и getHistory()) сначала дожидается применения всех опубликованных событий,
+/// getHistory(false) возвращает историю без ожидания (последние просмотры могут еще не попасть в нее).
+/// Поток-потребитель останавливается в close (его вызывает HttpTaskServer при остановке), оставшиеся события
+/// применяются к истории. После close события применяются в вызывающем потоке.
+class AsyncHistoryManager implements HistoryManager {
+    private static final int BATCH_SIZE = 256;  //максимальное количество событий, применяемых за одну синхронизацию
+
+    private final HistoryManager historyManager;
+
+    //region Кольцевой буфер событий.
+    private final int capacity;
+    private final int mask;
+    private final AtomicLongArray sequences;    //номер последовательности ячейки: позиция + 1 - событие готово
+    private final Task[] tasks; //просмотренная задача, null - событие удаления
+    private final int[] ids;    //id удаляемой задачи
+
+    private final AtomicLong tail = new AtomicLong(); //позиция следующего события (занятые места)
+    private long head;  //позиция следующего события потребителя (поток-потребитель, после close - под монитором)
+    private volatile long applied;  //количество событий, примененных к истории
+    //endregion
+
+    private final Thread consumer;
+    private volatile boolean running = true;
+    private volatile boolean sleeping;  //потребитель ждет событий
+    private final Queue<Thread> waiters = new ConcurrentLinkedQueue<>(); //ждут места в буфере или применения событий
+
+    AsyncHistoryManager(HistoryManager historyManager, int bufferSize) {
+        if (bufferSize < 1) throw new IllegalArgumentException("Размер буфера истории должен быть больше нуля.");
+
+        this.historyManager = historyManager;
+
+        capacity = Integer.highestOneBit(Math.max(bufferSize - 1, 1)) << 1;   //степень двойки не меньше bufferSize
+        mask = capacity - 1;
+        sequences = new AtomicLongArray(capacity);
+        for (int index = 0; index < capacity; index++) sequences.set(index, index);
+        tasks = new Task[capacity];
+        ids = new int[capacity];
+
+        consumer = new Thread(this::consume, "history-consumer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @Override
+    public void add(Task task) {
+        if (running) publish(task, task.getId());
+        else historyManager.add(task);
+    }
+
+    @Override
+    public void remove(int id) {
+        if (running) publish(null, id);
+        else historyManager.remove(id);
+    }
+
+    /// История после применения всех опубликованных событий.
+    @Override
+    public List<Task> getHistory() {
+        return getHistory(true);
+    }
+
+    @Override
+    public List<Task> getHistory(boolean flush) {
+        if (flush) flush();
+
+        return historyManager.getHistory();
+    }
+
+    @Override
+    public long getEvictions() {
+        return historyManager.getEvictions();
+    }
+
+    /// Дожидается применения к истории всех событий, опубликованных до вызова.
+    void flush() {
+        long published = tail.get();
+
+        await(() -> applied >= published);
+    }
+
+    /// Останавливает поток-потребитель, оставшиеся события применяются к истории в вызывающем потоке.
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(consumer);
+
+        drainAfterClose();
+    }
+
+    private void publish(Task task, int id) {
+        long position;
+        while (true) {
+            position = tail.get();
+            long sequence = sequences.get((int) (position & mask));
+
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) break;
+            } else if (sequence < position) {
+                //Буфер заполнен: ждем, пока потребитель освободит ячейку.
+                long full = position;
+                await(() -> sequences.get((int) (full & mask)) >= full);
+            }
+        }
+
+        int index = (int) (position & mask);
+        tasks[index] = task;
+        ids[index] = id;
+        sequences.set(index, position + 1); //событие готово (публикует tasks и ids потребителю)
+
+        if (sleeping) LockSupport.unpark(consumer);
+
+        //Если менеджер закрыли, пока событие публиковалось, то потребитель мог уже остановиться.
+        if (!running) drainAfterClose();
+    }
+
+    /// Ожидание условия, которое выполняет поток-потребитель (или закрытие истории).
+    private void await(BooleanSupplier condition) {
+        if (condition.getAsBoolean()) return;
+
+        Thread current = Thread.currentThread();
+        waiters.add(current);
+        try {
+            while (!condition.getAsBoolean()) {
+                if (running) LockSupport.unpark(consumer);
+                else drainAfterClose();
+
+                if (!condition.getAsBoolean()) LockSupport.park(this);
+            }
+        } finally {
+            waiters.remove(current);
+        }
+    }
+
+    private void consume() {
+        while (running) {
+            if (drain() > 0) continue;
+
+            sleeping = true;
+            if (running && !hasEvent()) LockSupport.park(this);
+            sleeping = false;
+        }
+    }
+
+    /// После остановки потребителя применяет оставшиеся события в вызывающем потоке.
+    private void drainAfterClose() {
+        boolean interrupted = false;
+        while (consumer.isAlive()) {
+            try {
+                consumer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+
+        synchronized (this) {
+            while (hasEvent()) drain();
+        }
+    }
+
+    private boolean hasEvent() {
+        return sequences.get((int) (head & mask)) == head + 1;
+    }
+
+    /// Применяет к истории пакет готовых событий, возвращает их количество.
+    private int drain() {
+        if (!hasEvent()) return 0;
+
+        int count = 0;
+        synchronized (historyManager) {
+            while ((count < BATCH_SIZE) && hasEvent()) {
+                int index = (int) (head & mask);
+                Task task = tasks[index];
+                int id = ids[index];
+
+                tasks[index] = null;
+                sequences.set(index, head + capacity);  //ячейка свободна для следующего круга
+                head++;
+
+                if (task != null) historyManager.add(task);
+                else historyManager.remove(id);
+
+                count++;
+            }
+        }
+
+        applied = head;
+
+        for (Thread waiter : waiters) LockSupport.unpark(waiter);
+
+        return count;
+    }
+}
\ No newline at end of file
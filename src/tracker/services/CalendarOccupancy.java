@@ -0,0 +1,136 @@
+package tracker.services;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.TreeMap;
+
+//Поставил модификатор доступа по умолчанию.
+//Календарь занятости ведет индекс интервалов выполнения задач (TaskIntervalIndex).
+
+/// Календарь занятости с точностью до минуты: для каждого дня битовая карта из 1440 минут.
+/// Границы интервалов передаются в секундах от эпохи (UTC) - компактном представлении сроков задач.
+/// Интервал [start, end] занимает все минуты от минуты start до минуты end включительно, т.е. календарь
+/// оценивает занятость с запасом: если все минуты интервала свободны, то интервал гарантированно
+/// не пересекается ни с одной задачей (границы включительно). Обратное не верно - в одной минуте могут
+/// выполняться несколько коротких задач, поэтому занятая минута требует точной проверки по индексу.
+/// Дни хранятся в TreeMap: поиск по длинному интервалу перебирает только дни с занятыми минутами,
+/// а не все дни интервала, поэтому его стоимость не зависит от длительности интервала.
+class CalendarOccupancy {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final TreeMap<Long, BitSet> days = new TreeMap<>();  //номер дня от эпохи - занятые минуты дня
+
+    /// Отмечает минуты интервала [start, end] как занятые.
+    void occupy(long startSecond, long endSecond) {
+        long firstMinute = minuteOf(startSecond);
+        long lastMinute = minuteOf(endSecond);
+
+        for (long day = dayOf(firstMinute); day <= dayOf(lastMinute); day++) {
+            BitSet minutes = days.computeIfAbsent(day, key -> new BitSet(MINUTES_PER_DAY));
+
+            minutes.set(fromBit(day, firstMinute), toBit(day, lastMinute) + 1);
+        }
+    }
+
+    /// Освобождает минуты интервала [start, end].
+    /// Минуты на границах могут быть заняты и соседними задачами, их повторно отмечает индекс интервалов.
+    void release(long startSecond, long endSecond) {
+        long firstMinute = minuteOf(startSecond);
+        long lastMinute = minuteOf(endSecond);
+
+        for (long day = dayOf(firstMinute); day <= dayOf(lastMinute); day++) {
+            BitSet minutes = days.get(day);
+            if (minutes == null) continue;
+
+            minutes.clear(fromBit(day, firstMinute), toBit(day, lastMinute) + 1);
+
+            if (minutes.isEmpty()) days.remove(day);
+        }
+    }
+
+    void clear() {
+        days.clear();
+    }
+
+    /// Проверка, что все минуты интервала [start, end] свободны.
+    boolean isFree(long startSecond, long endSecond) {
+        long firstMinute = minuteOf(startSecond);
+
+        return findOccupiedMinute(firstMinute, minuteOf(endSecond)) < firstMinute;
+    }
+
+    /// Начало ближайшего свободного интервала длительностью durationMinutes, начинающегося не раньше after.
+    /// Начало выравнивается на границу минуты. Интервал гарантированно не пересекается ни с одной задачей.
+    LocalDateTime findFreeSlot(long durationMinutes, LocalDateTime after) {
+        long minute = toEpochMinute(after);
+        if (!after.equals(toLocalDateTime(minute))) minute++;   //начало с секундами переносим на следующую минуту
+
+        while (true) {
+            //Интервал [minute, minute + duration] занимает duration + 1 минуту.
+            long occupiedMinute = findOccupiedMinute(minute, Math.addExact(minute, durationMinutes));
+            if (occupiedMinute < minute) return toLocalDateTime(minute);
+
+            minute = findFreeMinute(occupiedMinute + 1);  //продолжаем поиск после занятого участка
+        }
+    }
+
+    /// Первая занятая минута в [firstMinute, lastMinute] или значение меньше firstMinute, если таких нет.
+    private long findOccupiedMinute(long firstMinute, long lastMinute) {
+        //Перебираем только дни с занятыми минутами (дней без записи полностью свободны).
+        Map<Long, BitSet> occupiedDays = days.subMap(dayOf(firstMinute), true, dayOf(lastMinute), true);
+        for (Map.Entry<Long, BitSet> entry : occupiedDays.entrySet()) {
+            long day = entry.getKey();
+            BitSet minutes = entry.getValue();
+
+            int bit = minutes.nextSetBit(fromBit(day, firstMinute));
+            if ((bit >= 0) && (bit <= toBit(day, lastMinute))) return day * MINUTES_PER_DAY + bit;
+        }
+
+        return firstMinute - 1;
+    }
+
+    /// Первая свободная минута, начиная с firstMinute.
+    private long findFreeMinute(long firstMinute) {
+        long day = dayOf(firstMinute);
+        int bit = fromBit(day, firstMinute);
+
+        while (true) {
+            BitSet minutes = days.get(day);
+            if (minutes == null) return day * MINUTES_PER_DAY + bit;
+
+            bit = minutes.nextClearBit(bit);
+            if (bit < MINUTES_PER_DAY) return day * MINUTES_PER_DAY + bit;
+
+            day++;
+            bit = 0;
+        }
+    }
+
+    /// Номер бита первой минуты интервала в пределах дня day.
+    private int fromBit(long day, long firstMinute) {
+        return (dayOf(firstMinute) < day) ? 0 : Math.floorMod(firstMinute, MINUTES_PER_DAY);
+    }
+
+    /// Номер бита последней минуты интервала в пределах дня day.
+    private int toBit(long day, long lastMinute) {
+        return (dayOf(lastMinute) > day) ? MINUTES_PER_DAY - 1 : Math.floorMod(lastMinute, MINUTES_PER_DAY);
+    }
+
+    private static long dayOf(long epochMinute) {
+        return Math.floorDiv(epochMinute, MINUTES_PER_DAY);
+    }
+
+    static long minuteOf(long epochSecond) {
+        return Math.floorDiv(epochSecond, 60);
+    }
+
+    static long toEpochMinute(LocalDateTime dateTime) {
+        return minuteOf(dateTime.toEpochSecond(ZoneOffset.UTC));
+    }
+
+    static LocalDateTime toLocalDateTime(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60, 0, ZoneOffset.UTC);
+    }
+}
\ No newline at end of file
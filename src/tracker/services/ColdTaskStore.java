@@ -0,0 +1,311 @@
+package tracker.services;
+
+import tracker.model.enums.Status;
+import tracker.model.tasks.Epic;
+import tracker.model.tasks.Subtask;
+import tracker.model.tasks.Task;
+import tracker.services.enums.TypeTask;
+import tracker.services.exceptions.ManagerSaveException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+//Поставил модификатор доступа по умолчанию.
+//Архив используется только менеджером задач с архивом (TieredTaskManager).
+
+/// Архив выполненных задач на диске ("холодное" хранилище).
+/// Задачи хранятся группами: задача или эпик вместе со всеми своими подзадачами. Группа записывается в конец файла
+/// одной записью (длина в байтах, затем элементы группы), в памяти остается только смещение группы для каждого id.
+/// При извлечении группы (см. take) объекты создаются заново, удаление группы (см. remove) файл не читает.
+/// Место извлеченных и удаленных групп освобождается сжатием: когда таких байтов в файле не меньше COMPACT_MIN_BYTES
+/// и не меньше, чем байтов живых групп, файл переписывается только живыми группами (байты копируются без разбора).
+/// Поэтому файл не растет при повторных переносах одних и тех же задач в архив и обратно.
+/// Архив начинается с пустого файла и живет вместе с менеджером (при запуске программы не восстанавливается).
+/// Ошибки ввода-вывода передаются как ManagerSaveException.
+class ColdTaskStore {
+    private static final TypeTask[] TYPES = TypeTask.values();
+    private static final Status[] STATUSES = Status.values();
+
+    private static final int NULL_LENGTH = -1;  //длина, обозначающая строку null
+    private static final long COMPACT_MIN_BYTES = 64 * 1024;   //сжатие не раньше, чем столько байтов освобождено
+
+    private final Path file;
+    private final Map<Integer, Long> offsets = new HashMap<>();   //id задачи (подзадачи, эпика) - смещение группы
+    private final TreeMap<Long, Group> groups = new TreeMap<>();   //смещение - группа, в порядке записи в файл
+
+    private long liveBytes; //байты живых групп в файле
+    private long deadBytes; //байты извлеченных и удаленных групп в файле
+
+    /// Запись группы в файле: длина записи в байтах (вместе с длиной группы), тип головы и id элементов группы.
+    private static class Group {
+        private final int length;
+        private final TypeTask headType;
+        private final int[] ids;    //первый - id головы группы
+
+        private Group(int length, TypeTask headType, int[] ids) {
+            this.length = length;
+            this.headType = headType;
+            this.ids = ids;
+        }
+    }
+
+    ColdTaskStore(Path file) throws ManagerSaveException {
+        this.file = file;
+
+        try {
+            Files.write(file, new byte[0]);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка создания архива задач:\n" + e.getMessage());
+        }
+    }
+
+    /// Записывает в архив задачу (эпик - вместе с подзадачами).
+    synchronized void put(Task head) throws ManagerSaveException {
+        List<Task> group = new ArrayList<>();
+        group.add(head);
+        if (head instanceof Epic) group.addAll(((Epic) head).getSubtasks());
+
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+            byte[] bytes = encode(group);
+
+            long offset = randomAccessFile.length();
+            randomAccessFile.seek(offset);
+            randomAccessFile.writeInt(bytes.length);
+            randomAccessFile.write(bytes);
+
+            int[] ids = group.stream().mapToInt(Task::getId).toArray();
+            for (int id : ids) offsets.put(id, offset);
+
+            TypeTask headType = (head instanceof Epic) ? TypeTask.EPIC : TypeTask.TASK;
+            groups.put(offset, new Group(Integer.BYTES + bytes.length, headType, ids));
+            liveBytes += Integer.BYTES + bytes.length;
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка записи в архив задач:\n" + e.getMessage());
+        }
+    }
+
+    synchronized boolean contains(int id) {
+        return offsets.containsKey(id);
+    }
+
+    /// Тип головы группы (задача или эпик), если id - голова своей группы, иначе null (без чтения файла).
+    synchronized TypeTask getHeadType(int id) {
+        Long offset = offsets.get(id);
+        if (offset == null) return null;
+
+        Group group = groups.get(offset);
+
+        return (group.ids[0] == id) ? group.headType : null;
+    }
+
+    /// Количество задач, подзадач и эпиков в архиве.
+    synchronized int size() {
+        return offsets.size();
+    }
+
+    /// Извлекает из архива группу, в которую входит id: задачу или эпик (со всеми подзадачами).
+    /// Возвращает голову группы (задачу или эпик) или null, если id в архиве нет.
+    synchronized Task take(int id) throws ManagerSaveException {
+        Long offset = offsets.get(id);
+        if (offset == null) return null;
+
+        List<Task> group = read(offset);
+        release(offset);
+
+        return group.get(0);
+    }
+
+    /// Читает из архива задачу (подзадачу, эпик) id, группа остается в архиве (объекты группы создаются заново).
+    /// Возвращает null, если id в архиве нет.
+    synchronized Task get(int id) throws ManagerSaveException {
+        Long offset = offsets.get(id);
+        if (offset == null) return null;
+
+        for (Task task : read(offset)) {
+            if (task.getId() == id) return task;
+        }
+
+        return null;
+    }
+
+    /// Удаляет из архива группу, в которую входит id (без чтения файла).
+    synchronized void remove(int id) throws ManagerSaveException {
+        Long offset = offsets.get(id);
+        if (offset == null) return;
+
+        release(offset);
+    }
+
+    /// Все задачи, подзадачи и эпики архива (объекты создаются заново, архив не меняется).
+    synchronized List<Task> readAll() throws ManagerSaveException {
+        List<Task> items = new ArrayList<>(offsets.size());
+
+        for (long offset : groups.keySet()) items.addAll(read(offset));
+
+        return items;
+    }
+
+    /// Снимает группу с учета: ее место в файле освобождается и при необходимости файл сжимается.
+    private void release(long offset) throws ManagerSaveException {
+        Group group = groups.remove(offset);
+        for (int id : group.ids) offsets.remove(id);
+
+        liveBytes -= group.length;
+        deadBytes += group.length;
+
+        if ((deadBytes >= COMPACT_MIN_BYTES) && (deadBytes >= liveBytes)) compact();
+    }
+
+    /// Переписывает файл только живыми группами (записи копируются без разбора) и обновляет их смещения.
+    private void compact() throws ManagerSaveException {
+        Path compacted = file.resolveSibling(file.getFileName() + ".compact");
+        Map<Long, Group> relocated = new HashMap<>();   //новое смещение - группа
+
+        try {
+            try (RandomAccessFile source = new RandomAccessFile(file.toFile(), "r");
+                 RandomAccessFile target = new RandomAccessFile(compacted.toFile(), "rw")) {
+                target.setLength(0);
+
+                for (Map.Entry<Long, Group> entry : groups.entrySet()) {
+                    byte[] bytes = new byte[entry.getValue().length];
+                    source.seek(entry.getKey());
+                    source.readFully(bytes);
+
+                    relocated.put(target.getFilePointer(), entry.getValue());
+                    target.write(bytes);
+                }
+            }
+
+            Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка сжатия архива задач:\n" + e.getMessage());
+        }
+
+        groups.clear();
+        groups.putAll(relocated);
+        for (Map.Entry<Long, Group> entry : groups.entrySet()) {
+            for (int id : entry.getValue().ids) offsets.put(id, entry.getKey());
+        }
+
+        deadBytes = 0;
+    }
+
+    //region Формат группы.
+    //Элемент группы: тип, id, статус, начало выполнения (секунды от эпохи (UTC), Task.NO_TIME - не задано;
+    //доли секунды задача не хранит), продолжительность в минутах, имя и описание (длина в байтах UTF-8 и байты).
+    //Сроки эпика не записываются - эпик рассчитывает их по подзадачам.
+
+    private static byte[] encode(List<Task> group) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(group.size());
+
+            for (Task item : group) {
+                TypeTask typeTask = TypeTask.TASK;
+                if (item instanceof Epic) typeTask = TypeTask.EPIC;
+                else if (item instanceof Subtask) typeTask = TypeTask.SUBTASK;
+
+                out.writeByte(typeTask.ordinal());
+                out.writeInt(item.getId());
+                out.writeByte(item.getStatus().ordinal());
+                out.writeLong(item.getStartEpochSecond());
+                out.writeLong(item.getDuration());
+                writeString(out, item.getName());
+                writeString(out, item.getDescr());
+            }
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private List<Task> read(long offset) throws ManagerSaveException {
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "r")) {
+            randomAccessFile.seek(offset);
+
+            byte[] bytes = new byte[randomAccessFile.readInt()];
+            randomAccessFile.readFully(bytes);
+
+            return decode(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка чтения архива задач:\n" + e.getMessage());
+        }
+    }
+
+    private static List<Task> decode(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<Task> group = new ArrayList<>(count);
+
+        Epic epic = null;
+        Status epicStatus = Status.NEW;
+
+        for (int index = 0; index < count; index++) {
+            TypeTask typeTask = TYPES[in.readByte()];
+            int id = in.readInt();
+            Status status = STATUSES[in.readByte()];
+            long start = in.readLong();
+            long duration = in.readLong();
+            String name = readString(in);
+            String descr = readString(in);
+
+            Task item;
+            if (typeTask == TypeTask.EPIC) {
+                epic = new Epic(name, descr);
+                epicStatus = status;
+                item = epic;
+            } else {
+                item = (typeTask == TypeTask.SUBTASK) ? new Subtask(name, descr, epic) : new Task(name, descr);
+
+                if (start != Task.NO_TIME) item.setStartTime(LocalDateTime.ofEpochSecond(start, 0, ZoneOffset.UTC));
+                item.setDuration(duration);
+                item.setStatus(status);
+            }
+
+            item.setId(id);
+            group.add(item);
+        }
+
+        //Статус эпика восстанавливаем после подзадач: подзадачи меняют статус эпика при добавлении.
+        if (epic != null) epic.setStatus(epicStatus);
+
+        return group;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length == NULL_LENGTH) return null;
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+    //endregion
+}
\ No newline at end of file
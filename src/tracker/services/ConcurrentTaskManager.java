@@ -0,0 +1,381 @@
+package tracker.services;
+
+import tracker.model.enums.Status;
+import tracker.model.tasks.Epic;
+import tracker.model.tasks.Subtask;
+import tracker.model.tasks.Task;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+//Поставил модификатор доступа по умолчанию.
+//Создавать объекты класса ConcurrentTaskManager только в Managers.
+
+/// Потокобезопасный менеджер задач: обертка над менеджером задач (в памяти или с файловым хранилищем),
+/// разграничивающая доступ к нему блокировкой чтения/записи.
+///  - Чтение списков, приоритизированного списка и календаря занятости выполняется параллельно (блокировка чтения).
+///  - Любое изменение задач, индексов и файла выполняется монопольно (блокировка записи).
+///  - Получение по идентификатору изменяет историю просмотров, поэтому тоже выполняется под блокировкой записи.
+///    Если история записывается асинхронно (AsyncHistoryManager) и менеджер допускает полосы, получение задачи
+///    и подзадачи по идентификатору только публикует событие просмотра и выполняется под блокировкой чтения.
+///  - Добавление, обновление и удаление подзадачи затрагивает только саму подзадачу и ее эпик (список подзадач,
+///    начало/длительность/конец и статус), поэтому выполняется под блокировкой чтения и блокировкой эпика.
+///    Блокировки эпиков распределены по полосам (по id эпика): операции над подзадачами разных эпиков выполняются
+///    параллельно. Общие структуры менеджера (хранилище, индекс интервалов, история, файл) синхронизированы сами.
+///    Операции над подзадачами всех эпиков (delAllSubtasks) захватывают все полосы в порядке их номеров.
+///    Полосы используются, только если обернут менеджер задач этого пакета, допускающий их (см. isEpicStripingSafe),
+///    иначе - блокировка записи.
+///  - Операции над подзадачами под полосой меняют внутреннее состояние эпика (список подзадач, сроки, счетчики
+///    статусов). Поэтому при использовании полос чтение эпиков (списки эпиков, эпик по id, приоритизированный
+///    список) выполняется под блокировкой записи: она исключает одновременные операции над подзадачами.
+/// История просмотров предоставляется через обертку, использующую ту же блокировку.
+/// Списки, возвращаемые менеджером, - неизменяемые снимки, их можно читать после снятия блокировки.
+class ConcurrentTaskManager implements TaskManager {
+    private final TaskManager taskManager;
+
+    private static final int STRIPES = 16;  //количество полос блокировок эпиков (степень двойки)
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    private final InMemoryTaskManager stripedManager;   //null - полосы не используются
+
+    private final boolean asyncViews;   //просмотры записываются в историю асинхронно (получение под блокировкой чтения)
+
+    private final HistoryManager historyManager;
+
+    ConcurrentTaskManager(TaskManager taskManager) {
+        this.taskManager = taskManager;
+        this.historyManager = new ConcurrentHistoryManager(taskManager.getHistoryManager());
+
+        this.stripedManager = ((taskManager instanceof InMemoryTaskManager)
+                && ((InMemoryTaskManager) taskManager).isEpicStripingSafe()) ? (InMemoryTaskManager) taskManager : null;
+        this.asyncViews = (stripedManager != null) && (taskManager.getHistoryManager() instanceof AsyncHistoryManager);
+        for (int index = 0; index < STRIPES; index++) stripes[index] = new ReentrantLock();
+    }
+
+    /// История просмотров, доступ к которой разграничивается блокировкой менеджера.
+    private class ConcurrentHistoryManager implements HistoryManager {
+        private final HistoryManager historyManager;
+
+        private ConcurrentHistoryManager(HistoryManager historyManager) {
+            this.historyManager = historyManager;
+        }
+
+        @Override
+        public void add(Task task) {
+            write(() -> historyManager.add(task));
+        }
+
+        @Override
+        public List<Task> getHistory() {
+            return read(historyManager::getHistory);
+        }
+
+        @Override
+        public List<Task> getHistory(boolean flush) {
+            return read(() -> historyManager.getHistory(flush));
+        }
+
+        @Override
+        public void remove(int id) {
+            write(() -> historyManager.remove(id));
+        }
+
+        @Override
+        public long getEvictions() {
+            return read(historyManager::getEvictions);
+        }
+
+        @Override
+        public void close() {
+            historyManager.close(); //без блокировки менеджера: остановка потока записи истории не задерживает запросы
+        }
+    }
+
+    //region a. Получение списка всех задач.
+    @Override
+    public List<Task> getTasks() {
+        return read(taskManager::getTasks);
+    }
+
+    @Override
+    public List<Subtask> getSubtasks() {
+        return read(taskManager::getSubtasks);
+    }
+
+    @Override
+    public List<Epic> getEpics() {
+        return readEpics(taskManager::getEpics);
+    }
+
+    @Override
+    public List<Task> getTasks(boolean includeArchived) {
+        return read(() -> taskManager.getTasks(includeArchived));
+    }
+
+    @Override
+    public List<Subtask> getSubtasks(boolean includeArchived) {
+        return read(() -> taskManager.getSubtasks(includeArchived));
+    }
+
+    @Override
+    public List<Epic> getEpics(boolean includeArchived) {
+        return readEpics(() -> taskManager.getEpics(includeArchived));
+    }
+
+    @Override
+    public List<Task> getTasksPage(int afterId, int limit) {
+        return read(() -> taskManager.getTasksPage(afterId, limit));
+    }
+
+    @Override
+    public List<Subtask> getSubtasksPage(int afterId, int limit) {
+        return read(() -> taskManager.getSubtasksPage(afterId, limit));
+    }
+
+    @Override
+    public List<Epic> getEpicsPage(int afterId, int limit) {
+        return readEpics(() -> taskManager.getEpicsPage(afterId, limit));
+    }
+
+    @Override
+    public List<Task> getTasksByStatus(Status status) {
+        return read(() -> taskManager.getTasksByStatus(status));
+    }
+
+    @Override
+    public List<Subtask> getSubtasksByStatus(Status status) {
+        return read(() -> taskManager.getSubtasksByStatus(status));
+    }
+    //endregion
+
+    //region b. Удаление всех задач.
+    @Override
+    public void delAllTasks() {
+        write(taskManager::delAllTasks);
+    }
+
+    @Override
+    public void delAllSubtasks() {
+        allEpics(() -> {
+            taskManager.delAllSubtasks();
+
+            return null;
+        });
+    }
+
+    @Override
+    public void delAllEpics() {
+        write(taskManager::delAllEpics);
+    }
+    //endregion
+
+    //region c. Получение по идентификатору (изменяет историю просмотров).
+    @Override
+    public Optional<Task> getTaskByID(int id) {
+        return view(() -> taskManager.getTaskByID(id));
+    }
+
+    @Override
+    public Optional<Subtask> getSubtaskByID(int id) {
+        return view(() -> taskManager.getSubtaskByID(id));
+    }
+
+    @Override
+    public Optional<Epic> getEpicByID(int id) {
+        return write(() -> taskManager.getEpicByID(id));   //эпик читается монопольно (см. readEpics)
+    }
+    //endregion
+
+    //region d. Создание.
+    @Override
+    public int addTask(Task task) {
+        return write(() -> taskManager.addTask(task));
+    }
+
+    @Override
+    public int addSubtask(Subtask subtask) {
+        return epic(subtask.getEpic(), () -> taskManager.addSubtask(subtask));
+    }
+
+    @Override
+    public int addEpic(Epic epic) {
+        return write(() -> taskManager.addEpic(epic));
+    }
+
+    @Override
+    public List<Integer> addTasks(Collection<? extends Task> batch) {
+        return write(() -> taskManager.addTasks(batch));
+    }
+
+    @Override
+    public int scheduleTask(Task task, LocalDateTime notBefore) {
+        if (task instanceof Subtask) return epic(((Subtask) task).getEpic(),
+                () -> taskManager.scheduleTask(task, notBefore));
+
+        return write(() -> taskManager.scheduleTask(task, notBefore));
+    }
+    //endregion
+
+    //region e. Обновление.
+    @Override
+    public boolean updateTask(Task task) {
+        return write(() -> taskManager.updateTask(task));
+    }
+
+    @Override
+    public boolean updateSubtask(Subtask subtask) {
+        return epic(subtask.getEpic(), () -> taskManager.updateSubtask(subtask));
+    }
+
+    @Override
+    public boolean updateEpic(Epic epic) {
+        return write(() -> taskManager.updateEpic(epic));
+    }
+    //endregion
+
+    //region f. Удаление по идентификатору.
+    @Override
+    public Task delTaskByID(int id) {
+        return write(() -> taskManager.delTaskByID(id));
+    }
+
+    @Override
+    public Subtask delSubtaskByID(int id) {
+        //Эпик подзадачи не меняется, поэтому его можно определить до захвата блокировки эпика.
+        //Если подзадачи уже нет, то менеджер сам вернет null.
+        Epic epic = (stripedManager != null) ? stripedManager.getEpicOfSubtask(id) : null;
+
+        if (epic == null) return write(() -> taskManager.delSubtaskByID(id));
+
+        return epic(epic, () -> taskManager.delSubtaskByID(id));
+    }
+
+    @Override
+    public Optional<Epic> delEpicByID(int id) {
+        return write(() -> taskManager.delEpicByID(id));
+    }
+    //endregion
+
+    //region Дополнительные методы.
+    @Override
+    public List<Subtask> getSubtasksByEpic(Epic epic) {
+        return epic(epic, () -> taskManager.getSubtasksByEpic(epic));
+    }
+
+    @Override
+    public HistoryManager getHistoryManager() {
+        return historyManager;
+    }
+
+    @Override
+    public List<Task> searchTasks(String query, int offset, int limit) {
+        return read(() -> taskManager.searchTasks(query, offset, limit));
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks() {
+        return readEpics(taskManager::getPrioritizedTasks);
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, int limit) {
+        return readEpics(() -> taskManager.getPrioritizedTasks(from, to, limit));
+    }
+
+    @Override
+    public boolean isTimeSlotFree(LocalDateTime startTime, long durationMinutes) {
+        return read(() -> taskManager.isTimeSlotFree(startTime, durationMinutes));
+    }
+
+    @Override
+    public LocalDateTime findFreeSlot(long durationMinutes, LocalDateTime after) {
+        return read(() -> taskManager.findFreeSlot(durationMinutes, after));
+    }
+
+    //Счетчики снимков атомарны, блокировка не нужна.
+    @Override
+    public long getSnapshotHits() {
+        return taskManager.getSnapshotHits();
+    }
+
+    @Override
+    public long getSnapshotRebuilds() {
+        return taskManager.getSnapshotRebuilds();
+    }
+    //endregion
+
+    //region Служебные методы блокировок.
+    /// Получение по идентификатору: блокировка чтения при асинхронной записи истории, иначе - записи.
+    private <T> T view(Supplier<T> action) {
+        return asyncViews ? read(action) : write(action);
+    }
+
+    /// Чтение эпиков (и подзадач с их эпиками): при использовании полос операции над подзадачами меняют эпики
+    /// под блокировкой чтения, поэтому эпики читаются под блокировкой записи. Без полос - блокировка чтения.
+    private <T> T readEpics(Supplier<T> action) {
+        return (stripedManager != null) ? write(action) : read(action);
+    }
+
+    private <T> T read(Supplier<T> action) {
+        return locked(lock.readLock(), action);
+    }
+
+    private <T> T write(Supplier<T> action) {
+        return locked(lock.writeLock(), action);
+    }
+
+    private void write(Runnable action) {
+        locked(lock.writeLock(), () -> {
+            action.run();
+
+            return null;
+        });
+    }
+
+    /// Операция над подзадачами одного эпика: блокировка чтения и блокировка полосы эпика.
+    private <T> T epic(Epic epic, Supplier<T> action) {
+        if (stripedManager == null) return write(action);
+
+        return read(() -> locked(getStripe(epic), action));
+    }
+
+    /// Операция над подзадачами всех эпиков: блокировка чтения и блокировки всех полос по порядку.
+    private <T> T allEpics(Supplier<T> action) {
+        if (stripedManager == null) return write(action);
+
+        return read(() -> {
+            int locked = 0;
+            try {
+                for (; locked < STRIPES; locked++) stripes[locked].lock();
+
+                return action.get();
+            } finally {
+                while (locked > 0) stripes[--locked].unlock();
+            }
+        });
+    }
+
+    private Lock getStripe(Epic epic) {
+        int id = epic.getId();
+
+        return stripes[(id ^ (id >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static <T> T locked(Lock lock, Supplier<T> action) {
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+    //endregion
+}
\ No newline at end of file
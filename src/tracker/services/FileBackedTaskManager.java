@@ -10,10 +10,14 @@ import tracker.services.exceptions.ManagerSaveException;
 import java.io.*;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +30,13 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
     private final Path fileNameSave;
     private static final Charset encoding = StandardCharsets.UTF_8;
 
+    private static final String HISTORY_SUFFIX = ".history";    //файл журнала истории рядом с файлом задач
+    private static final int COMPACT_MIN_RECORDS = 1_000;   //сжатие журнала не раньше, чем в нем столько записей
+    private static final int COMPACT_FACTOR = 4;    //сжатие, когда записей в журнале в столько раз больше истории
+
+    private int historyLogRecords;  //количество записей в журнале истории
+    private int historyLogSize; //размер истории при последнем сжатии (проверке) журнала
+
     FileBackedTaskManager(HistoryManager historyManager, Path fileNameSave) {
         super(historyManager);
 
@@ -59,6 +70,10 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
 
             int maxId = 0;
 
+            //Эпики восстанавливаем сразу (на них ссылаются подзадачи), задачи и подзадачи - одним пакетом:
+            //пересечения по времени выполнения проверяются для всего пакета одним проходом.
+            List<Task> restoredTasks = new ArrayList<>();
+
             while (bufferedReader.ready()) {
                 String str = bufferedReader.readLine();
 
@@ -66,20 +81,25 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
 
                 if (task instanceof Epic) {
                     fileBackedTaskManager.addEpic((Epic) task);
-                } else if (task instanceof Subtask) {
-                    fileBackedTaskManager.addSubtask((Subtask) task);
                 } else {
-                    fileBackedTaskManager.addTask(task);
+                    restoredTasks.add(task);
                 }
 
                 if (task.getId() > maxId) maxId = task.getId();
             }
 
+            fileBackedTaskManager.validateTasksCross(restoredTasks);
+
+            //Пакет уже проверен на пересечения, поэтому задачи не проверяются повторно по одной.
+            for (Task task : restoredTasks) fileBackedTaskManager.putRestoredTask(task);
+
             fileBackedTaskManager.setId(maxId);
         } catch (IOException e) {
             throw new ManagerSaveException("Ошибка чтения файла задач:\n" + e.getMessage());
         }
 
+        fileBackedTaskManager.restoreHistory();
+
         return fileBackedTaskManager;
     }
 
@@ -92,11 +112,13 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
     }
 
     /// Сохраняет все задачи, подзадачи и эпики в файл.
-    private void save() {
+    /// Синхронизирован: подзадачи разных эпиков могут изменяться и сохраняться параллельно.
+    private synchronized void save() {
         try (FileWriter fileWriter = new FileWriter(fileNameSave.toString(), encoding);
              BufferedWriter bufferedWriter = new BufferedWriter(fileWriter)) {
 
-            List<Task> tasks = getTasks();
+            //Списки менеджера - неизменяемые снимки, поэтому собираем общий список в новом.
+            List<Task> tasks = new ArrayList<>(getTasks());
             tasks.addAll(getEpics());
             tasks.addAll(getSubtasks());
 
@@ -112,6 +134,76 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
         }
     }
 
+    //region Журнал истории просмотров.
+    //Каждый просмотр дописывает в конец журнала строку с id задачи, файл задач при просмотрах не перезаписывается.
+    //Удаления в журнал не пишутся: id не переиспользуются, поэтому при восстановлении просмотры удаленных задач
+    //пропускаются. Когда записей в журнале становится намного больше, чем задач в истории, журнал сжимается -
+    //перезаписывается текущей историей.
+
+    /// Файл журнала истории просмотров.
+    public Path getHistoryFileName() {
+        return fileNameSave.resolveSibling(fileNameSave.getFileName() + HISTORY_SUFFIX);
+    }
+
+    /// Дописывает просмотр задачи id в журнал истории (при необходимости сжимает журнал).
+    private synchronized void appendHistory(int id) {
+        try {
+            Files.writeString(getHistoryFileName(), id + System.lineSeparator(), encoding,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка записи журнала истории:\n" + e.getMessage());
+        }
+
+        historyLogRecords++;
+
+        //Историю читаем (копируем) не при каждом просмотре, а когда записей стало на COMPACT_MIN_RECORDS больше,
+        //чем нужно для сжатия при прежнем размере истории: копирование истории амортизируется записями журнала.
+        //Историю берем со всеми примененными просмотрами (flush), иначе сжатие потеряет записанные в журнал.
+        if (historyLogRecords - historyLogSize * COMPACT_FACTOR >= COMPACT_MIN_RECORDS) {
+            List<Task> history = getHistoryManager().getHistory(true);
+
+            if (historyLogRecords >= COMPACT_FACTOR * history.size()) compactHistory(history);
+            else historyLogSize = history.size();
+        }
+    }
+
+    /// Перезаписывает журнал истории просмотров текущей историей.
+    private synchronized void compactHistory(List<Task> history) {
+        StringBuilder stringBuilder = new StringBuilder();
+        for (Task task : history) stringBuilder.append(task.getId()).append(System.lineSeparator());
+
+        try {
+            Files.writeString(getHistoryFileName(), stringBuilder, encoding);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка записи журнала истории:\n" + e.getMessage());
+        }
+
+        historyLogRecords = history.size();
+        historyLogSize = history.size();
+    }
+
+    /// Восстанавливает историю просмотров из журнала (просмотры удаленных задач пропускаются) и сжимает журнал.
+    private void restoreHistory() {
+        Path historyFile = getHistoryFileName();
+        if (!Files.exists(historyFile)) return;
+
+        HistoryManager historyManager = getHistoryManager();
+        try (BufferedReader bufferedReader = Files.newBufferedReader(historyFile, encoding)) {
+            String str;
+            while ((str = bufferedReader.readLine()) != null) {
+                if (str.isBlank()) continue;
+
+                Task task = getStoredTask(Integer.parseInt(str.strip()));
+                if (task != null) historyManager.add(task);
+            }
+        } catch (IOException | NumberFormatException e) {
+            throw new ManagerSaveException("Ошибка чтения журнала истории:\n" + e.getMessage());
+        }
+
+        compactHistory(historyManager.getHistory());
+    }
+    //endregion
+
     /// Сохранение задачи в строку.
     private String toString(Task task) {
 
@@ -172,7 +264,9 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
             case "TASK" -> task = new Task(arr[2], arr[4], startTime, duration);
             case "SUBTASK" -> {
                 int epicId = Integer.parseInt(arr[5]);
-                Optional<Epic> epic = this.getEpicByID(epicId);
+                //Эпик берем из хранилища без просмотра: загрузка не должна попадать в историю.
+                Optional<Epic> epic = Optional.ofNullable(getStoredTask(epicId))
+                        .filter(Epic.class::isInstance).map(Epic.class::cast);
                 if (epic.isEmpty()) throw new ManagerSaveException(String.format("Не верный формат файла. " +
                         "Эпик с ID %d не найден.", epicId));
                 //task = new Subtask(arr[2], arr[4], this.getEpicByID(Integer.parseInt(arr[5])), startTime, duration);
@@ -220,6 +314,36 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
     //endregion Функционал записи/чтения задач в/из файл(а).
 
     //region Переопределение методов InMemoryTaskManager
+    /// Сохранение в файл читает все эпики, поэтому операции над подзадачами разных эпиков параллельно не выполняются.
+    @Override
+    boolean isEpicStripingSafe() {
+        return false;
+    }
+
+    @Override
+    public Optional<Task> getTaskByID(int id) {
+        Optional<Task> task = super.getTaskByID(id);
+        if (task.isPresent()) appendHistory(id);
+
+        return task;
+    }
+
+    @Override
+    public Optional<Subtask> getSubtaskByID(int id) {
+        Optional<Subtask> subtask = super.getSubtaskByID(id);
+        if (subtask.isPresent()) appendHistory(id);
+
+        return subtask;
+    }
+
+    @Override
+    public Optional<Epic> getEpicByID(int id) {
+        Optional<Epic> epic = super.getEpicByID(id);
+        if (epic.isPresent()) appendHistory(id);
+
+        return epic;
+    }
+
     @Override
     public void delAllTasks() {
         super.delAllTasks();
@@ -246,7 +370,7 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
             id = super.addTask(task);
             save();
         } else {    //задача десериализована
-            tasks.put(id, task);
+            restoreTask(task);
         }
 
         return id;
@@ -260,7 +384,7 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
             id = super.addSubtask(subtask);
             save();
         } else {    //подзадача десериализована
-            subtasks.put(id, subtask);
+            restoreTask(subtask);
         }
 
         return id;
@@ -274,12 +398,20 @@ public class FileBackedTaskManager extends InMemoryTaskManager {
             id = super.addEpic(epic);
             save();
         } else {    //эпик десериализован
-            epics.put(id, epic);
+            restoreTask(epic);
         }
 
         return id;
     }
 
+    @Override
+    public List<Integer> addTasks(Collection<? extends Task> batch) {
+        List<Integer> ids = super.addTasks(batch);
+        save(); //пакет сохраняем в файл один раз
+
+        return ids;
+    }
+
     @Override
     public boolean updateTask(Task task) {
         boolean resultUpd = super.updateTask(task);
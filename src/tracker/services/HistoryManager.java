@@ -4,10 +4,22 @@ import tracker.model.tasks.Task;
 
 import java.util.List;
 
-public interface HistoryManager {
+public interface HistoryManager extends AutoCloseable {
     void add(Task task);    //помечает задачи как просмотренные
 
     List<Task> getHistory();    //возвращает список просмотренных задач (история)
 
+    //история; flush - дождаться применения всех просмотров (для асинхронной записи истории, см. AsyncHistoryManager)
+    default List<Task> getHistory(boolean flush) {
+        return getHistory();
+    }
+
     void remove(int id);    //удаляет задачу из истории
+
+    long getEvictions();    //количество задач, вытесненных из ограниченной по размеру истории
+
+    //освобождает ресурсы истории (поток асинхронной записи, см. AsyncHistoryManager), история остается доступной
+    @Override
+    default void close() {
+    }
 }
\ No newline at end of file
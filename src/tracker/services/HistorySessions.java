@@ -0,0 +1,177 @@
+package tracker.services;
+
+import tracker.model.tasks.Subtask;
+import tracker.model.tasks.Task;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/// Истории просмотров отдельных клиентов (сессий) веб-сервиса.
+/// История сессии - LinkedHashMap не больше sessionCapacity задач (id - задача) в порядке просмотров, поэтому память
+/// сессии зависит только от ее размера, а не от id задач. При переполнении вытесняется самая старая задача.
+/// Сессии хранятся в LinkedHashMap в порядке обращений (accessOrder) и создаются при первом обращении:
+///  - общий объем всех сессий ограничен maxEntries задачами - сессий не больше maxEntries / sessionCapacity,
+///    при превышении удаляется сессия, к которой дольше всех не обращались (первая в порядке обращений) за O(1);
+///  - сессии без обращений дольше idleTimeout удаляются при обращениях: проверка идет с начала порядка обращений
+///    и останавливается на первой активной сессии, поэтому стоит O(количества удаленных).
+/// Доступ к таблице сессий синхронизирован (короткие участки), истории сессий синхронизированы сами.
+/// Удаление задачи из менеджера задач нужно передать в remove - задача удаляется из всех сессий.
+public class HistorySessions {
+    private final int sessionCapacity;  //максимальное количество задач в истории сессии
+    private final long idleNanos;   //время без обращений, после которого сессия удаляется
+    private final int maxSessions;  //максимальное количество сессий (общий объем maxEntries)
+
+    private final LinkedHashMap<String, Session> sessions;  //в порядке обращений: первая - самая давняя
+
+    private long expired;   //количество удаленных сессий (простой и превышение объема)
+
+    /// История сессии и время последнего обращения к ней.
+    private static class Session {
+        private final SessionHistory history;
+        private long lastAccess;
+
+        private Session(SessionHistory history) {
+            this.history = history;
+        }
+    }
+
+    /// История просмотров сессии: не больше capacity задач в порядке просмотров.
+    private static class SessionHistory implements HistoryManager {
+        private final LinkedHashMap<Integer, Task> tasks;
+        private long evictions;
+
+        private SessionHistory(int capacity) {
+            tasks = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Integer, Task> eldest) {
+                    if (size() <= capacity) return false;
+
+                    evictions++;
+
+                    return true;
+                }
+            };
+        }
+
+        @Override
+        public synchronized void add(Task task) {
+            tasks.put(task.getId(), task);  //повторный просмотр переносит задачу в конец (accessOrder)
+        }
+
+        @Override
+        public synchronized List<Task> getHistory() {
+            return new ArrayList<>(tasks.values());
+        }
+
+        @Override
+        public synchronized void remove(int id) {
+            tasks.remove(id);
+        }
+
+        /// Удаляет эпик epicId и его подзадачи (подзадача сохраняет ссылку на эпик и после его удаления).
+        private synchronized void removeEpic(int epicId) {
+            tasks.values().removeIf(task -> (task.getId() == epicId) || ((task instanceof Subtask)
+                    && (((Subtask) task).getEpic() != null) && (((Subtask) task).getEpic().getId() == epicId)));
+        }
+
+        @Override
+        public synchronized long getEvictions() {
+            return evictions;
+        }
+    }
+
+    HistorySessions(int sessionCapacity, Duration idleTimeout, int maxEntries) {
+        if (sessionCapacity < 1) throw new IllegalArgumentException("Размер истории сессии должен быть больше нуля.");
+        if ((idleTimeout == null) || idleTimeout.isNegative() || idleTimeout.isZero())
+            throw new IllegalArgumentException("Время простоя сессии должно быть больше нуля.");
+        if (maxEntries < sessionCapacity)
+            throw new IllegalArgumentException("Общий объем сессий меньше размера истории одной сессии.");
+
+        this.sessionCapacity = sessionCapacity;
+        this.idleNanos = idleTimeout.toNanos();
+        this.maxSessions = maxEntries / sessionCapacity;
+
+        sessions = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Session> eldest) {
+                if (size() <= maxSessions) return false;
+
+                expired++;
+
+                return true;
+            }
+        };
+    }
+
+    /// История сессии sessionId (при первом обращении создается пустая).
+    public HistoryManager getHistory(String sessionId) {
+        synchronized (sessions) {
+            long now = System.nanoTime();   //под блокировкой: порядок обращений совпадает с порядком времени
+
+            expireIdle(now);
+
+            Session session = sessions.get(sessionId);  //обращение переносит сессию в конец порядка
+            if (session == null) {
+                session = new Session(new SessionHistory(sessionCapacity));
+                sessions.put(sessionId, session);   //при превышении объема удаляется самая давняя сессия
+            }
+
+            session.lastAccess = now;
+
+            return session.history;
+        }
+    }
+
+    /// Удаляет задачу id из истории всех сессий (задача удалена из менеджера задач).
+    public void remove(int id) {
+        for (Session session : getAllSessions()) session.history.remove(id);
+    }
+
+    /// Удаляет эпик epicId вместе с его подзадачами из истории всех сессий (эпик удален из менеджера задач).
+    /// Id подзадач заранее не нужны: проход по историям сессий ограничен их общим объемом (maxEntries).
+    public void removeEpic(int epicId) {
+        for (Session session : getAllSessions()) session.history.removeEpic(epicId);
+    }
+
+    /// Помечает задачу как просмотренную в сессии sessionId.
+    public void add(String sessionId, Task task) {
+        getHistory(sessionId).add(task);
+    }
+
+    /// Количество сессий.
+    public int size() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+    /// Количество сессий, удаленных по простою или при превышении общего объема.
+    public long getExpired() {
+        synchronized (sessions) {
+            return expired;
+        }
+    }
+
+    /// Снимок списка сессий: истории сессий меняются вне блокировки таблицы сессий.
+    private List<Session> getAllSessions() {
+        synchronized (sessions) {
+            return new ArrayList<>(sessions.values());
+        }
+    }
+
+    /// Удаляет сессии без обращений дольше idleTimeout: они в начале порядка обращений.
+    private void expireIdle(long now) {
+        Iterator<Session> iterator = sessions.values().iterator();
+
+        while (iterator.hasNext()) {
+            if (now - iterator.next().lastAccess < idleNanos) return;
+
+            iterator.remove();
+            expired++;
+        }
+    }
+}
\ No newline at end of file
@@ -8,9 +8,27 @@ import java.util.List;
 
 //Поставил модификатор доступа по умолчанию.
 //Создавать объекты класса InMemoryTaskManager только в Managers.
+//Методы истории синхронизированы: подзадачи разных эпиков могут удаляться параллельно (см. ConcurrentTaskManager).
+//История может быть ограничена по размеру: при переполнении вытесняется самая старая задача (голова списка) за O(1).
 class InMemoryHistoryManager implements HistoryManager {
+    static final int UNBOUNDED = 0;    //размер истории не ограничен
+
     HashMap<Integer, Node<Task>> nodeHashMap = new HashMap<>();    //связь ключ-узел
 
+    private final int capacity;    //максимальное количество задач в истории, UNBOUNDED - без ограничения
+
+    private long evictions;    //количество задач, вытесненных из истории при переполнении
+
+    InMemoryHistoryManager() {
+        this(UNBOUNDED);
+    }
+
+    InMemoryHistoryManager(int capacity) {
+        if (capacity < 0) throw new IllegalArgumentException("Размер истории не может быть отрицательным.");
+
+        this.capacity = capacity;
+    }
+
     //region Реализация двусвязного списка.
 
     private Node<Task> head;    //указатель на первый элемент списка. Он же first
@@ -62,7 +80,7 @@ class InMemoryHistoryManager implements HistoryManager {
     //endregion
 
     @Override
-    public void add(Task task) {
+    public synchronized void add(Task task) {
         int idTask = task.getId();
 
         remove(idTask); //удаляем задачу из истории
@@ -70,15 +88,30 @@ class InMemoryHistoryManager implements HistoryManager {
         linkLast(task); //добавляем задачу в конец двусвязного списка
 
         nodeHashMap.put(idTask, tail);  //добавляем/обновляем связь ключ-задача
+
+        if ((capacity != UNBOUNDED) && (nodeHashMap.size() > capacity)) evictHead();
+    }
+
+    /// Вытесняет из истории самую старую задачу (голову списка).
+    private void evictHead() {
+        nodeHashMap.remove(head.data.getId());
+        removeNode(head);
+
+        evictions++;
     }
 
     @Override
-    public List<Task> getHistory() {
+    public synchronized List<Task> getHistory() {
         return getTasks();
     }
 
     @Override
-    public void remove(int id) {
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public synchronized void remove(int id) {
         if (!nodeHashMap.containsKey(id)) return;   //если задачи в истории нет, то выходим
 
         Node<Task> taskNode = nodeHashMap.get(id); //получили узел задачи по ее id
@@ -2,90 +2,86 @@ package tracker.services;
 
 import tracker.model.enums.Status;
 import tracker.model.tasks.Epic;
+import tracker.model.tasks.ScheduleListener;
 import tracker.model.tasks.Subtask;
 import tracker.model.tasks.Task;
 import tracker.services.enums.TypeTask;
 import tracker.services.exceptions.CrossTimeExecution;
+import tracker.services.exceptions.SetPropertyTaskException;
 
-import java.beans.PropertyChangeEvent;
-import java.beans.PropertyChangeListener;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.*;
-import java.util.function.BiPredicate;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 //Поставил модификатор доступа по умолчанию.
 //Создавать объекты класса InMemoryTaskManager только в Managers.
-class InMemoryTaskManager implements TaskManager, PropertyChangeListener {
-
-    private int id = 0;
-
-    protected final Map<Integer, Task> tasks = new HashMap<>();
-    protected final Map<Integer, Subtask> subtasks = new HashMap<>();
-    protected final Map<Integer, Epic> epics = new HashMap<>();
-
-    //Подготовлю объект компаратора, чтобы сравнивать задачи и подзадачи по полю startTime.
-    //Установлю правило, что задача(подзадача) со startTime == null считается больше задачи(подзадачи),
-    //у которой startTime != null.
-    private final Comparator<Task> taskComparatorByStartTime = (task1, task2) -> {
-        Optional<LocalDateTime> startTimeOptional1 = task1.getStartTime();
-        Optional<LocalDateTime> startTimeOptional2 = task2.getStartTime();
-
-        if ((startTimeOptional1.isEmpty()) && (startTimeOptional2.isEmpty())) return 0; //подзадачи равны
-        else if (startTimeOptional2.isEmpty()) return -1;   //подзадача 2 > подзадачи 1
-        else if (startTimeOptional1.isEmpty()) return 1;    //подзадача 1 > подзадачи 2
-        else if (startTimeOptional1.get().isBefore(startTimeOptional2.get())) return -1;    //подзадача 1 < подзадачи 2
-        else if (startTimeOptional1.get().equals(startTimeOptional2.get())) return 0;   //подзадачи равны
-        else return 1;  //подзадача 1 > подзадачи 2
-    };
+class InMemoryTaskManager implements TaskManager, ScheduleListener {
 
-    private TreeSet<Task> tasksSortedByStartTime = new TreeSet<>(taskComparatorByStartTime);
+    private final AtomicInteger id = new AtomicInteger();  //счетчик id, выдача атомарна
 
-    private final BiPredicate<Task, Task> isTasksCross = (task1, task2) -> {
-        //Проверка, что задачи task1 и task2 пересекаются или не пересекаются.
-        //Если startTime и/или endTime одной, или обеих задач равны null, то примем, что задачи не пересекаются.
-        //Результат:
-        //  - true - задачи пересекаются по времени выполнения
-        //  - false - задачи не пересекаются по времени выполнения
+    //Задачи, подзадачи и эпики хранятся в одном массиве, индексированном id (см. TaskStorage).
+    private final TaskStorage storage;
+    private final TaskStorage.View<Task> tasks;
+    private final TaskStorage.View<Subtask> subtasks;
+    private final TaskStorage.View<Epic> epics;
 
-        Optional<LocalDateTime> a = task1.getStartTime();
-        Optional<LocalDateTime> b = task1.getEndTime();
-        Optional<LocalDateTime> c = task2.getStartTime();
-        Optional<LocalDateTime> d = task2.getEndTime();
+    //Индекс интервалов выполнения задач (подзадач): приоритизированный по startTime список задач (подзадач),
+    //по нему же выполняется проверка пересечений по времени. Задачи индекс получает из хранилища по id.
+    private final TaskIntervalIndex intervalIndex = new TaskIntervalIndex(this::getIndexedTask);
 
-        if (a.isEmpty() || b.isEmpty() || c.isEmpty() || d.isEmpty()) return false;
+    //Неизменяемые снимки списков задач, подзадач, эпиков и приоритизированного списка.
+    //Снимок перестраивается лениво - при первом чтении после изменения соответствующих данных.
+    private final SnapshotCache<Task> tasksSnapshot;
+    private final SnapshotCache<Subtask> subtasksSnapshot;
+    private final SnapshotCache<Epic> epicsSnapshot;
+    private final SnapshotCache<Task> prioritizedSnapshot = new SnapshotCache<>(intervalIndex::getTasks);
 
-        return (b.get().isAfter(c.get()) || b.get().equals(c.get())) &&
-                (d.get().isAfter(a.get()) || d.get().equals(a.get()));
-    };
+    //Индексы задач и подзадач по статусу: выборка по статусу без перебора всех задач (см. getTasksByStatus).
+    private final StatusIndex taskStatuses = new StatusIndex();
+    private final StatusIndex subtaskStatuses = new StatusIndex();
+
+    //Полнотекстовый индекс по имени и описанию задач, подзадач и эпиков (см. searchTasks).
+    private final SearchIndex searchIndex = new SearchIndex();
 
     private final Predicate<Task> isValidatedTaskCross = (Task task) -> {
-        //Получаем приоритизированный список задач по startTime, тем самым исключаем из обработки задачи, где не указано начало работ.
-        //Для каждого элемента проверяем пересечение с задачей task.
+        //Ищем в индексе интервалов задачи, пересекающиеся с задачей task (сама задача task не учитывается).
+        //Если startTime и/или endTime задачи равны null, то примем, что задача ни с чем не пересекается.
         //Если хоть одна задача пересекается, то валидация не прошла.
         //Результат:
         //  - true - валидация времени выполнения задачи выполнена успешно
         //  - false - валидация времение выполнения задачи не выполнена
 
-        boolean isCross = getPrioritizedTasks().stream()
-                .anyMatch((Task taskE) -> isTasksCross.test(taskE, task));
-
-        return !isCross;
+        return !intervalIndex.isCross(task);
     };
 
     private final HistoryManager historyManager;
 
     InMemoryTaskManager(HistoryManager historyManager) {
+        this(historyManager, new TaskStorage());
+    }
+
+    /// Менеджер с переданным хранилищем (например, хранящим задачи вне кучи, см. OffHeapTaskManager).
+    InMemoryTaskManager(HistoryManager historyManager, TaskStorage storage) {
         this.historyManager = historyManager;
+
+        this.storage = storage;
+        tasks = storage.tasks();
+        subtasks = storage.subtasks();
+        epics = storage.epics();
+
+        tasksSnapshot = new SnapshotCache<>(tasks::values);
+        subtasksSnapshot = new SnapshotCache<>(subtasks::values);
+        epicsSnapshot = new SnapshotCache<>(epics::values);
     }
 
     public int getId() {
-        return id;
+        return id.get();
     }
 
     public void setId(int id) {
-        this.id = id;
+        this.id.set(id);
     }
 
     /* Методы для каждого из типа задач(Задача/Эпик/Подзадача): */
@@ -95,19 +91,76 @@ class InMemoryTaskManager implements TaskManager, PropertyChangeListener {
     /// Список задач.
     @Override
     public List<Task> getTasks() {
-        return new ArrayList<>(tasks.values());
+        return tasksSnapshot.get();
     }
 
     /// Список подзадач.
     @Override
     public List<Subtask> getSubtasks() {
-        return new ArrayList<>(subtasks.values());
+        return subtasksSnapshot.get();
     }
 
     /// Список эпиков.
     @Override
     public List<Epic> getEpics() {
-        return new ArrayList<>(epics.values());
+        return epicsSnapshot.get();
+    }
+
+    /// Списки с учетом архива: менеджер в памяти задачи не архивирует (см. TieredTaskManager).
+    @Override
+    public List<Task> getTasks(boolean includeArchived) {
+        return getTasks();
+    }
+
+    @Override
+    public List<Subtask> getSubtasks(boolean includeArchived) {
+        return getSubtasks();
+    }
+
+    @Override
+    public List<Epic> getEpics(boolean includeArchived) {
+        return getEpics();
+    }
+
+    /// Страницы списков по id: не более limit элементов с id больше afterId (limit <= 0 - без ограничения).
+    @Override
+    public List<Task> getTasksPage(int afterId, int limit) {
+        return Collections.unmodifiableList(tasks.page(afterId, limit));
+    }
+
+    @Override
+    public List<Subtask> getSubtasksPage(int afterId, int limit) {
+        return Collections.unmodifiableList(subtasks.page(afterId, limit));
+    }
+
+    @Override
+    public List<Epic> getEpicsPage(int afterId, int limit) {
+        return Collections.unmodifiableList(epics.page(afterId, limit));
+    }
+
+    /// Задачи в статусе status (по индексу статусов).
+    @Override
+    public List<Task> getTasksByStatus(Status status) {
+        return getByStatus(taskStatuses, tasks, status);
+    }
+
+    /// Подзадачи в статусе status (по индексу статусов).
+    @Override
+    public List<Subtask> getSubtasksByStatus(Status status) {
+        return getByStatus(subtaskStatuses, subtasks, status);
+    }
+
+    private <T extends Task> List<T> getByStatus(StatusIndex statusIndex, TaskStorage.View<T> view, Status status) {
+        int[] ids = statusIndex.getIds(status);
+        List<T> items = new ArrayList<>(ids.length);
+
+        for (int id : ids) {
+            T item = view.get(id);
+
+            if (item != null) items.add(item);
+        }
+
+        return Collections.unmodifiableList(items);
     }
     //endregion
 
@@ -118,11 +171,14 @@ class InMemoryTaskManager implements TaskManager, PropertyChangeListener {
     public void delAllTasks() {
         for (Task task : tasks.values()) {
             historyManager.remove(task.getId());
+            searchIndex.remove(task.getId());
         }
 
         delAllTasksIntasksSortedByStartTime(Task.class);
 
         tasks.clear();
+        taskStatuses.clear();
+        tasksSnapshot.invalidate();
     }
 
     /// Подзадачи
@@ -133,10 +189,13 @@ class InMemoryTaskManager implements TaskManager, PropertyChangeListener {
 //        }
         //Заменил на Stream API.
         subtasks.values().stream().forEach(subtask -> historyManager.remove(subtask.getId()));
+        subtasks.values().forEach(subtask -> searchIndex.remove(subtask.getId()));
 
         delAllTasksIntasksSortedByStartTime(Subtask.class);
 
         subtasks.clear();
+        subtaskStatuses.clear();
+        subtasksSnapshot.invalidate();
 
         for (Epic epic : epics.values()) epic.setSubtasks();    //очищаем в эпиках список подзадач
     }
@@ -156,8 +215,16 @@ class InMemoryTaskManager implements TaskManager, PropertyChangeListener {
         //Заменил на Stream API.
         epics.values().stream().forEach(epic -> historyManager.remove(epic.getId()));
 
+        subtasks.values().forEach(subtask -> searchIndex.remove(subtask.getId()));
+        epics.values().forEach(epic -> searchIndex.remove(epic.getId()));
+
+        delAllTasksIntasksSortedByStartTime(Subtask.class);   //интервалы подзадач больше не занимают время
+
         subtasks.clear();
+        subtaskStatuses.clear();
         epics.clear();
+        subtasksSnapshot.invalidate();
+        epicsSnapshot.invalidate();
     }
     //endregion
 
@@ -205,48 +272,76 @@ class InMemoryTaskManager implements TaskManager, PropertyChangeListener {
     /// Задачи.
     @Override
     public int addTask(Task task) throws CrossTimeExecution {
-        if (!isValidatedTaskCross.test(task))
-            throw new CrossTimeExecution("Добавляемая задача пересекается по времени выполнения.");
-
-        task.setId(++id);
+        //Проверка пересечения и добавление в индекс выполняются атомарно (под монитором индекса):
+        //подзадачи разных эпиков могут добавляться параллельно (см. ConcurrentTaskManager).
+        synchronized (intervalIndex) {
+            if (!isValidatedTaskCross.test(task))
+                throw new CrossTimeExecution("Добавляемая задача пересекается по времени выполнения.");
 
-        tasks.put(id, task);
-
-        addTaskIntasksSortedByStartTime(task);
-
-        return id;  //0 - зарезервировано для случая ошибки
+            return putTask(task);
+        }
     }
 
     /// Подзадачи.
     @Override
     public int addSubtask(Subtask subtask) {
-        if (!isValidatedTaskCross.test(subtask))
-            throw new CrossTimeExecution("Добавляемая подзадача пересекается по времени выполнения.");
+        synchronized (intervalIndex) {
+            if (!isValidatedTaskCross.test(subtask))
+                throw new CrossTimeExecution("Добавляемая подзадача пересекается по времени выполнения.");
 
-        subtask.setId(++id);
+            return putSubtask(subtask);
+        }
+    }
 
-        subtasks.put(id, subtask);
+    /// Эпика.
+    @Override
+    public int addEpic(Epic epic) {
+        return putEpic(epic);
+    }
 
-        Epic epic = subtask.getEpic();
+    /// Пакета задач, подзадач и эпиков.
+    @Override
+    public List<Integer> addTasks(Collection<? extends Task> batch) throws CrossTimeExecution {
+        //1. Проверяем пересечения всего пакета одним проходом (см. validateTasksCross).
+        //2. Добавляем элементы пакета в порядке коллекции без повторной проверки.
 
-        if (epic.getStatus() == Status.DONE) {  //если эпик закрыт, то при добавлении подзадачи откроем его повторно
-            epic.setStatus(Status.IN_PROGRESS);
-        }
+        List<Integer> ids = new ArrayList<>(batch.size());
 
-        addTaskIntasksSortedByStartTime(subtask);
+        synchronized (intervalIndex) {
+            validateTasksCross(batch);
 
-        return id;  //0 - зарезервировано для случая ошибки
+            for (Task task : batch) {
+                if (task instanceof Epic) ids.add(putEpic((Epic) task));
+                else if (task instanceof Subtask) ids.add(putSubtask((Subtask) task));
+                else ids.add(putTask(task));
+            }
+        }
+
+        return ids;
     }
 
-    /// Эпика.
+    /// Автоматическое планирование задачи (подзадачи).
     @Override
-    public int addEpic(Epic epic) {
+    public int scheduleTask(Task task, LocalDateTime notBefore) throws SetPropertyTaskException {
+        //1. Время эпика рассчитывается по подзадачам, поэтому эпик не планируем.
+        //2. Если notBefore не указан, то ищем интервал от начала выполнения задачи или от текущего момента.
+        //3. Ищем ближайший свободный интервал по календарю занятости и устанавливаем начало выполнения.
+        //4. Добавляем задачу (подзадачу) с обычной валидацией.
 
-        epic.setId(++id);
+        if (task instanceof Epic) throw new SetPropertyTaskException(TypeTask.EPIC, task.getId(),
+                "Начало выполнения эпика рассчитывается по подзадачам, планирование эпика не допускается.");
 
-        epics.put(id, epic);
+        if (notBefore == null)
+            notBefore = task.getStartTime().orElse(LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES));
 
-        return id;  //0 - зарезервировано для случая ошибки
+        //Найденный интервал не должен занять параллельно добавляемая подзадача другого эпика.
+        synchronized (intervalIndex) {
+            task.setStartTime(intervalIndex.findFreeSlot(task.getDuration(), notBefore));
+
+            if (task instanceof Subtask) return addSubtask((Subtask) task);
+
+            return addTask(task);
+        }
     }
     //endregion
 
@@ -262,11 +357,19 @@ class InMemoryTaskManager implements TaskManager, PropertyChangeListener {
 
         int id = task.getId();
 
-        if (!tasks.containsKey(id)) return false;   //проверяем, чтобы метод не добавлял новую задачу
+        Task stored = tasks.get(id);
+        if (stored == null) return false;   //проверяем, чтобы метод не добавлял новую задачу
+
+        //Новая версия задачи - другой объект (например, созданный хранилищем при чтении, см. OffHeapTaskManager),
+        //менеджер не слушал изменения его сроков: интервал в индексе перемещаем здесь с проверкой пересечения.
+        if (stored != task) rescheduleUpdated(stored, task);
 
         updateStatusTask(task);
 
         tasks.put(id, task);
+        searchIndex.put(task);
+        tasksSnapshot.invalidate();
+        if (isPrioritized(stored, task)) prioritizedSnapshot.invalidate();
 
         return true;
     }
@@ -293,11 +396,17 @@ class InMemoryTaskManager implements TaskManager, PropertyChangeListener {
         //        во всех остальных случаях статус должен быть IN_PROGRESS.
         int id = subtask.getId();
 
-        if (!subtasks.containsKey(id)) return false;    //проверяем, чтобы метод не добавлял новую подзадачу
+        Subtask stored = subtasks.get(id);
+        if (stored == null) return false;    //проверяем, чтобы метод не добавлял новую подзадачу
+
+        if (stored != subtask) rescheduleUpdated(stored, subtask);  //см. updateTask
 
         updateStatusSubtask(subtask);
 
         subtasks.put(id, subtask);
+        searchIndex.put(subtask);
+        subtasksSnapshot.invalidate();
+        if (isPrioritized(stored, subtask)) prioritizedSnapshot.invalidate();
 
         return true;
     }
@@ -313,6 +422,8 @@ class InMemoryTaskManager implements TaskManager, PropertyChangeListener {
         if (!epics.containsKey(id)) return false;   //проверяем, чтобы метод не добавлял новый эпик
 
         epics.put(id, epic);
+        searchIndex.put(epic);
+        epicsSnapshot.invalidate();
 
         return true;
     }
@@ -332,6 +443,9 @@ class InMemoryTaskManager implements TaskManager, PropertyChangeListener {
         historyManager.remove(id);  //удаляем задачу из истории просмотров
 
         tasks.remove(id);
+        searchIndex.remove(id);
+        taskStatuses.remove(id);
+        tasksSnapshot.invalidate();
 
         return task;
     }
@@ -341,15 +455,10 @@ class InMemoryTaskManager implements TaskManager, PropertyChangeListener {
     public Subtask delSubtaskByID(int id) {
         if (!subtasks.containsKey(id)) return null;
 
-        //Удаляем подзадачу из эпика:
-        //  получили копию списка подзадач эпика
-        //  удалили в нем подзадачу
-        //  присвоили эпику ссылку на новый список задач
+        //Удаляем подзадачу из эпика (эпик уменьшает счетчик подзадач в ее статусе).
         Subtask subtask = subtasks.get(id);
         Epic epic = subtask.getEpic();
-        List<Subtask> subtaskArrayList = epic.getSubtasks();
-        subtaskArrayList.remove(subtask);
-        epic.setSubtasks(subtaskArrayList);
+        epic.removeSubtask(subtask);
 
         delTaskIntasksSortedByStartTime(subtask);
 
@@ -357,6 +466,9 @@ class InMemoryTaskManager implements TaskManager, PropertyChangeListener {
 
         //Удаляем саму подзадачу.
         subtasks.remove(id);
+        searchIndex.remove(id);
+        subtaskStatuses.remove(id);
+        subtasksSnapshot.invalidate();
 
         //Обновляем статус эпика (по оставшимся подзадачам).
         updateStatusEpic(epic);
@@ -391,15 +503,22 @@ class InMemoryTaskManager implements TaskManager, PropertyChangeListener {
         //Заменил на использование Stream API.
         wrapper.subtasksByEpic.stream()
                 .forEach(subtask -> {
+                    delTaskIntasksSortedByStartTime(subtask);
                     subtasks.remove(subtask.getId());
+                    searchIndex.remove(subtask.getId());
+                    subtaskStatuses.remove(subtask.getId());
                     historyManager.remove(subtask.getId()); //удаляем подзадачу из истории просмотров
                 });
 
+        subtasksSnapshot.invalidate();
+
         epic.ifPresent(Epic::setSubtasks);
         //epic.setSubtasks(); //удаляю ссылки на подзадачи из списка подзадач удаляемого эпика (сделал в сеттере)
 
         //После удаления подзадач, удаляем сам эпик.
         epics.remove(id);
+        searchIndex.remove(id);
+        epicsSnapshot.invalidate();
 
         epic.ifPresent(epicGetId -> historyManager.remove(epicGetId.getId()));
         //historyManager.remove(epic.getId());    //удаляем эпик из истории просмотров
@@ -410,6 +529,13 @@ class InMemoryTaskManager implements TaskManager, PropertyChangeListener {
 
     //region Дополнительные методы.
 
+    /// Эпик подзадачи по id подзадачи (без отметки о просмотре). Используется для выбора блокировки эпика.
+    Epic getEpicOfSubtask(int id) {
+        Subtask subtask = subtasks.get(id);
+
+        return (subtask == null) ? null : subtask.getEpic();
+    }
+
     /// a. Получение списка всех подзадач определённого эпика.
     @Override
     public List<Subtask> getSubtasksByEpic(Epic epic) {
@@ -429,6 +555,102 @@ class InMemoryTaskManager implements TaskManager, PropertyChangeListener {
     }
     //endregion
 
+    //region Служебные методы архива выполненных задач (см. TieredTaskManager).
+
+    /// Задача, подзадача или эпик хранилища по id (без отметки о просмотре), null - нет в хранилище.
+    Task getStoredTask(int id) {
+        Task task = getIndexedTask(id);
+
+        return (task != null) ? task : epics.get(id);
+    }
+
+    /// Выгружает задачу (эпик - вместе с подзадачами) из хранилища: в списках менеджера ее больше нет.
+    /// Индекс интервалов и история просмотров не меняются: интервал выгруженной задачи продолжает занимать
+    /// время выполнения, а приоритизированный список ее пропускает (индекс не находит задачу в хранилище).
+    void detachTask(Task task) {
+        int id = task.getId();
+
+        if (task instanceof Epic) {
+            for (Subtask subtask : ((Epic) task).getSubtasks()) detachTask(subtask);
+
+            epics.remove(id);
+            searchIndex.remove(id);
+            epicsSnapshot.invalidate();
+        } else if (task instanceof Subtask) {
+            task.removeScheduleListener(this);
+
+            subtasks.remove(id);
+            searchIndex.remove(id);
+            subtaskStatuses.remove(id);
+            subtasksSnapshot.invalidate();
+        } else {
+            task.removeScheduleListener(this);
+
+            tasks.remove(id);
+            searchIndex.remove(id);
+            taskStatuses.remove(id);
+            tasksSnapshot.invalidate();
+        }
+
+        prioritizedSnapshot.invalidate();
+    }
+
+    /// Возвращает выгруженную задачу (эпик - вместе с подзадачами) в хранилище.
+    /// Интервал задачи остался в индексе, поэтому подключаем только слушателя изменений сроков.
+    void attachTask(Task task) {
+        int id = task.getId();
+
+        if (task instanceof Epic) {
+            epics.put(id, (Epic) task);
+            searchIndex.put(task);
+            epicsSnapshot.invalidate();
+
+            //Подзадача без id создана с этим эпиком, но еще не добавлена в менеджер (см. addSubtask).
+            for (Subtask subtask : ((Epic) task).getSubtasks()) {
+                if (subtask.getId() > 0) attachTask(subtask);
+            }
+        } else if (task instanceof Subtask) {
+            subtasks.put(id, (Subtask) task);
+            searchIndex.put(task);
+            subtaskStatuses.put(id, task.getStatus());
+            subtasksSnapshot.invalidate();
+        } else {
+            tasks.put(id, task);
+            searchIndex.put(task);
+            taskStatuses.put(id, task.getStatus());
+            tasksSnapshot.invalidate();
+        }
+
+        if (!(task instanceof Epic) && intervalIndex.contains(task)) task.addScheduleListener(this);
+
+        prioritizedSnapshot.invalidate();
+    }
+
+    /// Удаляет задачу, выгруженную из хранилища (см. detachTask; эпик - вместе с подзадачами): ее интервал
+    /// выполнения из индекса и ее просмотры из истории.
+    void dropDetachedTask(Task task) {
+        if (task instanceof Epic) {
+            for (Subtask subtask : ((Epic) task).getSubtasks()) dropDetachedTask(subtask);
+        } else if (intervalIndex.contains(task)) {
+            intervalIndex.remove(task, task.getStartTime().orElse(null));
+            prioritizedSnapshot.invalidate();
+        }
+
+        historyManager.remove(task.getId());
+    }
+
+    /// Отмечает просмотр задачи, выгруженной из хранилища (см. detachTask).
+    void viewDetachedTask(Task task) {
+        historyManager.add(task);
+    }
+
+    /// Допускает ли менеджер операции над подзадачами разных эпиков параллельно (см. ConcurrentTaskManager).
+    /// Менеджер, который при операциях над подзадачей меняет общие несинхронизированные структуры, возвращает false.
+    boolean isEpicStripingSafe() {
+        return true;
+    }
+    //endregion
+
     /* Служебные методы: */
 
     //region Методы изменения статуса задач.
@@ -441,6 +663,13 @@ class InMemoryTaskManager implements TaskManager, PropertyChangeListener {
             case NEW -> task.setStatus(Status.IN_PROGRESS);
             case IN_PROGRESS -> task.setStatus(Status.DONE);
         }
+
+        //Новая версия задачи могла прийти с другим статусом, поэтому учитываем итоговый статус.
+        getStatusIndex(task).put(task.getId(), task.getStatus());
+    }
+
+    private StatusIndex getStatusIndex(Task task) {
+        return (task instanceof Subtask) ? subtaskStatuses : taskStatuses;
     }
 
     private void updateStatusSubtask(Subtask subtask) {
@@ -454,25 +683,167 @@ class InMemoryTaskManager implements TaskManager, PropertyChangeListener {
 
         if (epic == null) return;   //такого эпика нет в системе
 
-        boolean isNew = false;
-        boolean isDone = false;
-
-        List<Subtask> subtasks = getSubtasksByEpic(epic);
-        for (Subtask subtask : subtasks) {
-            switch (subtask.getStatus()) {
-                case IN_PROGRESS -> {
-                    epic.setStatus(Status.IN_PROGRESS); //одна в работе, эпик в работе
-                    return;
-                }
-                case NEW -> isNew = true;   //запоминаем наличие задач в статусе NEW
-                case DONE -> isDone = true;  //запоминаем наличие задач в статусе DONE
+        //Эпик ведет счетчики подзадач по статусам, поэтому статус определяется за O(1), без перебора подзадач:
+        //  - есть подзадачи в работе или одновременно новые и закрытые - IN_PROGRESS
+        //  - все подзадачи закрыты - DONE
+        //  - только новые подзадачи или подзадач нет - NEW
+        epic.setStatus(epic.getStatusBySubtasks());
+    }
+    //endregion
+
+    //region Служебные методы добавления задач.
+
+    /// Размещение задачи без проверки пересечений: присваивает id, добавляет задачу в хранилище и индекс.
+    private int putTask(Task task) {
+        int id = this.id.incrementAndGet();
+        task.setId(id);
+
+        tasks.put(id, task);
+        searchIndex.put(task);
+        taskStatuses.put(id, task.getStatus());
+        tasksSnapshot.invalidate();
+
+        addTaskIntasksSortedByStartTime(task);
+
+        return id;  //0 - зарезервировано для случая ошибки
+    }
+
+    private int putSubtask(Subtask subtask) {
+        int id = this.id.incrementAndGet();
+        subtask.setId(id);
+
+        subtasks.put(id, subtask);
+        searchIndex.put(subtask);
+        subtaskStatuses.put(id, subtask.getStatus());
+        subtasksSnapshot.invalidate();
+
+        Epic epic = subtask.getEpic();
+
+        if (epic.getStatus() == Status.DONE) {  //если эпик закрыт, то при добавлении подзадачи откроем его повторно
+            epic.setStatus(Status.IN_PROGRESS);
+        }
+
+        addTaskIntasksSortedByStartTime(subtask);
+
+        return id;  //0 - зарезервировано для случая ошибки
+    }
+
+    private int putEpic(Epic epic) {
+        int id = this.id.incrementAndGet();
+        epic.setId(id);
+
+        epics.put(id, epic);
+        searchIndex.put(epic);
+        epicsSnapshot.invalidate();
+
+        return id;  //0 - зарезервировано для случая ошибки
+    }
+
+    /// Восстановление задачи (подзадачи, эпика) с уже присвоенным id, например при загрузке из файла.
+    /// Статусы не пересчитываются, пересечение по времени выполнения проверяется.
+    protected void restoreTask(Task task) throws CrossTimeExecution {
+        synchronized (intervalIndex) {
+            if (!isValidatedTaskCross.test(task))
+                throw new CrossTimeExecution("Восстанавливаемая задача пересекается по времени выполнения.",
+                        List.of(task));
+
+            putRestoredTask(task);
+        }
+    }
+
+    /// Восстановление задачи без проверки пересечения: пакет уже проверен validateTasksCross.
+    protected void putRestoredTask(Task task) {
+        synchronized (intervalIndex) {
+            if (task instanceof Epic) {
+                epics.put(task.getId(), (Epic) task);
+                searchIndex.put(task);
+                epicsSnapshot.invalidate();
+            } else if (task instanceof Subtask) {
+                subtasks.put(task.getId(), (Subtask) task);
+                searchIndex.put(task);
+                subtaskStatuses.put(task.getId(), task.getStatus());
+                subtasksSnapshot.invalidate();
+
+                addTaskIntasksSortedByStartTime(task);
+            } else {
+                tasks.put(task.getId(), task);
+                searchIndex.put(task);
+                taskStatuses.put(task.getId(), task.getStatus());
+                tasksSnapshot.invalidate();
+
+                addTaskIntasksSortedByStartTime(task);
             }
         }
+    }
+
+    /// Проверка пересечений по времени выполнения для пакета задач (подзадач) одним проходом.
+    /// Эпики и задачи без начала выполнения ни с чем не пересекаются.
+    /// Пакет упорядочивается по началу выполнения (O(m log m)), затем при проходе по нему:
+    ///  - каждый элемент проверяется по индексу интервалов (O(log n + k), без перебора задач менеджера);
+    ///  - пересечения внутри пакета определяются по максимальному концу уже пройденных элементов пакета.
+    /// Элемент пересекается с одним из пройденных, только если начался не позже их максимального конца.
+    /// Если проверку не прошли какие-либо элементы, то исключение содержит их все (в порядке начала выполнения).
+    protected void validateTasksCross(Collection<? extends Task> batch) throws CrossTimeExecution {
+        List<Task> timedTasks = new ArrayList<>(batch.size());
+        for (Task task : batch) {
+            if (!(task instanceof Epic) && (task.getStartEpochSecond() != Task.NO_TIME)) timedTasks.add(task);
+        }
+
+        timedTasks.sort(Comparator.comparingLong(Task::getStartEpochSecond));
+
+        //Сохраняем порядок и сравниваем по ссылке: hashCode подзадачи вычисляется через эпик.
+        Set<Task> conflictingTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Task> conflictingOrder = new ArrayList<>();
+
+        Task maxEndTask = null; //пройденный элемент пакета с максимальным концом выполнения
+        long maxEnd = Task.NO_TIME;
+
+        for (Task task : timedTasks) {
+            long start = task.getStartEpochSecond();
+            long end = task.getEndEpochSecond();
+
+            if (intervalIndex.isCross(start, end, task) && conflictingTasks.add(task)) conflictingOrder.add(task);
+
+            if ((maxEndTask != null) && (maxEnd >= start)) {
+                if (conflictingTasks.add(maxEndTask)) conflictingOrder.add(maxEndTask);
+                if (conflictingTasks.add(task)) conflictingOrder.add(task);
+            }
+
+            if ((maxEndTask == null) || (end > maxEnd)) {
+                maxEndTask = task;
+                maxEnd = end;
+            }
+        }
+
+        if (conflictingOrder.isEmpty()) return;
+
+        StringBuilder names = new StringBuilder();
+        for (Task task : conflictingOrder) {
+            if (!names.isEmpty()) names.append(", ");
+            names.append(task.getName());
+        }
+
+        throw new CrossTimeExecution(String.format("Добавляемые задачи пересекаются по времени выполнения (%d): %s.",
+                conflictingOrder.size(), names), conflictingOrder);
+    }
+    //endregion
+
+    //region Полнотекстовый поиск.
+
+    /// Поиск по имени и описанию: задачи, подзадачи и эпики, содержащие все слова запроса, в порядке ранга.
+    @Override
+    public List<Task> searchTasks(String query, int offset, int limit) {
+        List<Integer> ids = searchIndex.search(query);
+        List<Task> found = new ArrayList<>();
+
+        for (int index = Math.max(offset, 0); index < ids.size(); index++) {
+            if ((limit > 0) && (found.size() == limit)) break;
+
+            Task task = getStoredTask(ids.get(index));
+            if (task != null) found.add(task);
+        }
 
-        //Нет подзадач в статусе STATUS.IN_PROGRESS.
-        if ((isNew) && (isDone)) epic.setStatus(Status.IN_PROGRESS);    //есть и new и done подзадачи
-        else if ((!isNew) && (isDone)) epic.setStatus(Status.DONE); //все подзадачи закрыты
-        else epic.setStatus(Status.NEW);    //или только открытые подзадачи или нет подзадач
+        return Collections.unmodifiableList(found);
     }
     //endregion
 
@@ -486,133 +857,199 @@ class InMemoryTaskManager implements TaskManager, PropertyChangeListener {
     //region Методы изменения и предоставления отсортированного списка задач (подзадач) по startTime.
     @Override
     public List<Task> getPrioritizedTasks() {
-        return tasksSortedByStartTime.stream()
-                .toList();
+        return prioritizedSnapshot.get();
+    }
+
+    @Override
+    public List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, int limit) {
+        return Collections.unmodifiableList(intervalIndex.getTasks(from, to, limit));
+    }
+
+    //endregion
+
+    //region Методы календаря занятости.
+    @Override
+    public boolean isTimeSlotFree(LocalDateTime startTime, long durationMinutes) {
+        checkSlotDuration(durationMinutes);
+
+        //Календарь занятости подтверждает свободный интервал сразу, занятые минуты проверяются по индексу точно.
+        return !intervalIndex.isCross(startTime, startTime.plusMinutes(durationMinutes), null);
+    }
+
+    @Override
+    public LocalDateTime findFreeSlot(long durationMinutes, LocalDateTime after) {
+        checkSlotDuration(durationMinutes);
+
+        return intervalIndex.findFreeSlot(durationMinutes, after);
+    }
+
+    /// Продолжительность интервала проверяется так же, как продолжительность выполнения задачи.
+    private static void checkSlotDuration(long durationMinutes) {
+        if ((durationMinutes < 0) || (durationMinutes > Task.MAX_DURATION_MINUTES))
+            throw new IllegalArgumentException(String.format("Не корректная продолжительность интервала: %d. " +
+                    "Допустимо от 0 до %d минут.", durationMinutes, Task.MAX_DURATION_MINUTES));
+    }
+    //endregion
+
+    //region Методы мониторинга снимков списков.
+    @Override
+    public long getSnapshotHits() {
+        return tasksSnapshot.getHits() + subtasksSnapshot.getHits() + epicsSnapshot.getHits()
+                + prioritizedSnapshot.getHits();
+    }
+
+    @Override
+    public long getSnapshotRebuilds() {
+        return tasksSnapshot.getRebuilds() + subtasksSnapshot.getRebuilds() + epicsSnapshot.getRebuilds()
+                + prioritizedSnapshot.getRebuilds();
     }
 
+    //endregion
+
+    //region Служебные методы индекса интервалов выполнения задач (подзадач).
     private void addTaskIntasksSortedByStartTime(Task task) {
         //1. Проверяем тип параметра task.
         //2. Проверяем, что task != null.
         //3. Проверяем, что значение startTime != null.
-        //4. Проверяем, что значения нет в дереве.
-        //5. Добавляем в дерево множества.
+        //4. Проверяем, что значения нет в индексе.
+        //5. Добавляем в индекс.
         //6. Подключаем слушателя, т.к. нужно отслеживать изменение значения в поле startTime.
 
         if (!(task instanceof Task) && !(task instanceof Subtask)) return;
         if (task == null) return;
-        if (task.getStartTime().isEmpty()) return;
-        if (tasksSortedByStartTime.contains(task)) return;
+        if (task.getStartEpochSecond() == Task.NO_TIME) return;
+        if (intervalIndex.contains(task)) return;
 
-        tasksSortedByStartTime.add(task);
+        intervalIndex.add(task);
+        prioritizedSnapshot.invalidate();
 
-        task.addPropertyChangeListener(this);
+        task.addScheduleListener(this);
     }
 
     private void delTaskIntasksSortedByStartTime(Task task) {
         //1. Проверяем тип параметра task.
         //2. Проверяем, что task != null.
-        //3. Проверяем, что значение есть в дереве.
+        //3. Проверяем, что значение есть в индексе.
         //4. Отключаем прослушивание изменений значения в поле startTime.
-        //5. Удаляем из дерева множества.
+        //5. Удаляем из индекса.
 
         if (!(task instanceof Task) && !(task instanceof Subtask)) return;
         if (task == null) return;
-        if (!tasksSortedByStartTime.contains(task)) return;
+        if (!intervalIndex.contains(task)) return;
 
-        task.removePropertyChangeListener(this);
+        task.removeScheduleListener(this);
 
-        tasksSortedByStartTime.remove(task);
+        intervalIndex.remove(task, task.getStartTime().orElse(null));
+        prioritizedSnapshot.invalidate();
     }
 
     private void delAllTasksIntasksSortedByStartTime(Class<? super Subtask> type) {
         //1. Проверяем значение переданного типа.
-        //2. Проверяем, что в дереве множества есть элементы.
-        //2. Отключаем прослушивание изменений значения в поле startTime в удаленных задачах (подзадачах).
-        //3. Удаляем задачи (подзадачи), см параметр typeTask, из tasksSortedByStartTime
+        //2. Удаляем задачи (подзадачи), см параметр typeTask, из индекса.
+        //3. Отключаем прослушивание изменений значения в поле startTime в удаленных задачах (подзадачах).
 
         if (!(type.equals(Task.class)) && !(type.equals(Subtask.class))) return;
 
-        if (tasksSortedByStartTime.isEmpty()) return;
+        TaskStorage.View<?> view = type.equals(Task.class) ? tasks : subtasks;
 
-        tasksSortedByStartTime.stream()
-                .filter(task -> (task.getClass().equals(type)))
-                .forEach(task -> task.removePropertyChangeListener(this));
-
-        tasksSortedByStartTime = tasksSortedByStartTime.stream()
-                .filter(task -> !(task.getClass().equals(type)))
-                .collect(Collectors.toCollection(() -> new TreeSet<Task>(taskComparatorByStartTime)));
+        intervalIndex.removeIf(view::containsKey)
+                .forEach(task -> task.removeScheduleListener(this));
+        prioritizedSnapshot.invalidate();
     }
 
     @Override
-    public void propertyChange(PropertyChangeEvent evt) {
-        String nameField = evt.getPropertyName();
+    public void onScheduleChanged(Task task, LocalDateTime oldStartTime, long oldDuration) {
+        //Слушатель остался подключен к объекту, который менеджер не хранит: задача удалена из менеджера или
+        //заменена новой версией в updateTask (хранилище может создавать объекты задач при чтении).
+        //Прежние сроки из оповещения тогда не совпадают со сроками хранимой версии: отключаем слушателя,
+        //индекс не меняем.
+        Task stored = getIndexedTask(task.getId());
+
+        if ((stored == null) || ((stored != task) && !hasSchedule(stored, oldStartTime, oldDuration))) {
+            task.removeScheduleListener(this);
 
-        if (nameField.equals("startTime")) {
-            changedStartTimeTaskSubtask((Task) evt.getSource(),
-                    (Optional<LocalDateTime>) evt.getOldValue(),
-                    (Optional<LocalDateTime>) evt.getNewValue());
-        } else if (nameField.equals("duration")) {
-            changedDurationTaskSubtask((Task) evt.getSource(),
-                    (long) evt.getOldValue(),
-                    (long) evt.getNewValue());
+            return;
         }
-    }
 
-    private <T extends Task, V extends Optional<LocalDateTime>> void changedStartTimeTaskSubtask(T task, V oldValue, V newValue)
-            throws CrossTimeExecution {
-        if (oldValue.equals(newValue)) return;
+        //Интервал задачи в индексе перемещается (или откатывается), порядок приоритизированного списка мог измениться.
+        prioritizedSnapshot.invalidate();
 
-        //System.out.println("Произошло изменение значения в поле startTime задачи/подзадачи с " + oldValue + " на " + newValue);
+        LocalDateTime startTime = task.getStartTime().orElse(null);
 
-        //Учет изменения значения в поле startTime объектов классов Task (Subtask):
-        //нет - 1. Отключить прослушивание изменений у объекта (startTime).
-        //2. Удалить объект из дерева множества.
-        //3. Проверить, что новое значение не равно null.
-        //4. Добавить объект в дерево множество (сортировка).
-        //нет - 5. Включить прослушивание изменений у объекта (startTime).
+        if (!Objects.equals(oldStartTime, startTime)) {
+            changedStartTimeTaskSubtask(task, oldStartTime);
+        } else if (oldDuration != task.getDuration()) {
+            changedDurationTaskSubtask(task);
+        } else {
+            return;
+        }
 
-        //task.removePropertyChangeListener(this);  //задачи нет в дереве, но изменения из null нужно тоже отследить
+        scheduleAccepted(task);
+    }
 
-        tasksSortedByStartTime = tasksSortedByStartTime.stream()
-                .filter(taskCur -> !(taskCur.getId() == task.getId()))
-                .collect(Collectors.toCollection(() -> new TreeSet<Task>(taskComparatorByStartTime)));
+    /// Переносит интервал задачи в индексе со сроков хранимой версии stored на сроки новой версии task.
+    /// При пересечении индекс остается прежним, а новая версия не сохраняется (CrossTimeExecution).
+    /// Изменения сроков новой версии менеджер дальше слушает вместо хранимой.
+    private void rescheduleUpdated(Task stored, Task task) throws CrossTimeExecution {
+        synchronized (intervalIndex) {
+            boolean rescheduled = (stored.getStartEpochSecond() != task.getStartEpochSecond())
+                    || (stored.getEndEpochSecond() != task.getEndEpochSecond());
 
-        if (task.getStartTime().isEmpty()) return;
+            if (rescheduled && !intervalIndex.relocate(task, stored.getStartTime().orElse(null)))
+                throw new CrossTimeExecution("Новая версия задачи пересекается по времени выполнения.");
+        }
 
-        if (!isValidatedTaskCross.test(task)) {
-            TypeTask typeTask = TypeTask.TASK;
+        stored.removeScheduleListener(this);
+        task.removeScheduleListener(this);  //слушатель подключается один раз
+        if (task.getStartEpochSecond() != Task.NO_TIME) task.addScheduleListener(this);
+    }
 
-            if (task instanceof Subtask) typeTask = TypeTask.SUBTASK;
+    /// Хранимая или новая версия задачи входит в приоритизированный список (задано начало выполнения): после
+    /// обновления список должен отдавать новую версию с новыми сроками и статусом.
+    private static boolean isPrioritized(Task stored, Task task) {
+        return (stored.getStartEpochSecond() != Task.NO_TIME) || (task.getStartEpochSecond() != Task.NO_TIME);
+    }
 
-            throw new CrossTimeExecution(String.format("При установке начала времени выполнения %s " +
-                    "возникает пересечение по времени выполнения.", typeTask));
-        }
+    private static boolean hasSchedule(Task task, LocalDateTime startTime, long duration) {
+        return Objects.equals(task.getStartTime().orElse(null), startTime) && (task.getDuration() == duration);
+    }
 
-        tasksSortedByStartTime.add(task);
+    /// Вызывается после того, как индекс принял новые сроки задачи (подзадачи).
+    /// Хранилище, которое держит копию сроков (см. OffHeapTaskManager), обновляет ее здесь.
+    protected void scheduleAccepted(Task task) {
+    }
 
-        //task.addPropertyChangeListener(this);
+    /// Задача (подзадача) менеджера по id, без отметки о просмотре. Используется индексом интервалов.
+    private Task getIndexedTask(int id) {
+        Task task = tasks.get(id);
+
+        return (task != null) ? task : subtasks.get(id);
     }
 
-    private <T extends Task> void changedDurationTaskSubtask(T task, long oldValue, long newValue)
-            throws CrossTimeExecution {
-        if (oldValue == newValue) return;
+    private <T extends Task> void changedStartTimeTaskSubtask(T task, LocalDateTime oldValue) throws CrossTimeExecution {
+        //Учет изменения значения в поле startTime объектов классов Task (Subtask) выполняем на месте (O(log n)):
+        //1. Удалить интервал задачи из индекса по старому значению startTime (из оповещения).
+        //2. Если новое значение равно null, то задача остается вне индекса.
+        //3. Проверить пересечение нового интервала и добавить его в индекс.
+        //4. При пересечении индекс откатывается к старому интервалу задачи.
+        //Слушателя не отключаем: задачи со startTime == null нет в индексе, но изменения из null нужно тоже отследить.
 
-        //System.out.println("Произошло изменение значения в поле duration задачи/подзадачи с " + oldValue + " на " + newValue);
+        if (!intervalIndex.relocate(task, oldValue)) {
+            TypeTask typeTask = TypeTask.TASK;
 
-        //Учет изменения значения в поле duration объектов классов Task (Subtask):
-        //нет - 1. Отключить прослушивание изменений у объекта (duration).
-        //2. Удалить объект из дерева множества.
-        //3. Проверить, что новое значение не равно null.
-        //4. Добавить объект в дерево множество (сортировка).
-        //нет - 5. Включить прослушивание изменений у объекта (duration).
+            if (task instanceof Subtask) typeTask = TypeTask.SUBTASK;
 
-        //task.removePropertyChangeListener(this);  //задачи нет в дереве, но изменения из null нужно тоже отследить
+            throw new CrossTimeExecution(String.format("При установке начала времени выполнения %s " +
+                    "возникает пересечение по времени выполнения.", typeTask));
+        }
+    }
 
-        tasksSortedByStartTime = tasksSortedByStartTime.stream()
-                .filter(taskCur -> !(taskCur.getId() == task.getId()))
-                .collect(Collectors.toCollection(() -> new TreeSet<Task>(taskComparatorByStartTime)));
+    private <T extends Task> void changedDurationTaskSubtask(T task) throws CrossTimeExecution {
+        //Учет изменения значения в поле duration объектов классов Task (Subtask) выполняем на месте (O(log n)).
+        //Начало выполнения не менялось, поэтому интервал задачи зарегистрирован по текущему startTime.
+        //При пересечении индекс откатывается к старому интервалу задачи.
 
-        if (!isValidatedTaskCross.test(task)) {
+        if (!intervalIndex.relocate(task, task.getStartTime().orElse(null))) {
             TypeTask typeTask = TypeTask.TASK;
 
             if (task instanceof Subtask) typeTask = TypeTask.SUBTASK;
@@ -620,10 +1057,6 @@ class InMemoryTaskManager implements TaskManager, PropertyChangeListener {
             throw new CrossTimeExecution(String.format("При установке длительности выполнения %s " +
                     "возникает пересечение по времени выполнения.", typeTask));
         }
-
-        tasksSortedByStartTime.add(task);
-
-        //task.addPropertyChangeListener(this);
     }
     //endregion
 }
\ No newline at end of file
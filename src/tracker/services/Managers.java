@@ -2,6 +2,7 @@ package tracker.services;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import tracker.services.exceptions.ManagerSaveException;
 import tracker.webapi.handlers.adapters.DurationAdapter;
 import tracker.webapi.handlers.adapters.LocalDateTimeAdapter;
 
@@ -21,6 +22,11 @@ public class Managers {
         return new InMemoryTaskManager(getDefaultHistory());
     }
 
+    /// Менеджер задач в оперативной памяти с переданной историей просмотров.
+    public static TaskManager getDefault(HistoryManager historyManager) {
+        return new InMemoryTaskManager(historyManager);
+    }
+
     public static TaskManager getDefault(boolean useFileStorage) {
         if (useFileStorage) {
             File file;
@@ -40,11 +46,85 @@ public class Managers {
         }
     }
 
+    /// Менеджер задач, хранящий задачи вне кучи (для очень больших досок).
+    public static TaskManager getOffHeap() {
+        return new OffHeapTaskManager(getDefaultHistory());
+    }
+
+    /// Менеджер задач, переносящий выполненные задачи в архив на диске по политике policy.
+    /// Архив размещается во временном файле.
+    public static TaskManager getTiered(TieringPolicy policy) throws ManagerSaveException {
+        File file;
+        try {
+            file = File.createTempFile("archiveTasks", null);
+        } catch (IOException e) {
+            throw new ManagerSaveException("Ошибка создания файла архива: " + e.getMessage());
+        }
+
+        return getTiered(policy, file.toPath());
+    }
+
+    /// Менеджер задач, переносящий выполненные задачи в архив coldFile по политике policy.
+    public static TaskManager getTiered(TieringPolicy policy, Path coldFile) throws ManagerSaveException {
+        return new TieredTaskManager(getDefaultHistory(), policy, coldFile);
+    }
+
+    /// Потокобезопасный менеджер задач, использующий оперативную память.
+    public static TaskManager getConcurrent() {
+        return getConcurrent(getDefault());
+    }
+
+    /// Потокобезопасный менеджер задач поверх переданного менеджера.
+    /// После этого обращаться к переданному менеджеру нужно только через возвращенный.
+    public static TaskManager getConcurrent(TaskManager taskManager) {
+        if (taskManager instanceof ConcurrentTaskManager) return taskManager;   //уже потокобезопасный
+
+        return new ConcurrentTaskManager(taskManager);
+    }
+
     public static HistoryManager getDefaultHistory() {
 
         return new InMemoryHistoryManager();
     }
 
+    /// История просмотров не больше capacity задач: при переполнении вытесняется самая старая.
+    public static HistoryManager getDefaultHistory(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Размер истории должен быть больше нуля.");
+
+        return new InMemoryHistoryManager(capacity);
+    }
+
+    /// История просмотров на массивах: повторные просмотры задач не выделяют память.
+    public static HistoryManager getArrayHistory() {
+        return new ArrayHistoryManager();
+    }
+
+    /// История просмотров на массивах не больше capacity задач: при переполнении вытесняется самая старая.
+    public static HistoryManager getArrayHistory(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("Размер истории должен быть больше нуля.");
+
+        return new ArrayHistoryManager(capacity);
+    }
+
+    /// Асинхронная запись истории просмотров historyManager через кольцевой буфер на bufferSize событий:
+    /// просмотры применяются к истории отдельным потоком. Поток останавливается в close (HttpTaskServer закрывает
+    /// историю менеджера задач при остановке).
+    public static HistoryManager getAsyncHistory(HistoryManager historyManager, int bufferSize) {
+        return new AsyncHistoryManager(historyManager, bufferSize);
+    }
+
+    /// Истории просмотров клиентов веб-сервиса с настройками по умолчанию: история сессии - 100 задач,
+    /// сессия удаляется после 30 минут простоя, общий объем всех сессий - 1 000 000 задач.
+    public static HistorySessions getHistorySessions() {
+        return getHistorySessions(100, Duration.ofMinutes(30), 1_000_000);
+    }
+
+    /// Истории просмотров клиентов веб-сервиса: история сессии не больше sessionCapacity задач, сессия удаляется
+    /// после idleTimeout простоя, общий объем всех сессий не больше maxEntries задач.
+    public static HistorySessions getHistorySessions(int sessionCapacity, Duration idleTimeout, int maxEntries) {
+        return new HistorySessions(sessionCapacity, idleTimeout, maxEntries);
+    }
+
     /**
      * Создаем по единым правилам объект класса Gson.
      */
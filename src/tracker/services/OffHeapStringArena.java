@@ -0,0 +1,89 @@
+package tracker.services;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+//Поставил модификатор доступа по умолчанию.
+//Арена используется только хранилищем задач вне кучи (OffHeapTaskStorage).
+
+/// Арена строк вне кучи: строки хранятся в кодировке UTF-8 в блоках ByteBuffer.allocateDirect.
+/// Строка адресуется парой (адрес, длина в байтах), адрес - номер блока (старшие 32 бита) и смещение в блоке.
+/// Новые строки дописываются в конец текущего блока. Строку, которая не длиннее прежней, можно записать
+/// на место прежней (см. replace). Место удаленных и замененных строк не переиспользуется, а учитывается
+/// как "мусор" (см. getGarbageBytes): арена рассчитана на архивные доски, где строки почти не меняются.
+class OffHeapStringArena {
+    static final int NULL_LENGTH = -1; //длина, обозначающая строку null
+
+    private static final int CHUNK_BYTES = 1 << 20;    //размер блока (1 Мб)
+
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private int tail = CHUNK_BYTES;   //первый свободный байт последнего блока
+
+    private long garbageBytes;   //занято удаленными и замененными строками
+
+    /// Размещает строку в арене. Возвращает адрес, длина строки в байтах - length(bytes).
+    long put(byte[] bytes) {
+        if (bytes == null) return 0;
+
+        if (chunks.isEmpty() || (bytes.length > CHUNK_BYTES - tail)) {
+            //Строка не помещается в текущий блок: выделяем новый (длинную строку - в отдельный блок по размеру).
+            ByteBuffer chunk = ByteBuffer.allocateDirect(Math.max(CHUNK_BYTES, bytes.length));
+            chunks.add(chunk);
+            tail = 0;
+        }
+
+        int chunkIndex = chunks.size() - 1;
+        int offset = tail;
+
+        chunks.get(chunkIndex).put(offset, bytes);
+        tail += bytes.length;
+
+        if (chunks.get(chunkIndex).capacity() > CHUNK_BYTES) tail = CHUNK_BYTES;  //отдельный блок не дописываем
+
+        return ((long) chunkIndex << 32) | offset;
+    }
+
+    /// Размещает строку на месте прежней (address, length), если она не длиннее, иначе - в конце арены.
+    /// Возвращает адрес строки.
+    long replace(long address, int length, byte[] bytes) {
+        if ((bytes != null) && (length != NULL_LENGTH) && (bytes.length <= length)) {
+            chunks.get((int) (address >>> 32)).put((int) address, bytes);
+            garbageBytes += length - bytes.length;
+
+            return address;
+        }
+
+        free(length);
+
+        return put(bytes);
+    }
+
+    /// Строка по адресу и длине в байтах.
+    String get(long address, int length) {
+        if (length == NULL_LENGTH) return null;
+
+        byte[] bytes = new byte[length];
+        if (length > 0) chunks.get((int) (address >>> 32)).get((int) address, bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /// Учет удаленной строки.
+    void free(int length) {
+        if (length > 0) garbageBytes += length;
+    }
+
+    long getGarbageBytes() {
+        return garbageBytes;
+    }
+
+    static byte[] encode(String value) {
+        return (value == null) ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static int length(byte[] bytes) {
+        return (bytes == null) ? NULL_LENGTH : bytes.length;
+    }
+}
\ No newline at end of file
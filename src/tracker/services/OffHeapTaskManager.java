@@ -0,0 +1,31 @@
+package tracker.services;
+
+import tracker.model.tasks.Task;
+
+//Поставил модификатор доступа по умолчанию.
+//Создавать объекты класса OffHeapTaskManager только в Managers.
+
+/// Менеджер задач для очень больших (архивных) досок: задачи хранятся вне кучи (см. OffHeapTaskStorage),
+/// поэтому миллионы задач не нагружают сборщик мусора. Объекты задач создаются при чтении (getTaskByID,
+/// getTasks, getPrioritizedTasks), т.е. каждое чтение возвращает новый объект с данными хранилища.
+/// Изменения объекта задачи попадают в хранилище при updateTask, а изменения сроков выполнения - сразу,
+/// если их принял индекс интервалов (менеджер слушает объекты, переданные в addTask).
+/// Подзадачи и эпики хранятся, как в InMemoryTaskManager.
+class OffHeapTaskManager extends InMemoryTaskManager {
+    private final OffHeapTaskStorage offHeapStorage;
+
+    OffHeapTaskManager(HistoryManager historyManager) {
+        this(historyManager, new OffHeapTaskStorage());
+    }
+
+    private OffHeapTaskManager(HistoryManager historyManager, OffHeapTaskStorage storage) {
+        super(historyManager, storage);
+
+        offHeapStorage = storage;
+    }
+
+    @Override
+    protected void scheduleAccepted(Task task) {
+        offHeapStorage.updateSchedule(task);
+    }
+}
\ No newline at end of file
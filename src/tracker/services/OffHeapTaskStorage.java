@@ -0,0 +1,141 @@
+package tracker.services;
+
+import tracker.model.enums.Status;
+import tracker.model.tasks.Task;
+import tracker.services.enums.TypeTask;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+//Поставил модификатор доступа по умолчанию.
+//Хранилище используется только менеджером задач вне кучи (OffHeapTaskManager).
+
+/// Хранилище, в котором задачи (TypeTask.TASK) хранятся вне кучи, а объекты Task создаются только при чтении.
+/// Поля фиксированной длины хранятся в сегментах ByteBuffer.allocateDirect - записью на слот id (40 байт):
+///  - id - номер слота, тип - признак типа слота в TaskStorage (в записи не дублируются);
+///  - статус (Status.ordinal()), признак занятой записи;
+///  - начало выполнения в секундах от эпохи (UTC), Task.NO_TIME - не задано, продолжительность в минутах;
+///  - адреса и длины имени и описания в арене строк вне кучи (OffHeapStringArena).
+/// В куче на задачу остается только пустой слот массива ссылок и байт типа.
+/// Начало выполнения хранится с точностью до секунды (доли секунды не сохраняются).
+///
+/// Подзадачи и эпики хранятся как объекты (см. TaskStorage): эпик ведет статус и сроки по живым объектам своих
+/// подзадач (слушатели, список подзадач), а подзадача ссылается на объект своего эпика.
+class OffHeapTaskStorage extends TaskStorage {
+    private static final byte TASK_TAG = tagOf(TypeTask.TASK);
+
+    private static final int SEGMENT_SHIFT = 14;    //записей в сегменте - 2^14
+    private static final int SEGMENT_MASK = (1 << SEGMENT_SHIFT) - 1;
+    private static final int RECORD_BYTES = 40;
+
+    //Смещения полей записи.
+    private static final int STATUS = 0;            //byte
+    private static final int USED = 1;              //byte: 1 - запись содержит задачу (строки размещены в арене)
+    private static final int DURATION = 4;          //int: минуты
+    private static final int START = 8;             //long: секунды от эпохи (UTC)
+    private static final int NAME = 16;             //long: адрес в арене
+    private static final int NAME_LENGTH = 24;      //int: байт UTF-8, OffHeapStringArena.NULL_LENGTH - null
+    private static final int DESCR_LENGTH = 28;     //int
+    private static final int DESCR = 32;            //long
+
+    private static final Status[] STATUSES = Status.values();
+
+    private ByteBuffer[] segments = new ByteBuffer[0];
+    private final OffHeapStringArena strings = new OffHeapStringArena();
+
+    @Override
+    Task loadItem(int id, byte tag) {
+        if (tag != TASK_TAG) return super.loadItem(id, tag);
+
+        ByteBuffer segment = segments[id >>> SEGMENT_SHIFT];
+        int record = (id & SEGMENT_MASK) * RECORD_BYTES;
+
+        Task task = new Task(strings.get(segment.getLong(record + NAME), segment.getInt(record + NAME_LENGTH)),
+                strings.get(segment.getLong(record + DESCR), segment.getInt(record + DESCR_LENGTH)));
+
+        task.setId(id);
+        task.setStatus(STATUSES[segment.get(record + STATUS)]);
+
+        long start = segment.getLong(record + START);
+        if (start != Task.NO_TIME) task.setStartTime(LocalDateTime.ofEpochSecond(start, 0, ZoneOffset.UTC));
+        task.setDuration(segment.getInt(record + DURATION));
+
+        return task;
+    }
+
+    @Override
+    void storeItem(int id, byte tag, Task item) {
+        if (tag != TASK_TAG) {
+            super.storeItem(id, tag, item);
+
+            return;
+        }
+
+        ByteBuffer segment = getSegment(id);
+        int record = (id & SEGMENT_MASK) * RECORD_BYTES;
+
+        byte[] name = OffHeapStringArena.encode(item.getName());
+        byte[] descr = OffHeapStringArena.encode(item.getDescr());
+
+        if (segment.get(record + USED) == 1) {
+            //Обновление задачи: строки, которые не длиннее прежних, записываются на их место.
+            segment.putLong(record + NAME, strings.replace(segment.getLong(record + NAME),
+                    segment.getInt(record + NAME_LENGTH), name));
+            segment.putLong(record + DESCR, strings.replace(segment.getLong(record + DESCR),
+                    segment.getInt(record + DESCR_LENGTH), descr));
+        } else {
+            segment.putLong(record + NAME, strings.put(name));
+            segment.putLong(record + DESCR, strings.put(descr));
+        }
+
+        segment.putInt(record + NAME_LENGTH, OffHeapStringArena.length(name));
+        segment.putInt(record + DESCR_LENGTH, OffHeapStringArena.length(descr));
+
+        segment.put(record + STATUS, (byte) item.getStatus().ordinal());
+        segment.put(record + USED, (byte) 1);
+
+        putSchedule(segment, record, item);
+    }
+
+    @Override
+    void releaseItem(int id, byte tag) {
+        if (tag != TASK_TAG) {
+            super.releaseItem(id, tag);
+
+            return;
+        }
+
+        ByteBuffer segment = segments[id >>> SEGMENT_SHIFT];
+        int record = (id & SEGMENT_MASK) * RECORD_BYTES;
+
+        strings.free(segment.getInt(record + NAME_LENGTH));
+        strings.free(segment.getInt(record + DESCR_LENGTH));
+
+        segment.put(record + USED, (byte) 0);
+    }
+
+    /// Обновление сроков выполнения задачи (без перезаписи строк), если задача есть в хранилище.
+    synchronized void updateSchedule(Task task) {
+        int id = task.getId();
+
+        if (!contains(id, TASK_TAG)) return;
+
+        putSchedule(segments[id >>> SEGMENT_SHIFT], (id & SEGMENT_MASK) * RECORD_BYTES, task);
+    }
+
+    private void putSchedule(ByteBuffer segment, int record, Task task) {
+        segment.putLong(record + START, task.getStartEpochSecond());
+        segment.putInt(record + DURATION, task.getDurationMinutes());
+    }
+
+    private ByteBuffer getSegment(int id) {
+        int index = id >>> SEGMENT_SHIFT;
+
+        if (index >= segments.length) segments = Arrays.copyOf(segments, index + 1);
+        if (segments[index] == null) segments[index] = ByteBuffer.allocateDirect(RECORD_BYTES << SEGMENT_SHIFT);
+
+        return segments[index];
+    }
+}
\ No newline at end of file
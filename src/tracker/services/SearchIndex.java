@@ -0,0 +1,128 @@
+package tracker.services;
+
+import tracker.model.tasks.Task;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+//Поставил модификатор доступа по умолчанию.
+//Индекс используется только менеджером задач.
+
+/// Полнотекстовый (инвертированный) индекс по имени и описанию задач, подзадач и эпиков.
+/// Текст разбивается на слова по буквам и цифрам (Character.isLetterOrDigit), поэтому кириллица разбирается так же,
+/// как латиница. Слова приводятся к нижнему регистру, "ё" заменяется на "е".
+/// Для каждого слова хранится вес в каждой задаче: слово в имени весит NAME_WEIGHT, в описании - DESCR_WEIGHT.
+///
+/// Поиск: каждое слово запроса ищется как префикс слов индекса (словарь упорядочен - TreeMap), это покрывает
+/// окончания русских слов ("задач" находит "задача", "задачи"). Задача попадает в результат, только если
+/// в ней найдены все слова запроса. Ранг - сумма весов найденных слов, умноженных на редкость слова
+/// (idf = ln(1 + N / df), N - задач в индексе, df - задач со словом). Стоимость поиска пропорциональна количеству
+/// вхождений найденных слов, а не количеству задач менеджера.
+/// Индекс ведет менеджер задач (добавление, обновление, удаление). Методы синхронизированы.
+class SearchIndex {
+    private static final int NAME_WEIGHT = 2;
+    private static final int DESCR_WEIGHT = 1;
+
+    private final TreeMap<String, Map<Integer, Integer>> postings = new TreeMap<>(); //слово - id задачи - вес
+    private final Map<Integer, Set<String>> words = new HashMap<>();  //id задачи - ее слова (для удаления)
+
+    /// Индексирует задачу по текущим имени и описанию (прежние слова задачи удаляются).
+    synchronized void put(Task task) {
+        int id = task.getId();
+
+        remove(id);
+
+        Map<String, Integer> weights = new HashMap<>();
+        for (String word : tokenize(task.getName())) weights.merge(word, NAME_WEIGHT, Integer::sum);
+        for (String word : tokenize(task.getDescr())) weights.merge(word, DESCR_WEIGHT, Integer::sum);
+
+        if (weights.isEmpty()) return;
+
+        for (Map.Entry<String, Integer> entry : weights.entrySet())
+            postings.computeIfAbsent(entry.getKey(), key -> new HashMap<>()).put(id, entry.getValue());
+
+        words.put(id, weights.keySet());
+    }
+
+    synchronized void remove(int id) {
+        Set<String> taskWords = words.remove(id);
+        if (taskWords == null) return;
+
+        for (String word : taskWords) {
+            Map<Integer, Integer> posting = postings.get(word);
+
+            posting.remove(id);
+            if (posting.isEmpty()) postings.remove(word);
+        }
+    }
+
+    /// Id задач, содержащих все слова запроса, в порядке убывания ранга (при равенстве - по возрастанию id).
+    synchronized List<Integer> search(String query) {
+        Set<String> queryWords = new LinkedHashSet<>(tokenize(query));
+        if (queryWords.isEmpty()) return new ArrayList<>();
+
+        Map<Integer, Double> scores = null;
+        for (String queryWord : queryWords) {
+            Map<Integer, Double> wordScores = scoreWord(queryWord);
+
+            if (scores == null) {
+                scores = wordScores;
+            } else {
+                scores.keySet().retainAll(wordScores.keySet());
+                for (Map.Entry<Integer, Double> entry : scores.entrySet())
+                    entry.setValue(entry.getValue() + wordScores.get(entry.getKey()));
+            }
+
+            if (scores.isEmpty()) break;
+        }
+
+        List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+
+        List<Integer> ids = new ArrayList<>(ranked.size());
+        for (Map.Entry<Integer, Double> entry : ranked) ids.add(entry.getKey());
+
+        return ids;
+    }
+
+    /// Ранг задач по одному слову запроса: все слова индекса с этим префиксом.
+    private Map<Integer, Double> scoreWord(String queryWord) {
+        Map<Integer, Double> scores = new HashMap<>();
+
+        for (Map<Integer, Integer> posting : postings.subMap(queryWord, queryWord + Character.MAX_VALUE).values()) {
+            double idf = Math.log(1 + (double) words.size() / posting.size());
+
+            for (Map.Entry<Integer, Integer> entry : posting.entrySet())
+                scores.merge(entry.getKey(), entry.getValue() * idf, Double::sum);
+        }
+
+        return scores;
+    }
+
+    /// Слова текста: последовательности букв и цифр в нижнем регистре, "ё" заменяется на "е".
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+
+        StringBuilder token = new StringBuilder();
+        for (int index = 0; index <= text.length(); index++) {
+            char symbol = (index < text.length()) ? text.charAt(index) : ' ';
+
+            if (Character.isLetterOrDigit(symbol)) {
+                token.append(symbol);
+            } else if (!token.isEmpty()) {
+                tokens.add(token.toString().toLowerCase(Locale.ROOT).replace('ё', 'е'));
+                token.setLength(0);
+            }
+        }
+
+        return tokens;
+    }
+}
\ No newline at end of file
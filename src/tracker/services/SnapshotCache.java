@@ -0,0 +1,70 @@
+package tracker.services;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+//Поставил модификатор доступа по умолчанию.
+//Кэши снимков ведет менеджер задач.
+
+/// Кэш неизменяемого снимка списка.
+/// Каждое изменение исходных данных увеличивает версию (invalidate), снимок перестраивается лениво - при первом
+/// чтении после изменения. Повторные чтения между изменениями возвращают тот же объект списка без выделения памяти.
+/// Версия фиксируется до построения снимка, поэтому изменение, выполненное во время построения, не потеряется:
+/// снимок получит старую версию и будет перестроен при следующем чтении.
+class SnapshotCache<T> {
+    private final Supplier<List<T>> builder;    //построение нового списка по исходным данным
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile Snapshot<T> snapshot;
+
+    private final AtomicLong hits = new AtomicLong();       //чтения из готового снимка
+    private final AtomicLong rebuilds = new AtomicLong();   //перестроения снимка
+
+    /// Снимок списка, зафиксированный с версией исходных данных.
+    private static class Snapshot<T> {
+        private final long version;
+        private final List<T> list;
+
+        private Snapshot(long version, List<T> list) {
+            this.version = version;
+            this.list = list;
+        }
+    }
+
+    SnapshotCache(Supplier<List<T>> builder) {
+        this.builder = builder;
+    }
+
+    /// Неизменяемый снимок списка, актуальный на момент вызова.
+    List<T> get() {
+        long currentVersion = version.get();
+        Snapshot<T> current = snapshot;
+
+        if ((current != null) && (current.version == currentVersion)) {
+            hits.incrementAndGet();
+
+            return current.list;
+        }
+
+        List<T> list = Collections.unmodifiableList(builder.get());
+        snapshot = new Snapshot<>(currentVersion, list);
+        rebuilds.incrementAndGet();
+
+        return list;
+    }
+
+    /// Отмечает изменение исходных данных: текущий снимок устаревает.
+    void invalidate() {
+        version.incrementAndGet();
+    }
+
+    long getHits() {
+        return hits.get();
+    }
+
+    long getRebuilds() {
+        return rebuilds.get();
+    }
+}
\ No newline at end of file
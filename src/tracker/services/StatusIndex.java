@@ -0,0 +1,106 @@
+package tracker.services;
+
+import tracker.model.enums.Status;
+
+import java.util.Arrays;
+
+//Поставил модификатор доступа по умолчанию.
+//Индекс используется только менеджером задач.
+
+/// Вторичный индекс задач (подзадач) по статусу: для каждого статуса - двусвязный список id.
+/// Как и хранилище (TaskStorage), индекс построен на массивах, индексированных id: статус элемента, соседи
+/// в списке статуса. Смена статуса - перенос id между списками за O(1) без упаковки id и выделения узлов,
+/// выборка по статусу проходит только список этого статуса - O(k log k) с упорядочиванием по id,
+/// где k - размер результата, а не количество задач менеджера.
+/// Индекс ведет менеджер задач (добавление, обновление статуса, удаление).
+/// Методы синхронизированы: подзадачи разных эпиков могут изменяться параллельно (см. ConcurrentTaskManager).
+class StatusIndex {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int NONE = 0;  //id 0 не выдается, поэтому обозначает конец списка
+    private static final int STATUSES = Status.values().length;
+
+    private byte[] statuses = new byte[INITIAL_CAPACITY];   //Status.ordinal() + 1, NONE - id нет в индексе
+    private int[] next = new int[INITIAL_CAPACITY];
+    private int[] prev = new int[INITIAL_CAPACITY];
+
+    private final int[] heads = new int[STATUSES];  //первый id списка каждого статуса
+    private final int[] sizes = new int[STATUSES];
+
+    /// Учитывает статус элемента id (новый элемент или смена статуса).
+    synchronized void put(int id, Status status) {
+        ensureCapacity(id);
+
+        byte tag = (byte) (status.ordinal() + 1);
+        if (statuses[id] == tag) return;
+
+        if (statuses[id] != NONE) unlink(id);
+
+        link(id, status.ordinal());
+        statuses[id] = tag;
+    }
+
+    synchronized void remove(int id) {
+        if ((id >= statuses.length) || (statuses[id] == NONE)) return;
+
+        unlink(id);
+        statuses[id] = NONE;
+    }
+
+    synchronized void clear() {
+        statuses = new byte[INITIAL_CAPACITY];
+        next = new int[INITIAL_CAPACITY];
+        prev = new int[INITIAL_CAPACITY];
+
+        Arrays.fill(heads, NONE);
+        Arrays.fill(sizes, 0);
+    }
+
+    /// Id элементов в статусе status в порядке возрастания.
+    synchronized int[] getIds(Status status) {
+        int ordinal = status.ordinal();
+        int[] ids = new int[sizes[ordinal]];
+
+        int index = 0;
+        for (int id = heads[ordinal]; id != NONE; id = next[id]) ids[index++] = id;
+
+        Arrays.sort(ids);
+
+        return ids;
+    }
+
+    synchronized int size(Status status) {
+        return sizes[status.ordinal()];
+    }
+
+    private void link(int id, int ordinal) {
+        int head = heads[ordinal];
+
+        next[id] = head;
+        prev[id] = NONE;
+        if (head != NONE) prev[head] = id;
+
+        heads[ordinal] = id;
+        sizes[ordinal]++;
+    }
+
+    private void unlink(int id) {
+        int ordinal = statuses[id] - 1;
+
+        if (prev[id] != NONE) next[prev[id]] = next[id];
+        else heads[ordinal] = next[id];
+
+        if (next[id] != NONE) prev[next[id]] = prev[id];
+
+        sizes[ordinal]--;
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < statuses.length) return;
+
+        int capacity = Math.max(statuses.length * 2, id + 1);
+
+        statuses = Arrays.copyOf(statuses, capacity);
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,273 @@
+package tracker.services;
+
+import tracker.model.tasks.Task;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+
+//Поставил модификатор доступа по умолчанию.
+//Индекс используется только менеджером задач.
+
+/// Индекс интервалов выполнения задач (подзадач): приоритизированный по startTime список задач
+/// и проверка пересечений по времени выполнения.
+/// Интервалы упорядочены по началу выполнения (startTime). Вместе с началом в индексе хранится конец
+/// выполнения (endTime), зафиксированный в момент добавления, поэтому индекс остается корректным,
+/// даже если задача уже изменила свои поля, а индекс еще не обновлен.
+/// Начало и конец хранятся в компактном представлении задачи - секундах от эпохи (UTC): сравнение интервалов
+/// выполняется над примитивами, без Optional и вычисления конца выполнения при каждой проверке.
+/// Задача в индексе представлена своим id (id уникален среди всех типов), а не ссылкой на объект: индекс
+/// не удерживает объекты задач, а списки задач получает у менеджера по id (см. resolver). Это позволяет
+/// хранилищу менеджера держать задачи вне кучи и создавать объекты только при чтении (см. OffHeapTaskManager).
+///
+/// Менеджер добавляет в индекс только интервалы, прошедшие проверку на пересечение, поэтому интервалы
+/// индекса попарно не пересекаются (границы включительно). Отсюда следует, что при упорядочивании по началу
+/// концы интервалов тоже упорядочены и максимальный конец среди интервалов, начавшихся не позже момента t,
+/// равен концу ближайшего слева интервала (floor). Т.е. дерево по началу уже "дополнено" максимумом конца
+/// и проверка пересечения выполняется за O(log n + k), без копирования и перебора всех задач.
+///
+/// Дополнительно индекс ведет календарь занятости (с точностью до минуты): он позволяет быстро подтвердить,
+/// что интервал свободен, и найти ближайший свободный интервал нужной длительности.
+///
+/// Методы индекса синхронизированы (монитор - сам индекс). Менеджер задач использует тот же монитор, чтобы
+/// проверка пересечения и добавление интервала выполнялись атомарно.
+class TaskIntervalIndex {
+    private final TreeMap<Long, Interval> intervalsByStart = new TreeMap<>();
+
+    private final IntFunction<Task> resolver;   //задача менеджера по id
+
+    private final CalendarOccupancy occupancy = new CalendarOccupancy();
+
+    /// Интервал выполнения задачи, зафиксированный в индексе.
+    private static class Interval {
+        private final int id;
+        private final long end;
+
+        private Interval(int id, long end) {
+            this.id = id;
+            this.end = end;
+        }
+    }
+
+    TaskIntervalIndex(IntFunction<Task> resolver) {
+        this.resolver = resolver;
+    }
+
+    /// Добавляет интервал выполнения задачи по текущим значениям ее полей.
+    /// Задачи без начала выполнения в индекс не попадают.
+    synchronized boolean add(Task task) {
+        long start = task.getStartEpochSecond();
+        if (start == Task.NO_TIME) return false;
+
+        putInterval(start, new Interval(task.getId(), task.getEndEpochSecond()));
+
+        return true;
+    }
+
+    /// Удаляет интервал задачи, зарегистрированный с началом выполнения start.
+    /// Удаление выполняется, только если по этому ключу хранится именно эта задача (с тем же id).
+    synchronized boolean remove(Task task, LocalDateTime start) {
+        return removeInterval(task.getId(), toEpochSecond(start)) != null;
+    }
+
+    /// Удаляет интервалы всех задач, id которых удовлетворяют условию. Возвращает удаленные задачи
+    /// (объекты получены у менеджера до удаления).
+    synchronized List<Task> removeIf(IntPredicate filter) {
+        List<Task> removedTasks = new ArrayList<>();
+        int removed = 0;
+
+        Iterator<Interval> iterator = intervalsByStart.values().iterator();
+        while (iterator.hasNext()) {
+            int id = iterator.next().id;
+
+            if (!filter.test(id)) continue;
+
+            Task task = resolver.apply(id);
+            if (task != null) removedTasks.add(task);
+
+            iterator.remove();
+            removed++;
+        }
+
+        //Удаление массовое, поэтому календарь занятости строим заново по оставшимся интервалам.
+        if (removed > 0) {
+            occupancy.clear();
+
+            for (Map.Entry<Long, Interval> entry : intervalsByStart.entrySet())
+                occupancy.occupy(entry.getKey(), entry.getValue().end);
+        }
+
+        return removedTasks;
+    }
+
+    /// Проверка, что интервал задачи зарегистрирован в индексе.
+    synchronized boolean contains(Task task) {
+        long start = task.getStartEpochSecond();
+        if (start == Task.NO_TIME) return false;
+
+        Interval interval = intervalsByStart.get(start);
+
+        return (interval != null) && (interval.id == task.getId());
+    }
+
+    /// Перемещает интервал задачи после изменения ее начала и/или длительности выполнения (O(log n)).
+    /// oldStart - начало выполнения, с которым задача была зарегистрирована (старое значение из события изменения).
+    /// Если новый интервал пересекается с интервалами других задач, индекс откатывается: задача остается
+    /// зарегистрированной с прежним интервалом, метод возвращает false.
+    /// Задача без начала выполнения из индекса удаляется.
+    synchronized boolean relocate(Task task, LocalDateTime oldStart) {
+        int id = task.getId();
+        long oldKey = toEpochSecond(oldStart);
+        Interval oldInterval = removeInterval(id, oldKey);
+
+        long start = task.getStartEpochSecond();
+        long end = task.getEndEpochSecond();
+
+        if (start == Task.NO_TIME) return true;
+
+        if (isCross(start, end, task)) {
+            //Откат: возвращаем прежний интервал. Сроки задачи возвращает она сама (см. Task.fireScheduleChanged).
+            if (oldInterval != null) putInterval(oldKey, oldInterval);
+
+            return false;
+        }
+
+        putInterval(start, new Interval(id, end));
+
+        return true;
+    }
+
+    /// Проверка, что интервал задачи task пересекается с интервалами индекса (сама задача не учитывается).
+    /// Если startTime и/или endTime задачи равны null, то примем, что задача ни с чем не пересекается.
+    synchronized boolean isCross(Task task) {
+        long start = task.getStartEpochSecond();
+        if (start == Task.NO_TIME) return false;
+
+        return isCross(start, task.getEndEpochSecond(), task);
+    }
+
+    /// Проверка пересечения интервала [start, end] (границы включительно) с интервалами индекса.
+    /// Задача exclude при проверке не учитывается (может быть null).
+    synchronized boolean isCross(LocalDateTime start, LocalDateTime end, Task exclude) {
+        return isCross(toEpochSecond(start), toEpochSecond(end), exclude);
+    }
+
+    /// Проверка пересечения интервала [start, end] (секунды от эпохи, границы включительно) с интервалами индекса.
+    /// Задача exclude при проверке не учитывается (может быть null).
+    /// Задачи сравниваются по id: у еще не добавленной задачи id = 0, в индексе таких нет.
+    synchronized boolean isCross(long start, long end, Task exclude) {
+        //0. Все минуты интервала свободны - пересечений гарантированно нет.
+        if (occupancy.isFree(start, end)) return false;
+
+        int excludeId = (exclude == null) ? 0 : exclude.getId();
+
+        //1. Интервал, начавшийся не позже start: пересекается, если закончился не раньше start.
+        Map.Entry<Long, Interval> floor = intervalsByStart.floorEntry(start);
+        if ((floor != null) && (floor.getValue().id != excludeId) && (floor.getValue().end >= start))
+            return true;
+
+        //2. Любой интервал, начавшийся в (start, end], пересекается.
+        for (Interval interval : intervalsByStart.subMap(start, false, end, true).values()) {
+            if (interval.id != excludeId) return true;
+        }
+
+        return false;
+    }
+
+    /// Начало ближайшего свободного интервала длительностью durationMinutes, начинающегося не раньше after.
+    /// Поиск выполняется по календарю занятости, начало выравнивается на границу минуты.
+    synchronized LocalDateTime findFreeSlot(long durationMinutes, LocalDateTime after) {
+        return occupancy.findFreeSlot(durationMinutes, after);
+    }
+
+    /// Задачи индекса в порядке начала выполнения.
+    synchronized List<Task> getTasks() {
+        List<Task> tasks = new ArrayList<>(intervalsByStart.size());
+
+        for (Interval interval : intervalsByStart.values()) addResolved(tasks, interval.id);
+
+        return tasks;
+    }
+
+    /// Задачи индекса с началом выполнения в интервале [from, to) в порядке начала выполнения.
+    /// Выборка выполняется по представлению (sub-view) дерева, поэтому стоимость пропорциональна размеру окна.
+    /// Значение null в from или to означает отсутствие ограничения; limit <= 0 - без ограничения количества.
+    synchronized List<Task> getTasks(LocalDateTime from, LocalDateTime to, int limit) {
+        if ((from != null) && (to != null) && from.isAfter(to)) return new ArrayList<>();
+
+        //Границы с долями секунды округляем вверх: начало задачи в индексе хранится в целых секундах.
+        NavigableMap<Long, Interval> window = intervalsByStart;
+        if (from != null) window = window.tailMap(toEpochSecondCeil(from), true);
+        if (to != null) window = window.headMap(toEpochSecondCeil(to), false);
+
+        List<Task> tasks = new ArrayList<>();
+        for (Interval interval : window.values()) {
+            if ((limit > 0) && (tasks.size() == limit)) break;
+
+            addResolved(tasks, interval.id);
+        }
+
+        return tasks;
+    }
+
+    private void addResolved(List<Task> tasks, int id) {
+        Task task = resolver.apply(id);
+
+        if (task != null) tasks.add(task);
+    }
+
+    private void putInterval(long start, Interval interval) {
+        intervalsByStart.put(start, interval);
+
+        occupancy.occupy(start, interval.end);
+    }
+
+    private Interval removeInterval(int id, long start) {
+        if (start == Task.NO_TIME) return null;
+
+        Interval interval = intervalsByStart.get(start);
+        if ((interval == null) || (interval.id != id)) return null;
+
+        intervalsByStart.remove(start);
+
+        releaseOccupancy(start, interval.end);
+
+        return interval;
+    }
+
+    /// Освобождает минуты удаленного интервала в календаре занятости и повторно отмечает минуты
+    /// соседних интервалов, которые могли делить с ним граничные минуты.
+    private void releaseOccupancy(long start, long end) {
+        occupancy.release(start, end);
+
+        long firstMinute = CalendarOccupancy.minuteOf(start) * 60;  //первая секунда первой освобожденной минуты
+        long lastMinute = (CalendarOccupancy.minuteOf(end) + 1) * 60 - 1;   //последняя секунда последней минуты
+
+        //Отмечаем только пересечение соседнего интервала с освобожденными минутами.
+        Map.Entry<Long, Interval> floor = intervalsByStart.floorEntry(firstMinute);
+        if ((floor != null) && (floor.getValue().end >= firstMinute))
+            occupancy.occupy(firstMinute, Math.min(floor.getValue().end, lastMinute));
+
+        for (Map.Entry<Long, Interval> entry :
+                intervalsByStart.subMap(firstMinute, false, lastMinute, true).entrySet()) {
+            occupancy.occupy(entry.getKey(), Math.min(entry.getValue().end, lastMinute));
+        }
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return (dateTime == null) ? Task.NO_TIME : dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static long toEpochSecondCeil(LocalDateTime dateTime) {
+        long epochSecond = dateTime.toEpochSecond(ZoneOffset.UTC);
+
+        return (dateTime.getNano() > 0) ? epochSecond + 1 : epochSecond;
+    }
+}
\ No newline at end of file
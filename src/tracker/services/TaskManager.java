@@ -1,9 +1,12 @@
 package tracker.services;
 
+import tracker.model.enums.Status;
 import tracker.model.tasks.Epic;
 import tracker.model.tasks.Subtask;
 import tracker.model.tasks.Task;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,11 +14,34 @@ public interface TaskManager {
     /* Методы для каждого из типа задач(Задача/Эпик/Подзадача): */
 
     //region a. Получение списка всех задач.
+    //Списки возвращаются неизменяемыми снимками: между изменениями повторные вызовы возвращают тот же объект списка.
     List<Task> getTasks();
 
     List<Subtask> getSubtasks();
 
     List<Epic> getEpics();
+
+    /// Списки с учетом архива: includeArchived = true - вместе с выполненными задачами (подзадачами, эпиками),
+    /// перенесенными в архив (см. TieringPolicy). Списки с архивом не кэшируются.
+    List<Task> getTasks(boolean includeArchived);
+
+    List<Subtask> getSubtasks(boolean includeArchived);
+
+    List<Epic> getEpics(boolean includeArchived);
+
+    /// Постраничное чтение списков (курсор - id): не более limit элементов с id больше afterId в порядке id
+    /// (limit <= 0 - без ограничения). В отличие от getTasks копируется только страница, а не весь список.
+    List<Task> getTasksPage(int afterId, int limit);
+
+    List<Subtask> getSubtasksPage(int afterId, int limit);
+
+    List<Epic> getEpicsPage(int afterId, int limit);
+
+    /// Задачи (подзадачи) в статусе status в порядке id. Выборка выполняется по индексу статусов, который менеджер
+    /// ведет при добавлении, обновлении и удалении: стоимость зависит от размера результата, а не от количества задач.
+    List<Task> getTasksByStatus(Status status);
+
+    List<Subtask> getSubtasksByStatus(Status status);
     //endregion
 
     //region b. Удаление всех задач.
@@ -40,11 +66,23 @@ public interface TaskManager {
     int addSubtask(Subtask subtask);
 
     int addEpic(Epic epic);
+
+    /// Пакетное добавление задач, подзадач и эпиков (в порядке коллекции).
+    /// Пересечения по времени выполнения проверяются для всего пакета сразу: если проверку не прошли какие-либо
+    /// элементы пакета, то ни один элемент не добавляется, а исключение содержит все такие элементы.
+    List<Integer> addTasks(Collection<? extends Task> batch);
+
+    /// Автоматическое планирование: задача (подзадача) размещается в ближайшем свободном интервале,
+    /// начинающемся не раньше notBefore, и добавляется в менеджер. Возвращает id задачи.
+    int scheduleTask(Task task, LocalDateTime notBefore);
     //endregion
 
     //region e. Обновление. Новая версия объекта с верным идентификатором передаётся в виде параметра.
+    /// Если сроки новой версии пересекаются по времени выполнения с другими задачами, то выбрасывается
+    /// CrossTimeExecution, хранимая версия не меняется.
     boolean updateTask(Task task);
 
+    /// См. updateTask.
     boolean updateSubtask(Subtask subtask);
 
     boolean updateEpic(Epic epic);
@@ -65,6 +103,32 @@ public interface TaskManager {
 
     HistoryManager getHistoryManager();
 
+    /// Полнотекстовый поиск по имени и описанию задач, подзадач и эпиков (слова запроса ищутся по началу слов).
+    /// Результат - элементы, содержащие все слова запроса, в порядке убывания ранга: страница начиная
+    /// с позиции offset, не более limit элементов (limit <= 0 - без ограничения).
+    List<Task> searchTasks(String query, int offset, int limit);
+
     List<Task> getPrioritizedTasks();
+
+    /// Окно приоритизированного списка: задачи (подзадачи) с началом выполнения в интервале [from, to).
+    /// Значение null в from или to означает отсутствие ограничения; limit <= 0 - без ограничения количества.
+    List<Task> getPrioritizedTasks(LocalDateTime from, LocalDateTime to, int limit);
+
+    /// Проверка, что интервал [startTime, startTime + durationMinutes] не пересекается с задачами (подзадачами).
+    /// Продолжительность вне [0, Task.MAX_DURATION_MINUTES] - IllegalArgumentException (и в findFreeSlot).
+    boolean isTimeSlotFree(LocalDateTime startTime, long durationMinutes);
+
+    /// Начало ближайшего свободного интервала длительностью durationMinutes, начинающегося не раньше after
+    /// (с точностью до минуты).
+    LocalDateTime findFreeSlot(long durationMinutes, LocalDateTime after);
+    //endregion
+
+    //region Мониторинг снимков списков.
+
+    /// Количество чтений списков (getTasks, getSubtasks, getEpics, getPrioritizedTasks) из готового снимка.
+    long getSnapshotHits();
+
+    /// Количество перестроений снимков списков после изменений.
+    long getSnapshotRebuilds();
     //endregion
 }
\ No newline at end of file
@@ -0,0 +1,212 @@
+package tracker.services;
+
+import tracker.model.tasks.Epic;
+import tracker.model.tasks.Subtask;
+import tracker.model.tasks.Task;
+import tracker.services.enums.TypeTask;
+import tracker.services.exceptions.ManagerSaveException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//Поставил модификатор доступа по умолчанию.
+//Хранилище используется только менеджером задач.
+
+/// Хранилище задач, подзадач и эпиков: растущий массив, индексированный id, с признаком типа элемента.
+/// Id выдаются одним счетчиком менеджера подряд, поэтому массив заполнен плотно, а id уникален среди всех типов.
+/// В отличие от HashMap<Integer, ...> поиск по id не упаковывает ключ и выполняется одним обращением к массиву,
+/// а элемент хранилища - это ссылка в массиве и байт типа (без Node и Integer на каждую запись).
+///
+/// Оценка памяти структуры хранения на 1 000 000 задач (без самих задач) не измерялась, а рассчитана по размерам
+/// объектов 64-bit JVM со сжатыми ссылками:
+///  - HashMap<Integer, Task>: таблица 2^21 ссылок + Node по 32 байта + Integer по 16 байт на каждую запись;
+///  - TaskStorage: массив ссылок (4 байта на id) + массив типов (1 байт на id) с запасом емкости роста,
+///    один на все типы сразу.
+/// Массивы растут до наибольшего id, поэтому id ограничен MAX_ID (массивы не более 80 МБ): элемент с большим id
+/// (например, из поврежденного файла задач) не сохраняется, выбрасывается ManagerSaveException.
+/// Доступ к элементам определенного типа выполняется через представление (View) с интерфейсом, близким к Map.
+/// Методы хранилища синхронизированы: подзадачи разных эпиков могут изменяться параллельно (см. ConcurrentTaskManager).
+/// Хранение самого элемента в слоте вынесено в методы loadItem/storeItem/releaseItem: наследник может хранить
+/// элементы вне кучи (см. OffHeapTaskStorage), признак типа и счетчики при этом ведет базовый класс.
+class TaskStorage {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final byte EMPTY = 0;    //слот свободен
+
+    /// Наибольший допустимый id элемента хранилища.
+    static final int MAX_ID = (1 << 24) - 1;
+
+    private Task[] items = new Task[INITIAL_CAPACITY];  //индекс массива - id элемента
+    private byte[] types = new byte[INITIAL_CAPACITY];  //тип элемента: TypeTask.ordinal() + 1, EMPTY - слот свободен
+    private final int[] sizes = new int[TypeTask.values().length];  //количество элементов каждого типа
+
+    private int maxId = 0;  //граница просмотра массива: слоты с большим id свободны
+
+    /// Представление элементов хранилища одного типа.
+    class View<T extends Task> {
+        private final Class<T> type;
+        private final byte tag;
+
+        private View(TypeTask typeTask, Class<T> type) {
+            this.type = type;
+            this.tag = tagOf(typeTask);
+        }
+
+        boolean containsKey(int id) {
+            return contains(id, tag);
+        }
+
+        T get(int id) {
+            return type.cast(TaskStorage.this.get(id, tag));
+        }
+
+        void put(int id, T item) {
+            TaskStorage.this.put(id, tag, item);
+        }
+
+        T remove(int id) {
+            return type.cast(TaskStorage.this.remove(id, tag));
+        }
+
+        void clear() {
+            TaskStorage.this.clear(tag);
+        }
+
+        int size() {
+            return TaskStorage.this.size(tag);
+        }
+
+        /// Новый список элементов в порядке возрастания id.
+        List<T> values() {
+            return TaskStorage.this.values(tag, type);
+        }
+
+        /// Страница элементов в порядке возрастания id: не более limit элементов с id больше afterId
+        /// (limit <= 0 - без ограничения). Просматриваются только слоты после afterId до заполнения страницы.
+        List<T> page(int afterId, int limit) {
+            return TaskStorage.this.page(tag, type, afterId, limit);
+        }
+    }
+
+    View<Task> tasks() {
+        return new View<>(TypeTask.TASK, Task.class);
+    }
+
+    View<Subtask> subtasks() {
+        return new View<>(TypeTask.SUBTASK, Subtask.class);
+    }
+
+    View<Epic> epics() {
+        return new View<>(TypeTask.EPIC, Epic.class);
+    }
+
+    //region Доступ к элементам по признаку типа. Методы синхронизированы: хранилище общее для всех потоков менеджера.
+    synchronized boolean contains(int id, byte tag) {
+        return (id > 0) && (id <= maxId) && (types[id] == tag);
+    }
+
+    private synchronized Task get(int id, byte tag) {
+        if (!contains(id, tag)) return null;
+
+        return loadItem(id, tag);
+    }
+
+    private synchronized void put(int id, byte tag, Task item) {
+        if (id <= 0) throw new IllegalArgumentException("Id элемента хранилища должен быть больше нуля.");
+        if (id > MAX_ID) throw new ManagerSaveException(String.format("Id элемента хранилища %d превышает " +
+                "допустимое значение %d.", id, MAX_ID));
+
+        ensureCapacity(id);
+
+        if (types[id] != tag) {
+            if (types[id] != EMPTY) sizes[types[id] - 1]--;   //id уникален среди всех типов: слот занимаем
+            sizes[tag - 1]++;
+        }
+
+        if ((types[id] != tag) && (types[id] != EMPTY)) releaseItem(id, types[id]);
+
+        storeItem(id, tag, item);
+        types[id] = tag;
+
+        if (id > maxId) maxId = id;
+    }
+
+    private synchronized Task remove(int id, byte tag) {
+        if (!contains(id, tag)) return null;
+
+        Task item = loadItem(id, tag);
+
+        releaseItem(id, tag);
+        types[id] = EMPTY;
+        sizes[tag - 1]--;
+
+        return item;
+    }
+
+    private synchronized void clear(byte tag) {
+        for (int id = 1; (id <= maxId) && (sizes[tag - 1] > 0); id++) {
+            if (types[id] != tag) continue;
+
+            releaseItem(id, tag);
+            types[id] = EMPTY;
+            sizes[tag - 1]--;
+        }
+    }
+
+    private synchronized int size(byte tag) {
+        return sizes[tag - 1];
+    }
+
+    private synchronized <T extends Task> List<T> values(byte tag, Class<T> type) {
+        int size = sizes[tag - 1];
+        List<T> values = new ArrayList<>(size);
+
+        for (int id = 1; (id <= maxId) && (values.size() < size); id++) {
+            if (types[id] == tag) values.add(type.cast(loadItem(id, tag)));
+        }
+
+        return values;
+    }
+
+    private synchronized <T extends Task> List<T> page(byte tag, Class<T> type, int afterId, int limit) {
+        List<T> values = new ArrayList<>((limit > 0) ? Math.min(limit, sizes[tag - 1]) : sizes[tag - 1]);
+
+        for (int id = Math.max(afterId, 0) + 1; (id <= maxId) && ((limit <= 0) || (values.size() < limit)); id++) {
+            if (types[id] == tag) values.add(type.cast(loadItem(id, tag)));
+        }
+
+        return values;
+    }
+    //endregion
+
+    //region Хранение элемента в слоте. Вызываются под монитором хранилища, признак типа слота уже проверен.
+
+    /// Элемент слота id.
+    Task loadItem(int id, byte tag) {
+        return items[id];
+    }
+
+    /// Размещение элемента в слоте id (емкость массивов уже обеспечена).
+    void storeItem(int id, byte tag, Task item) {
+        items[id] = item;
+    }
+
+    /// Освобождение слота id.
+    void releaseItem(int id, byte tag) {
+        items[id] = null;
+    }
+    //endregion
+
+    static byte tagOf(TypeTask typeTask) {
+        return (byte) (typeTask.ordinal() + 1);
+    }
+
+    private void ensureCapacity(int id) {
+        if (id < items.length) return;
+
+        int capacity = Math.min(Math.max(items.length * 2, id + 1), MAX_ID + 1);
+
+        items = Arrays.copyOf(items, capacity);
+        types = Arrays.copyOf(types, capacity);
+    }
+}
\ No newline at end of file
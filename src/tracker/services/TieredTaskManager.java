@@ -0,0 +1,349 @@
+package tracker.services;
+
+import tracker.model.enums.Status;
+import tracker.model.tasks.Epic;
+import tracker.model.tasks.Subtask;
+import tracker.model.tasks.Task;
+import tracker.services.enums.TypeTask;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+//Поставил модификатор доступа по умолчанию.
+//Создавать объекты класса TieredTaskManager только в Managers.
+
+/// Менеджер задач с архивом: выполненные задачи и эпики (вместе с подзадачами) по политике TieringPolicy
+/// переносятся из памяти в архив на диске (ColdTaskStore).
+///  - Политика применяется после каждого изменения задач менеджера (добавление, обновление, удаление)
+///    и при получении задачи по id: выполненные задачи уходят в архив по возрасту и без изменений менеджера.
+///  - Получение по id читает задачу из архива, не возвращая ее в память (объект создается заново при каждом чтении).
+///  - Обновление по id возвращает задачу из архива в память, удаление по id удаляет ее и из архива.
+///  - Обычные списки содержат только задачи в памяти, списки с архивом - см. getTasks(boolean includeArchived).
+///  - Интервалы выполнения архивных задач остаются в индексе: новые задачи не могут занять их время,
+///    но в приоритизированный список архивные задачи не попадают.
+/// Операции над подзадачами меняют архив, поэтому обертка ConcurrentTaskManager выполняет их под блокировкой записи.
+class TieredTaskManager extends InMemoryTaskManager {
+    private final TieringPolicy policy;
+    private final ColdTaskStore coldStore;
+
+    //Выполненные задачи и эпики в памяти - момент выполнения (System.nanoTime()), в порядке выполнения.
+    private final Map<Integer, Long> doneSince = new LinkedHashMap<>();
+
+    TieredTaskManager(HistoryManager historyManager, TieringPolicy policy, Path coldFile) {
+        super(historyManager);
+
+        this.policy = policy;
+        this.coldStore = new ColdTaskStore(coldFile);
+    }
+
+    //region Списки с учетом архива.
+    @Override
+    public List<Task> getTasks(boolean includeArchived) {
+        if (!includeArchived) return getTasks();
+
+        return withArchived(getTasks(), Task.class);
+    }
+
+    @Override
+    public List<Subtask> getSubtasks(boolean includeArchived) {
+        if (!includeArchived) return getSubtasks();
+
+        return withArchived(getSubtasks(), Subtask.class);
+    }
+
+    @Override
+    public List<Epic> getEpics(boolean includeArchived) {
+        if (!includeArchived) return getEpics();
+
+        return withArchived(getEpics(), Epic.class);
+    }
+    //endregion
+
+    //region Удаление всех задач: архивные задачи удаляются вместе с остальными.
+    @Override
+    public void delAllTasks() {
+        thawAll(Task.class);
+
+        super.delAllTasks();
+
+        untrackRemoved();
+    }
+
+    @Override
+    public void delAllSubtasks() {
+        thawAll(Subtask.class);
+
+        super.delAllSubtasks();
+
+        getEpics().forEach(this::track);    //эпики без подзадач
+        applyPolicy();
+    }
+
+    @Override
+    public void delAllEpics() {
+        thawAll(Epic.class);
+
+        super.delAllEpics();
+
+        untrackRemoved();
+    }
+    //endregion
+
+    //region Получение по идентификатору: задача читается из архива и остается в нем.
+    //Политика проверяется и при чтении: учет упорядочен по моменту выполнения, поэтому проверка обычно
+    //ограничивается первой записью.
+    @Override
+    public Optional<Task> getTaskByID(int id) {
+        applyPolicy();
+
+        Optional<Task> archived = viewArchived(id, Task.class);
+
+        return archived.isPresent() ? archived : super.getTaskByID(id);
+    }
+
+    @Override
+    public Optional<Subtask> getSubtaskByID(int id) {
+        applyPolicy();
+
+        Optional<Subtask> archived = viewArchived(id, Subtask.class);
+
+        return archived.isPresent() ? archived : super.getSubtaskByID(id);
+    }
+
+    @Override
+    public Optional<Epic> getEpicByID(int id) {
+        applyPolicy();
+
+        Optional<Epic> archived = viewArchived(id, Epic.class);
+
+        return archived.isPresent() ? archived : super.getEpicByID(id);
+    }
+    //endregion
+
+    //region Создание.
+    @Override
+    public int addTask(Task task) {
+        int id = super.addTask(task);
+
+        track(task);
+        applyPolicy();
+
+        return id;
+    }
+
+    @Override
+    public int addSubtask(Subtask subtask) {
+        thaw(subtask.getEpic());
+
+        int id = super.addSubtask(subtask);
+
+        track(subtask.getEpic());   //эпик открыт повторно
+        applyPolicy();
+
+        return id;
+    }
+
+    @Override
+    public List<Integer> addTasks(Collection<? extends Task> batch) {
+        for (Task task : batch) {
+            if (task instanceof Subtask) thaw(((Subtask) task).getEpic());
+        }
+
+        List<Integer> ids = super.addTasks(batch);
+
+        for (Task task : batch) track((task instanceof Subtask) ? ((Subtask) task).getEpic() : task);
+        applyPolicy();
+
+        return ids;
+    }
+    //endregion
+
+    //region Обновление: задача возвращается из архива и заменяется новой версией.
+    @Override
+    public boolean updateTask(Task task) {
+        thaw(task.getId());
+
+        boolean updated = super.updateTask(task);
+
+        if (updated) {
+            track(task);
+            applyPolicy();
+        }
+
+        return updated;
+    }
+
+    @Override
+    public boolean updateSubtask(Subtask subtask) {
+        thaw(subtask.getEpic());
+        thaw(subtask.getId());
+
+        boolean updated = super.updateSubtask(subtask);
+
+        if (updated) {
+            track(subtask.getEpic());
+            applyPolicy();
+        }
+
+        return updated;
+    }
+
+    @Override
+    public boolean updateEpic(Epic epic) {
+        thaw(epic);
+
+        boolean updated = super.updateEpic(epic);
+
+        if (updated) {
+            track(epic);
+            applyPolicy();
+        }
+
+        return updated;
+    }
+    //endregion
+
+    //region Удаление по идентификатору: задача удаляется и из архива.
+    //Архивная задача (эпик) в память не возвращается: группа извлекается из архива, ее интервалы и просмотры удаляются.
+    @Override
+    public Task delTaskByID(int id) {
+        if (coldStore.getHeadType(id) == TypeTask.TASK) return dropArchived(id);
+
+        doneSince.remove(id);
+
+        return super.delTaskByID(id);
+    }
+
+    @Override
+    public Subtask delSubtaskByID(int id) {
+        thaw(id);
+
+        Subtask subtask = super.delSubtaskByID(id);
+
+        if (subtask != null) {
+            track(subtask.getEpic());   //эпик мог стать выполненным
+            applyPolicy();
+        }
+
+        return subtask;
+    }
+
+    @Override
+    public Optional<Epic> delEpicByID(int id) {
+        if (coldStore.getHeadType(id) == TypeTask.EPIC) return Optional.of((Epic) dropArchived(id));
+
+        doneSince.remove(id);
+
+        return super.delEpicByID(id);
+    }
+    //endregion
+
+    @Override
+    boolean isEpicStripingSafe() {
+        return false;
+    }
+
+    //region Служебные методы архива.
+
+    /// Учет выполненной задачи (эпика) в памяти: выполненные отмечаются моментом выполнения, остальные снимаются с учета.
+    /// Подзадачи переносятся в архив только со своим эпиком, поэтому не учитываются.
+    private void track(Task task) {
+        if ((task == null) || (task instanceof Subtask)) return;
+
+        int id = task.getId();
+
+        boolean hotDone = (task.getStatus() == Status.DONE) && (getStoredTask(id) == task);
+
+        if (hotDone) doneSince.putIfAbsent(id, System.nanoTime());
+        else doneSince.remove(id);
+    }
+
+    private void untrackRemoved() {
+        doneSince.keySet().removeIf(id -> getStoredTask(id) == null);
+    }
+
+    /// Перенос в архив выполненных задач (эпиков) сверх лимита политики и выполненных слишком давно.
+    /// Учет упорядочен по моменту выполнения, поэтому проверка идет от выполненных раньше всех.
+    private void applyPolicy() {
+        long now = System.nanoTime();
+
+        Iterator<Map.Entry<Integer, Long>> iterator = doneSince.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Integer, Long> entry = iterator.next();
+
+            if ((doneSince.size() <= policy.getMaxHotDone()) && !policy.isExpired(now - entry.getValue())) break;
+
+            Task task = getStoredTask(entry.getKey());
+            iterator.remove();
+
+            if (task == null) continue;
+
+            coldStore.put(task);
+            detachTask(task);
+        }
+    }
+
+    /// Возвращает из архива в память группу, в которую входит id (задачу или эпик с подзадачами).
+    private void thaw(int id) {
+        Task task = coldStore.take(id);
+        if (task == null) return;
+
+        attachTask(task);
+        track(task);    //выполненная задача снова в памяти: в архив вернется по политике
+    }
+
+    /// Читает из архива задачу (подзадачу, эпик) id типа type без возврата в память и отмечает ее просмотр.
+    private <T extends Task> Optional<T> viewArchived(int id, Class<T> type) {
+        Task task = coldStore.get(id);
+        if ((task == null) || !task.getClass().equals(type)) return Optional.empty();
+
+        viewDetachedTask(task);
+
+        return Optional.of(type.cast(task));
+    }
+
+    /// Удаляет из архива задачу (эпик с подзадачами) без возврата в память, возвращает удаленную задачу.
+    private Task dropArchived(int id) {
+        Task task = coldStore.take(id);
+        dropDetachedTask(task);
+
+        return task;
+    }
+
+    /// Возвращает в память архивный эпик в виде переданного объекта (например, эпика добавляемой подзадачи):
+    /// объект уже содержит подзадачи эпика, поэтому архив не читается.
+    private void thaw(Epic epic) {
+        if ((epic == null) || (getStoredTask(epic.getId()) != null) || !coldStore.contains(epic.getId())) return;
+
+        coldStore.remove(epic.getId());
+        attachTask(epic);
+        track(epic);
+    }
+
+    private void thawAll(Class<? extends Task> type) {
+        for (Task task : coldStore.readAll()) {
+            if (task.getClass().equals(type)) thaw(task.getId());
+        }
+    }
+
+    private <T extends Task> List<T> withArchived(List<T> hot, Class<T> type) {
+        List<T> result = new ArrayList<>(hot);
+
+        for (Task task : coldStore.readAll()) {
+            if (task.getClass().equals(type)) result.add(type.cast(task));
+        }
+
+        result.sort(Comparator.comparingInt(Task::getId));
+
+        return Collections.unmodifiableList(result);
+    }
+    //endregion
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package tracker.services;
+
+import java.time.Duration;
+
+/// Политика переноса выполненных задач в архив (см. TieredTaskManager).
+/// Выполненные задачи и эпики (статус DONE) остаются в памяти, пока их не больше maxHotDone
+/// и каждая из них выполнена менее doneAge назад. Остальные, начиная с выполненных раньше всех,
+/// переносятся в архив на диске. Подзадачи переносятся только вместе со своим эпиком.
+public class TieringPolicy {
+    private final int maxHotDone;   //сколько выполненных задач (эпиков) держать в памяти
+    private final Duration doneAge; //через какое время после выполнения задача переносится в архив, null - не переносится
+
+    public TieringPolicy(int maxHotDone, Duration doneAge) {
+        if (maxHotDone < 0) throw new IllegalArgumentException("Количество задач в памяти не может быть отрицательным.");
+        if ((doneAge != null) && doneAge.isNegative())
+            throw new IllegalArgumentException("Время до переноса в архив не может быть отрицательным.");
+
+        this.maxHotDone = maxHotDone;
+        this.doneAge = doneAge;
+    }
+
+    /// В памяти остается не больше maxHotDone выполненных задач (эпиков), по возрасту не переносятся.
+    public static TieringPolicy byCount(int maxHotDone) {
+        return new TieringPolicy(maxHotDone, null);
+    }
+
+    /// Выполненные задачи (эпики) переносятся в архив через doneAge после выполнения.
+    public static TieringPolicy byAge(Duration doneAge) {
+        return new TieringPolicy(Integer.MAX_VALUE, doneAge);
+    }
+
+    public int getMaxHotDone() {
+        return maxHotDone;
+    }
+
+    public Duration getDoneAge() {
+        return doneAge;
+    }
+
+    /// Проверка, что задача, выполненная doneNanos наносекунд назад, должна быть перенесена в архив по возрасту.
+    boolean isExpired(long doneNanos) {
+        return (doneAge != null) && (doneNanos >= doneAge.toNanos());
+    }
+}
\ No newline at end of file
@@ -1,7 +1,25 @@
 package tracker.services.exceptions;
 
+import tracker.model.tasks.Task;
+
+import java.util.List;
+
 public class CrossTimeExecution extends RuntimeException {
+    //Задачи, не прошедшие проверку (при пакетном добавлении). Задачи не сериализуются (Task не Serializable),
+    //поэтому у исключения, восстановленного из сериализованного вида, список пуст.
+    private final transient List<Task> conflictingTasks;
+
     public CrossTimeExecution(String message) {
+        this(message, List.of());
+    }
+
+    public CrossTimeExecution(String message, List<Task> conflictingTasks) {
         super(message);
+
+        this.conflictingTasks = List.copyOf(conflictingTasks);
+    }
+
+    public List<Task> getConflictingTasks() {
+        return (conflictingTasks != null) ? conflictingTasks : List.of();
     }
 }
\ No newline at end of file
@@ -1,27 +1,57 @@
 package tracker.webapi;
 
 import com.sun.net.httpserver.HttpServer;
+import tracker.services.HistorySessions;
+import tracker.services.Managers;
 import tracker.services.TaskManager;
 import tracker.webapi.enums.BasePaths;
+import tracker.webapi.enums.ExecutionModes;
 import tracker.webapi.handlers.*;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class HttpTaskServer {
     /**
-     * Настройки работы HTTP-сервера.
+     * Настройки работы HTTP-сервера по умолчанию.
      * При необходимости можно реализовать конфигурационный файл и получать их при запуске программы.
-     * - PORT - прослушиваемый порт
+     * - DEFAULT_PORT - прослушиваемый порт
+     * - DEFAULT_BACKLOG - глубина очереди запросов (0 - берем из настроек ОС)
+     * - DEFAULT_EXECUTION_MODE - режим обработки запросов: по умолчанию запросы обрабатываются в одном потоке
+     *   и менеджер задач не оборачивается, многопоточные режимы включаются явно (см. Main)
      */
-    private static final int PORT = 8080;
+    public static final int DEFAULT_PORT = 8080;
+    public static final int DEFAULT_BACKLOG = 0;
+    public static final ExecutionModes DEFAULT_EXECUTION_MODE = ExecutionModes.DISPATCHER;
 
     private final TaskManager taskManager;
+    private final HistorySessions historySessions = Managers.getHistorySessions();   //истории просмотров клиентов
+
+    private final int port;
+    private final int backlog;
+    private final ExecutionModes executionMode;
 
     private HttpServer httpServer;
+    private ExecutorService executor;
 
     public HttpTaskServer(TaskManager taskManager) {
-        this.taskManager = taskManager;
+        this(taskManager, DEFAULT_PORT, DEFAULT_BACKLOG, DEFAULT_EXECUTION_MODE);
+    }
+
+    /**
+     * При многопоточной обработке запросов обработчики работают с менеджером задач через потокобезопасную обертку,
+     * поэтому параллельные запросы не нарушают его состояние.
+     */
+    public HttpTaskServer(TaskManager taskManager, int port, int backlog, ExecutionModes executionMode) {
+        if ((port < 0) || (port > 65_535)) throw new IllegalArgumentException("Не корректный номер порта: " + port);
+        if (backlog < 0) throw new IllegalArgumentException("Не корректная глубина очереди запросов: " + backlog);
+
+        this.taskManager = executionMode.isMultiThreaded() ? Managers.getConcurrent(taskManager) : taskManager;
+        this.port = port;
+        this.backlog = backlog;
+        this.executionMode = executionMode;
     }
 
     /**
@@ -29,23 +59,72 @@ public class HttpTaskServer {
      */
     public void runWebServices() throws IOException {
         httpServer = HttpServer.create();
-        InetSocketAddress inetSocketAddress = new InetSocketAddress(PORT);  //используем все доступные на ПК сети и принимаем запросы на указанный порт
-        httpServer.bind(inetSocketAddress, 0);  //глубину очереди запросов берем из настроек ОС
+        InetSocketAddress inetSocketAddress = new InetSocketAddress(port);  //используем все доступные на ПК сети и принимаем запросы на указанный порт
+        httpServer.bind(inetSocketAddress, backlog);
 
         //Связываем базовые пути с их обработчиками.
-        httpServer.createContext(BasePaths.TASKS.toString(), new HttpHandlerTasks(taskManager));
-        httpServer.createContext(BasePaths.SUBTASKS.toString(), new HttpHandlerSubtasks(taskManager));
-        httpServer.createContext(BasePaths.EPICS.toString(), new HttpHandlerEpics(taskManager));
-        httpServer.createContext(BasePaths.HISTORY.toString(), new HttpHandlerHistory(taskManager));
+        httpServer.createContext(BasePaths.TASKS.toString(), new HttpHandlerTasks(taskManager, historySessions));
+        httpServer.createContext(BasePaths.SUBTASKS.toString(), new HttpHandlerSubtasks(taskManager, historySessions));
+        httpServer.createContext(BasePaths.EPICS.toString(), new HttpHandlerEpics(taskManager, historySessions));
+        httpServer.createContext(BasePaths.HISTORY.toString(), new HttpHandlerHistory(taskManager, historySessions));
         httpServer.createContext(BasePaths.PRIORITIZED.toString(), new HttpHandlerPrioritized(taskManager));
+        httpServer.createContext(BasePaths.SLOTS.toString(), new HttpHandlerSlots(taskManager));
+        httpServer.createContext(BasePaths.SEARCH.toString(), new HttpHandlerSearch(taskManager));
+
+        executor = createExecutor();
+        httpServer.setExecutor(executor);   //null - запросы обрабатываются в потоке диспетчера
 
         httpServer.start();
     }
 
     /**
      * Останавливаем веб-сервер для приема и обработки HTTP-запросов.
+     * Закрываем историю просмотров менеджера задач: останавливается поток асинхронной записи истории (если он есть),
+     * после остановки просмотры записываются в историю сразу.
      */
     public void stopWebServices() throws IOException {
         if (httpServer != null) httpServer.stop(0);
+
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+
+        taskManager.getHistoryManager().close();
+    }
+
+    /**
+     * Порт, на котором веб-сервер принимает запросы (при настройке порта 0 порт выбирает ОС).
+     */
+    public int getPort() {
+        if (httpServer == null) return port;
+
+        return httpServer.getAddress().getPort();
+    }
+
+    public ExecutionModes getExecutionMode() {
+        return executionMode;
+    }
+
+    /**
+     * Менеджер задач, с которым работают обработчики запросов.
+     */
+    public TaskManager getTaskManager() {
+        return taskManager;
+    }
+
+    /**
+     * Истории просмотров сессий клиентов (заголовок X-Session-Id).
+     */
+    public HistorySessions getHistorySessions() {
+        return historySessions;
+    }
+
+    private ExecutorService createExecutor() {
+        return switch (executionMode) {
+            case DISPATCHER -> null;
+            case FIXED_POOL -> Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+            case VIRTUAL_THREADS -> Executors.newVirtualThreadPerTaskExecutor();
+        };
     }
 }
\ No newline at end of file
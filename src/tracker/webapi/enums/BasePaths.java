@@ -8,7 +8,9 @@ public enum BasePaths {
     SUBTASKS,
     EPICS,
     HISTORY,
-    PRIORITIZED;
+    PRIORITIZED,
+    SLOTS,
+    SEARCH;
 
     @Override
     public String toString() {
@@ -28,6 +30,12 @@ public enum BasePaths {
             case PRIORITIZED -> {
                 return "/prioritized";
             }
+            case SLOTS -> {
+                return "/slots";
+            }
+            case SEARCH -> {
+                return "/search";
+            }
             default -> {
                 return null;
             }
@@ -0,0 +1,20 @@
+package tracker.webapi.enums;
+
+/**
+ * Перечисление режимов обработки HTTP-запросов веб-сервером.
+ * - DISPATCHER - все запросы обрабатываются в потоке диспетчера HTTP-сервера по очереди
+ * - FIXED_POOL - пул потоков по количеству ядер процессора
+ * - VIRTUAL_THREADS - каждый запрос обрабатывается в отдельном виртуальном потоке
+ */
+public enum ExecutionModes {
+    DISPATCHER,
+    FIXED_POOL,
+    VIRTUAL_THREADS;
+
+    /**
+     * Признак многопоточной обработки запросов.
+     */
+    public boolean isMultiThreaded() {
+        return this != DISPATCHER;
+    }
+}
\ No newline at end of file
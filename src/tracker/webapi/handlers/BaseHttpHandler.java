@@ -2,13 +2,21 @@ package tracker.webapi.handlers;
 
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
+import tracker.model.enums.Status;
+import tracker.model.tasks.Task;
+import tracker.services.HistorySessions;
 import tracker.webapi.enums.TypesRequests;
+import tracker.webapi.handlers.adapters.LocalDateTimeAdapter;
 
 import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public abstract class BaseHttpHandler implements HttpHandler {
@@ -18,6 +26,29 @@ public abstract class BaseHttpHandler implements HttpHandler {
     private static final String HEADER_CONTENT_TYPE_JSON = "application/json;charset=utf-8";
     private static final String HEADER_CONTENT_TYPE_PLANE = "text/plane;charset=utf-8";
 
+    /**
+     * Заголовок с идентификатором (токеном) сессии клиента: история просмотров ведется отдельно для каждой сессии.
+     */
+    public static final String HEADER_SESSION_ID = "X-Session-Id";
+
+    /**
+     * Идентификатор сессии клиента из заголовка запроса, null - клиент не указал сессию (общая история).
+     */
+    protected String getSessionId(HttpExchange httpExchange) {
+        String sessionId = httpExchange.getRequestHeaders().getFirst(HEADER_SESSION_ID);
+        if ((sessionId == null) || sessionId.isBlank()) return null;
+
+        return sessionId.strip();
+    }
+
+    /**
+     * Помечаем задачу как просмотренную в сессии клиента (если клиент указал сессию).
+     */
+    protected void addSessionView(HttpExchange httpExchange, HistorySessions historySessions, Task task) {
+        String sessionId = getSessionId(httpExchange);
+        if (sessionId != null) historySessions.add(sessionId, task);
+    }
+
     /**
      * Выделяем значения параметры пути из строки запроса при их наличии.
      * Структура пути запроса:
@@ -42,6 +73,132 @@ public abstract class BaseHttpHandler implements HttpHandler {
         return params;
     }
 
+    /**
+     * Выделяем значения параметров строки запроса (query) при их наличии.
+     * Пример: /prioritized?from=...&limit=20 - получаем {from=..., limit=20}.
+     */
+    protected Map<String, String> getQueryParameters(HttpExchange httpExchange) {
+        String query = httpExchange.getRequestURI().getQuery();   //строка запроса уже декодирована
+
+        Map<String, String> params = new HashMap<>();
+        if ((query == null) || query.isEmpty()) return params;
+
+        for (String param : query.split("&")) {
+            int indexSeparator = param.indexOf('=');
+
+            if (indexSeparator < 0) params.put(param, "");
+            else params.put(param.substring(0, indexSeparator), param.substring(indexSeparator + 1));
+        }
+
+        return params;
+    }
+
+    /**
+     * Получаем значение даты и времени из параметра строки запроса (формат как в JSON).
+     * Если параметра нет, то возвращаем null.
+     */
+    protected LocalDateTime getQueryDateTime(Map<String, String> paramsQuery, String name)
+            throws DateTimeParseException {
+        String value = paramsQuery.get(name);
+
+        if ((value == null) || value.isEmpty()) return null;
+
+        return LocalDateTime.parse(value, LocalDateTimeAdapter.getFormatter());
+    }
+
+    /**
+     * Получаем положительное целое значение из параметра строки запроса.
+     * Если параметра нет, то возвращаем значение по умолчанию.
+     */
+    protected int getQueryPositiveInt(Map<String, String> paramsQuery, String name, int defaultValue)
+            throws NumberFormatException {
+        String value = paramsQuery.get(name);
+
+        if ((value == null) || value.isEmpty()) return defaultValue;
+
+        int result = Integer.parseInt(value);
+        if (result <= 0) throw new NumberFormatException();
+
+        return result;
+    }
+
+    /**
+     * Получаем неотрицательное целое значение из параметра строки запроса (например, курсор after: 0 - с начала).
+     * Если параметра нет, то возвращаем значение по умолчанию.
+     */
+    protected int getQueryNonNegativeInt(Map<String, String> paramsQuery, String name, int defaultValue)
+            throws NumberFormatException {
+        String value = paramsQuery.get(name);
+
+        if ((value == null) || value.isEmpty()) return defaultValue;
+
+        int result = Integer.parseInt(value);
+        if (result < 0) throw new NumberFormatException();
+
+        return result;
+    }
+
+    /**
+     * Получаем логическое значение из параметра строки запроса (true/false).
+     * Если параметра нет, то возвращаем false.
+     */
+    protected boolean getQueryBoolean(Map<String, String> paramsQuery, String name) throws IllegalArgumentException {
+        String value = paramsQuery.get(name);
+
+        if ((value == null) || value.isEmpty()) return false;
+
+        if (value.equalsIgnoreCase("true")) return true;
+        if (value.equalsIgnoreCase("false")) return false;
+
+        throw new IllegalArgumentException(String.format("Не корректное значение параметра %s: %s", name, value));
+    }
+
+    /**
+     * Получаем статус задачи из параметра строки запроса (NEW, IN_PROGRESS, DONE - без учета регистра).
+     * Если параметра нет, то возвращаем null.
+     */
+    protected Status getQueryStatus(Map<String, String> paramsQuery, String name) throws IllegalArgumentException {
+        String value = paramsQuery.get(name);
+
+        if ((value == null) || value.isEmpty()) return null;
+
+        try {
+            return Status.valueOf(value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("Не корректное значение параметра %s: %s", name, value));
+        }
+    }
+
+    /**
+     * Страница списка по id: не более limit элементов с id больше after (limit <= 0 - без ограничения).
+     * Используется для списков, которые менеджер не отдает постранично (с архивом, по статусу).
+     */
+    protected <T extends Task> List<T> pageById(List<T> list, int after, int limit) {
+        List<T> page = new ArrayList<>();
+
+        for (T task : list) {
+            if ((limit > 0) && (page.size() == limit)) break;
+
+            if (task.getId() > after) page.add(task);
+        }
+
+        return page;
+    }
+
+    /**
+     * Обрезаем страницу, запрошенную с запасом в один элемент, до limit элементов.
+     * Если элемент запаса есть, то в заголовке X-Next-Cursor передаем курсор следующей страницы - id последнего
+     * элемента ответа (значение для параметра after).
+     */
+    protected <T extends Task> List<T> cutPage(HttpExchange exchange, List<T> page, int limit) {
+        if ((limit <= 0) || (page.size() <= limit)) return page;
+
+        List<T> result = page.subList(0, limit);
+        exchange.getResponseHeaders().add("X-Next-Cursor", String.valueOf(result.get(limit - 1).getId()));
+
+        return result;
+    }
+
     /**
      * Получаем тип запроса (метод).
      */
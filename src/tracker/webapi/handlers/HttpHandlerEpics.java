@@ -1,9 +1,14 @@
 package tracker.webapi.handlers;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
 import com.sun.net.httpserver.HttpExchange;
+import tracker.model.enums.Status;
 import tracker.model.tasks.Epic;
 import tracker.model.tasks.Subtask;
+import tracker.services.HistorySessions;
 import tracker.services.Managers;
 import tracker.services.TaskManager;
 import tracker.webapi.enums.TypesRequests;
@@ -19,9 +24,11 @@ import java.util.Map;
  */
 public class HttpHandlerEpics extends BaseHttpHandler {
     private TaskManager taskManager;
+    private HistorySessions historySessions;    //истории просмотров сессий клиентов
 
-    public HttpHandlerEpics(TaskManager taskManager) {
+    public HttpHandlerEpics(TaskManager taskManager, HistorySessions historySessions) {
         this.taskManager = taskManager;
+        this.historySessions = historySessions;
     }
 
     @Override
@@ -60,16 +67,51 @@ public class HttpHandlerEpics extends BaseHttpHandler {
     }
 
     private void getEpics(HttpExchange exchange) throws IOException {
-        List<Epic> taskList = taskManager.getEpics();
+        Map<String, String> paramsQuery = getQueryParameters(exchange);
 
-        String tasksJson = Managers.createGson().toJson(taskList);
+        boolean includeArchived;    //вместе с выполненными эпиками, перенесенными в архив
+        int after;  //курсор страницы: id последнего эпика предыдущей страницы
+        int limit;  //размер страницы, 0 - весь список
+        try {
+            after = getQueryNonNegativeInt(paramsQuery, "after", 0);
+            limit = getQueryPositiveInt(paramsQuery, "limit", 0);
+        } catch (NumberFormatException e) {
+            sendError(exchange, 400, "Не корректные параметры страницы списка.");
+            return;
+        }
+        try {
+            includeArchived = getQueryBoolean(paramsQuery, "includeArchived");
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());   //клиент указал не корректное значение параметра
+            return;
+        }
+
+        //Страницу запрашиваем с запасом в один эпик: признак наличия следующей страницы.
+        int pageLimit = (limit > 0) ? limit + 1 : 0;
+
+        List<Epic> taskList;
+        if (includeArchived) taskList = pageById(taskManager.getEpics(true), after, pageLimit);
+        else if ((after == 0) && (limit == 0)) taskList = taskManager.getEpics();
+        else taskList = taskManager.getEpicsPage(after, pageLimit); //копируется только страница
+
+        taskList = cutPage(exchange, taskList, limit);
+
+        Gson gson = Managers.createGson();
+
+        JsonArray epicsJson = new JsonArray();
+        for (Epic epic : taskList) epicsJson.add(toJsonWithProgress(gson, epic));
+
+        String tasksJson = gson.toJson(epicsJson);
 
         sendText(exchange, tasksJson);
     }
 
     private void getEpicById(HttpExchange exchange, int id) throws IOException, RuntimeException {
         taskManager.getEpicByID(id).ifPresentOrElse((Epic epic) -> {
-                    String taskJson = Managers.createGson().toJson(epic);
+                    addSessionView(exchange, historySessions, epic);
+
+                    Gson gson = Managers.createGson();
+                    String taskJson = gson.toJson(toJsonWithProgress(gson, epic));
 
                     try {
                         sendText(exchange, taskJson);
@@ -86,6 +128,23 @@ public class HttpHandlerEpics extends BaseHttpHandler {
                 });
     }
 
+    /**
+     * Эпик в формате JSON, дополненный ходом выполнения: количеством подзадач по статусам и процентом выполнения.
+     */
+    private JsonObject toJsonWithProgress(Gson gson, Epic epic) {
+        JsonObject epicJson = gson.toJsonTree(epic).getAsJsonObject();
+
+        JsonObject progressJson = new JsonObject();
+        progressJson.addProperty("new", epic.getSubtasksCount(Status.NEW));
+        progressJson.addProperty("inProgress", epic.getSubtasksCount(Status.IN_PROGRESS));
+        progressJson.addProperty("done", epic.getSubtasksCount(Status.DONE));
+        progressJson.addProperty("percent", epic.getProgress());
+
+        epicJson.add("progress", progressJson);
+
+        return epicJson;
+    }
+
     private void createEpic(HttpExchange exchange) throws IOException, RuntimeException {
         String body;
 
@@ -113,6 +172,8 @@ public class HttpHandlerEpics extends BaseHttpHandler {
     private void deleteEpic(HttpExchange exchange, int id) throws IOException {
         taskManager.delEpicByID(id);
 
+        historySessions.removeEpic(id); //эпик удаляется из историй сессий вместе с подзадачами
+
         sendText(exchange, String.format("Эпик с Id = %d удален.", id));
     }
 
@@ -3,6 +3,7 @@ package tracker.webapi.handlers;
 import com.sun.net.httpserver.HttpExchange;
 import tracker.model.tasks.Task;
 import tracker.services.HistoryManager;
+import tracker.services.HistorySessions;
 import tracker.services.Managers;
 import tracker.services.TaskManager;
 import tracker.webapi.enums.TypesRequests;
@@ -15,9 +16,11 @@ import java.util.List;
  */
 public class HttpHandlerHistory extends BaseHttpHandler {
     private TaskManager taskManager;
+    private HistorySessions historySessions;    //истории просмотров сессий клиентов
 
-    public HttpHandlerHistory(TaskManager taskManager) {
+    public HttpHandlerHistory(TaskManager taskManager, HistorySessions historySessions) {
         this.taskManager = taskManager;
+        this.historySessions = historySessions;
     }
 
     @Override
@@ -34,10 +37,19 @@ public class HttpHandlerHistory extends BaseHttpHandler {
         else sendError(exchange, 405, "Метод не разрешен.");    //если не GET запрос
     }
 
+    /**
+     * История просмотров: сессии клиента, если он указал ее в заголовке X-Session-Id, иначе - общая.
+     * В заголовке X-History-Evictions передаем количество задач, вытесненных из истории
+     * при переполнении (для истории, ограниченной по размеру).
+     */
     public void getHistory(HttpExchange exchange) throws IOException {
-        HistoryManager historyManager = taskManager.getHistoryManager();
+        String sessionId = getSessionId(exchange);
+        HistoryManager historyManager = (sessionId != null)
+                ? historySessions.getHistory(sessionId) : taskManager.getHistoryManager();
         List<Task> taskList = historyManager.getHistory();
 
+        exchange.getResponseHeaders().add("X-History-Evictions", String.valueOf(historyManager.getEvictions()));
+
         String tasksJson = Managers.createGson().toJson(taskList);
 
         sendText(exchange, tasksJson);
@@ -5,9 +5,15 @@ import tracker.model.tasks.Task;
 import tracker.services.Managers;
 import tracker.services.TaskManager;
 import tracker.webapi.enums.TypesRequests;
+import tracker.webapi.handlers.adapters.LocalDateTimeAdapter;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Класс обработки запросов с базовым путем PRIORITIZED.
@@ -33,8 +39,68 @@ public class HttpHandlerPrioritized extends BaseHttpHandler {
         else sendError(exchange, 405, "Метод не разрешен.");    //если не GET запрос
     }
 
+    /**
+     * Приоритизированный список задач.
+     * Параметры строки запроса (необязательные):
+     * - from, to - окно по началу выполнения задач [from, to)
+     * - limit - максимальное количество задач в ответе
+     * - cursor - продолжение выборки после задачи курсора (из заголовка X-Next-Cursor)
+     * Если после ответа с limit задачами остались еще задачи, то в заголовке X-Next-Cursor передаем курсор
+     * для получения следующей страницы: начало выполнения и id последней задачи ответа через запятую.
+     * Следующая страница начинается строго после пары (начало выполнения, id) курсора.
+     */
     public void getPrioritizedTasks(HttpExchange exchange) throws IOException {
-        List<Task> taskList = taskManager.getPrioritizedTasks();
+        Map<String, String> paramsQuery = getQueryParameters(exchange);
+
+        if (paramsQuery.isEmpty()) {
+            sendText(exchange, Managers.createGson().toJson(taskManager.getPrioritizedTasks()));
+            return;
+        }
+
+        LocalDateTime from;
+        LocalDateTime to;
+        LocalDateTime cursorStart = null;   //курсор: начало выполнения и id последней отданной задачи
+        int cursorId = 0;
+        int limit;
+        try {
+            from = getQueryDateTime(paramsQuery, "from");
+            to = getQueryDateTime(paramsQuery, "to");
+            limit = getQueryPositiveInt(paramsQuery, "limit", 0);
+
+            String cursor = paramsQuery.get("cursor");
+            if ((cursor != null) && !cursor.isEmpty()) {
+                int indexSeparator = cursor.lastIndexOf(',');
+                if (indexSeparator < 0) throw new NumberFormatException();
+
+                cursorStart = LocalDateTime.parse(cursor.substring(0, indexSeparator),
+                        LocalDateTimeAdapter.getFormatter());
+                cursorId = Integer.parseInt(cursor.substring(indexSeparator + 1));
+            }
+        } catch (DateTimeParseException | NumberFormatException e) {
+            sendError(exchange, 400, "Не корректные параметры запроса приоритизированного списка задач.");
+            return;
+        }
+
+        if ((cursorStart != null) && ((from == null) || cursorStart.isAfter(from))) from = cursorStart;
+
+        //Запрашиваем с запасом: задача курсора и признак наличия следующей страницы. Интервалы задач
+        //не пересекаются, поэтому с началом выполнения курсора в списке не больше одной задачи.
+        List<Task> taskList = new ArrayList<>(taskManager.getPrioritizedTasks(from, to, (limit > 0) ? limit + 2 : 0));
+
+        //Задачи не после курсора (то же начало выполнения и id не больше) повторно не отдаем.
+        while ((cursorStart != null) && !taskList.isEmpty()
+                && taskList.get(0).getStartTime().equals(Optional.of(cursorStart))
+                && (taskList.get(0).getId() <= cursorId)) {
+            taskList.remove(0);
+        }
+
+        if ((limit > 0) && (taskList.size() > limit)) {
+            taskList = taskList.subList(0, limit);
+
+            Task last = taskList.get(limit - 1);
+            last.getStartTime().ifPresent(nextCursor -> exchange.getResponseHeaders().add("X-Next-Cursor",
+                    nextCursor.format(LocalDateTimeAdapter.getFormatter()) + "," + last.getId()));
+        }
 
         String tasksJson = Managers.createGson().toJson(taskList);
 
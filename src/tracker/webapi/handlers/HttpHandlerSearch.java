@@ -0,0 +1,103 @@
+package tracker.webapi.handlers;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.sun.net.httpserver.HttpExchange;
+import tracker.model.tasks.Epic;
+import tracker.model.tasks.Subtask;
+import tracker.model.tasks.Task;
+import tracker.services.Managers;
+import tracker.services.TaskManager;
+import tracker.services.enums.TypeTask;
+import tracker.webapi.enums.TypesRequests;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Класс обработки запросов с базовым путем SEARCH.
+ */
+public class HttpHandlerSearch extends BaseHttpHandler {
+    private static final int DEFAULT_LIMIT = 20;    //размер страницы результатов по умолчанию
+
+    private TaskManager taskManager;
+
+    public HttpHandlerSearch(TaskManager taskManager) {
+        this.taskManager = taskManager;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        TypesRequests typeRequests;
+        try {
+            typeRequests = getTypeRequest(exchange);
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 405, e.getMessage());   //клиент указал не корректный тип запроса (метод)
+            return;
+        }
+
+        if (typeRequests.isGet()) search(exchange);
+        else sendError(exchange, 405, "Метод не разрешен.");    //если не GET запрос
+    }
+
+    /**
+     * Полнотекстовый поиск по имени и описанию задач, подзадач и эпиков.
+     * Параметры строки запроса:
+     * - q - слова для поиска (обязательный), ищутся задачи, содержащие все слова
+     * - limit - максимальное количество задач в ответе (по умолчанию 20)
+     * - offset - позиция первой задачи страницы в результатах поиска (по умолчанию 0), offset + limit - не больше
+     *   2147483647
+     * Результаты упорядочены по рангу, у каждого элемента указан тип (поле type).
+     * Если после ответа остались еще результаты, то в заголовке X-Next-Offset передаем позицию следующей страницы.
+     */
+    public void search(HttpExchange exchange) throws IOException {
+        Map<String, String> paramsQuery = getQueryParameters(exchange);
+
+        String query = paramsQuery.get("q");
+        if ((query == null) || query.isBlank()) {
+            sendError(exchange, 400, "Не указан текст для поиска (параметр q).");
+            return;
+        }
+
+        int limit;
+        int offset;
+        int nextOffset;
+        try {
+            limit = getQueryPositiveInt(paramsQuery, "limit", DEFAULT_LIMIT);
+            offset = getQueryNonNegativeInt(paramsQuery, "offset", 0);
+
+            nextOffset = Math.addExact(offset, limit);  //позиция следующей страницы должна быть представима
+        } catch (NumberFormatException | ArithmeticException e) {
+            sendError(exchange, 400, "Не корректные параметры страницы результатов поиска.");
+            return;
+        }
+
+        //Запрашиваем на одну задачу больше: признак наличия следующей страницы.
+        List<Task> found = new ArrayList<>(taskManager.searchTasks(query, offset, limit + 1));
+
+        if (found.size() > limit) {
+            found = found.subList(0, limit);
+
+            exchange.getResponseHeaders().add("X-Next-Offset", String.valueOf(nextOffset));
+        }
+
+        Gson gson = Managers.createGson();
+
+        JsonArray foundJson = new JsonArray();
+        for (Task task : found) {
+            JsonObject taskJson = gson.toJsonTree(task).getAsJsonObject();
+
+            TypeTask typeTask = TypeTask.TASK;
+            if (task instanceof Epic) typeTask = TypeTask.EPIC;
+            else if (task instanceof Subtask) typeTask = TypeTask.SUBTASK;
+
+            taskJson.addProperty("type", typeTask.toString());
+            foundJson.add(taskJson);
+        }
+
+        sendText(exchange, gson.toJson(foundJson));
+    }
+}
\ No newline at end of file
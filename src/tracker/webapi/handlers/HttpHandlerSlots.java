@@ -0,0 +1,79 @@
+package tracker.webapi.handlers;
+
+import com.sun.net.httpserver.HttpExchange;
+import tracker.model.tasks.Task;
+import tracker.services.Managers;
+import tracker.services.TaskManager;
+import tracker.webapi.enums.TypesRequests;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Класс обработки запросов с базовым путем SLOTS.
+ */
+public class HttpHandlerSlots extends BaseHttpHandler {
+    private TaskManager taskManager;
+
+    public HttpHandlerSlots(TaskManager taskManager) {
+        this.taskManager = taskManager;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        TypesRequests typeRequests;
+        try {
+            typeRequests = getTypeRequest(exchange);
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 405, e.getMessage());   //клиент указал не корректный тип запроса (метод)
+            return;
+        }
+
+        if (typeRequests.isGet()) getFreeSlot(exchange);
+        else sendError(exchange, 405, "Метод не разрешен.");    //если не GET запрос
+    }
+
+    /**
+     * Ближайший свободный интервал.
+     * Параметры строки запроса:
+     * - duration - длительность интервала в минутах (обязательный)
+     * - after - интервал должен начинаться не раньше указанного момента (по умолчанию - текущий момент)
+     */
+    public void getFreeSlot(HttpExchange exchange) throws IOException {
+        Map<String, String> paramsQuery = getQueryParameters(exchange);
+
+        long duration;
+        LocalDateTime after;
+        try {
+            duration = Long.parseLong(paramsQuery.getOrDefault("duration", ""));
+            if ((duration < 0) || (duration > Task.MAX_DURATION_MINUTES)) throw new NumberFormatException();
+
+            after = getQueryDateTime(paramsQuery, "after");
+        } catch (DateTimeParseException | NumberFormatException e) {
+            sendError(exchange, 400, "Не корректные параметры запроса свободного интервала.");
+            return;
+        }
+
+        if (after == null) after = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+
+        Map<String, Object> slot = new LinkedHashMap<>();
+        try {
+            LocalDateTime startTime = taskManager.findFreeSlot(duration, after);
+
+            slot.put("startTime", startTime);
+            slot.put("endTime", startTime.plusMinutes(duration));
+            slot.put("duration", duration);
+        } catch (DateTimeException | ArithmeticException e) {
+            //Свободный интервал заканчивается за пределами допустимых дат.
+            sendError(exchange, 400, "Свободный интервал вне допустимого диапазона дат.");
+            return;
+        }
+
+        sendText(exchange, Managers.createGson().toJson(slot));
+    }
+}
\ No newline at end of file
@@ -2,15 +2,20 @@ package tracker.webapi.handlers;
 
 import com.google.gson.JsonSyntaxException;
 import com.sun.net.httpserver.HttpExchange;
+import tracker.model.enums.Status;
 import tracker.model.tasks.Subtask;
+import tracker.services.HistorySessions;
 import tracker.services.Managers;
 import tracker.services.TaskManager;
 import tracker.services.exceptions.CrossTimeExecution;
 import tracker.webapi.enums.TypesRequests;
+import tracker.webapi.handlers.adapters.LocalDateTimeAdapter;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 
@@ -19,9 +24,11 @@ import java.util.Map;
  */
 public class HttpHandlerSubtasks extends BaseHttpHandler {
     private TaskManager taskManager;
+    private HistorySessions historySessions;    //истории просмотров сессий клиентов
 
-    public HttpHandlerSubtasks(TaskManager taskManager) {
+    public HttpHandlerSubtasks(TaskManager taskManager, HistorySessions historySessions) {
         this.taskManager = taskManager;
+        this.historySessions = historySessions;
     }
 
     @Override
@@ -58,7 +65,43 @@ public class HttpHandlerSubtasks extends BaseHttpHandler {
     }
 
     private void getSubtasks(HttpExchange exchange) throws IOException {
-        List<Subtask> taskList = taskManager.getSubtasks();
+        Map<String, String> paramsQuery = getQueryParameters(exchange);
+
+        boolean includeArchived;    //вместе с выполненными задачами, перенесенными в архив
+        Status status;  //только задачи в этом статусе, null - все
+        int after;  //курсор страницы: id последней задачи предыдущей страницы
+        int limit;  //размер страницы, 0 - весь список
+        try {
+            after = getQueryNonNegativeInt(paramsQuery, "after", 0);
+            limit = getQueryPositiveInt(paramsQuery, "limit", 0);
+        } catch (NumberFormatException e) {
+            sendError(exchange, 400, "Не корректные параметры страницы списка.");
+            return;
+        }
+        try {
+            includeArchived = getQueryBoolean(paramsQuery, "includeArchived");
+            status = getQueryStatus(paramsQuery, "status");
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());   //клиент указал не корректное значение параметра
+            return;
+        }
+
+        //Страницу запрашиваем с запасом в одну задачу: признак наличия следующей страницы.
+        int pageLimit = (limit > 0) ? limit + 1 : 0;
+
+        List<Subtask> taskList;
+        if ((status == null) && !includeArchived) {
+            if ((after == 0) && (limit == 0)) taskList = taskManager.getSubtasks();
+            else taskList = taskManager.getSubtasksPage(after, pageLimit);   //копируется только страница
+        } else {
+            if (status == null) taskList = taskManager.getSubtasks(includeArchived);
+            else if (!includeArchived) taskList = taskManager.getSubtasksByStatus(status);   //по индексу статусов
+            else taskList = taskManager.getSubtasks(true).stream().filter(task -> task.getStatus() == status).toList();
+
+            taskList = pageById(taskList, after, pageLimit);
+        }
+
+        taskList = cutPage(exchange, taskList, limit);
 
         String tasksJson = Managers.createGson().toJson(taskList);
 
@@ -67,6 +110,8 @@ public class HttpHandlerSubtasks extends BaseHttpHandler {
 
     private void getSubtaskById(HttpExchange exchange, int id) throws IOException, RuntimeException {
         taskManager.getSubtaskByID(id).ifPresentOrElse((Subtask subtask) -> {
+                    addSessionView(exchange, historySessions, subtask);
+
                     String taskJson = Managers.createGson().toJson(subtask);
 
                     try {
@@ -126,6 +171,21 @@ public class HttpHandlerSubtasks extends BaseHttpHandler {
     }
 
     private void createSubtask(HttpExchange exchange, Subtask subtask) throws IOException {
+        Map<String, String> paramsQuery = getQueryParameters(exchange);
+
+        boolean autoschedule;
+        try {
+            autoschedule = getQueryBoolean(paramsQuery, "autoschedule");
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());   //клиент указал не корректное значение параметра
+            return;
+        }
+
+        if (autoschedule) {
+            scheduleSubtask(exchange, subtask, paramsQuery);
+            return;
+        }
+
         try {
             int id = taskManager.addSubtask(subtask);
 
@@ -135,6 +195,33 @@ public class HttpHandlerSubtasks extends BaseHttpHandler {
         }
     }
 
+    /**
+     * Автоматическое планирование: подзадача размещается в ближайшем свободном интервале,
+     * начинающемся не раньше параметра notBefore (по умолчанию - начало выполнения подзадачи или текущий момент).
+     */
+    private void scheduleSubtask(HttpExchange exchange, Subtask subtask, Map<String, String> paramsQuery) throws IOException {
+        LocalDateTime notBefore;
+        try {
+            notBefore = getQueryDateTime(paramsQuery, "notBefore");
+        } catch (DateTimeParseException e) {
+            sendError(exchange, 400, "Не корректное значение параметра notBefore.");
+            return;
+        }
+
+        try {
+            int id = taskManager.scheduleTask(subtask, notBefore);
+
+            String startTime = subtask.getStartTime()
+                    .map(dateTime -> dateTime.format(LocalDateTimeAdapter.getFormatter()))
+                    .orElse("");
+
+            sendResourceCreated(exchange, String.format("Подзадача успешно запланирована на %s. Ей присвоен id: %d",
+                    startTime, id));
+        } catch (CrossTimeExecution e) {
+            sendHasInteractions(exchange, "Подзадача пересекается с существующими.");
+        }
+    }
+
     private void updateSubtask(HttpExchange exchange, Subtask subtask) throws IOException {
         boolean update = taskManager.updateSubtask(subtask);
 
@@ -144,6 +231,7 @@ public class HttpHandlerSubtasks extends BaseHttpHandler {
 
     private void deleteSubtask(HttpExchange exchange, int id) throws IOException {
         taskManager.delSubtaskByID(id);
+        historySessions.remove(id);
 
         sendText(exchange, String.format("Подзадача с Id = %d удалена.", id));
     }
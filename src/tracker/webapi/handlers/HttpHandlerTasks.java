@@ -2,15 +2,20 @@ package tracker.webapi.handlers;
 
 import com.google.gson.JsonSyntaxException;
 import com.sun.net.httpserver.HttpExchange;
+import tracker.model.enums.Status;
 import tracker.model.tasks.Task;
+import tracker.services.HistorySessions;
 import tracker.services.Managers;
 import tracker.services.TaskManager;
 import tracker.services.exceptions.CrossTimeExecution;
 import tracker.webapi.enums.TypesRequests;
+import tracker.webapi.handlers.adapters.LocalDateTimeAdapter;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Map;
 
@@ -19,9 +24,11 @@ import java.util.Map;
  */
 public class HttpHandlerTasks extends BaseHttpHandler {
     private TaskManager taskManager;
+    private HistorySessions historySessions;    //истории просмотров сессий клиентов
 
-    public HttpHandlerTasks(TaskManager taskManager) {
+    public HttpHandlerTasks(TaskManager taskManager, HistorySessions historySessions) {
         this.taskManager = taskManager;
+        this.historySessions = historySessions;
     }
 
     @Override
@@ -58,7 +65,43 @@ public class HttpHandlerTasks extends BaseHttpHandler {
     }
 
     private void getTasks(HttpExchange exchange) throws IOException {
-        List<Task> taskList = taskManager.getTasks();
+        Map<String, String> paramsQuery = getQueryParameters(exchange);
+
+        boolean includeArchived;    //вместе с выполненными задачами, перенесенными в архив
+        Status status;  //только задачи в этом статусе, null - все
+        int after;  //курсор страницы: id последней задачи предыдущей страницы
+        int limit;  //размер страницы, 0 - весь список
+        try {
+            after = getQueryNonNegativeInt(paramsQuery, "after", 0);
+            limit = getQueryPositiveInt(paramsQuery, "limit", 0);
+        } catch (NumberFormatException e) {
+            sendError(exchange, 400, "Не корректные параметры страницы списка.");
+            return;
+        }
+        try {
+            includeArchived = getQueryBoolean(paramsQuery, "includeArchived");
+            status = getQueryStatus(paramsQuery, "status");
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());   //клиент указал не корректное значение параметра
+            return;
+        }
+
+        //Страницу запрашиваем с запасом в одну задачу: признак наличия следующей страницы.
+        int pageLimit = (limit > 0) ? limit + 1 : 0;
+
+        List<Task> taskList;
+        if ((status == null) && !includeArchived) {
+            if ((after == 0) && (limit == 0)) taskList = taskManager.getTasks();
+            else taskList = taskManager.getTasksPage(after, pageLimit);   //копируется только страница
+        } else {
+            if (status == null) taskList = taskManager.getTasks(includeArchived);
+            else if (!includeArchived) taskList = taskManager.getTasksByStatus(status);   //по индексу статусов
+            else taskList = taskManager.getTasks(true).stream().filter(task -> task.getStatus() == status).toList();
+
+            taskList = pageById(taskList, after, pageLimit);
+        }
+
+        taskList = cutPage(exchange, taskList, limit);
 
         String tasksJson = Managers.createGson().toJson(taskList);
 
@@ -67,6 +110,8 @@ public class HttpHandlerTasks extends BaseHttpHandler {
 
     private void getTaskById(HttpExchange exchange, int id) throws IOException, RuntimeException {
         taskManager.getTaskByID(id).ifPresentOrElse((Task task) -> {
+                    addSessionView(exchange, historySessions, task);
+
                     String taskJson = Managers.createGson().toJson(task);
 
                     try {
@@ -126,6 +171,21 @@ public class HttpHandlerTasks extends BaseHttpHandler {
     }
 
     private void createTask(HttpExchange exchange, Task task) throws IOException {
+        Map<String, String> paramsQuery = getQueryParameters(exchange);
+
+        boolean autoschedule;
+        try {
+            autoschedule = getQueryBoolean(paramsQuery, "autoschedule");
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());   //клиент указал не корректное значение параметра
+            return;
+        }
+
+        if (autoschedule) {
+            scheduleTask(exchange, task, paramsQuery);
+            return;
+        }
+
         try {
             int id = taskManager.addTask(task);
 
@@ -135,6 +195,33 @@ public class HttpHandlerTasks extends BaseHttpHandler {
         }
     }
 
+    /**
+     * Автоматическое планирование: задача размещается в ближайшем свободном интервале,
+     * начинающемся не раньше параметра notBefore (по умолчанию - начало выполнения задачи или текущий момент).
+     */
+    private void scheduleTask(HttpExchange exchange, Task task, Map<String, String> paramsQuery) throws IOException {
+        LocalDateTime notBefore;
+        try {
+            notBefore = getQueryDateTime(paramsQuery, "notBefore");
+        } catch (DateTimeParseException e) {
+            sendError(exchange, 400, "Не корректное значение параметра notBefore.");
+            return;
+        }
+
+        try {
+            int id = taskManager.scheduleTask(task, notBefore);
+
+            String startTime = task.getStartTime()
+                    .map(dateTime -> dateTime.format(LocalDateTimeAdapter.getFormatter()))
+                    .orElse("");
+
+            sendResourceCreated(exchange, String.format("Задача успешно запланирована на %s. Ей присвоен id: %d",
+                    startTime, id));
+        } catch (CrossTimeExecution e) {
+            sendHasInteractions(exchange, "Задача пересекается с существующими.");
+        }
+    }
+
     private void updateTask(HttpExchange exchange, Task task) throws IOException {
         boolean update = taskManager.updateTask(task);
 
@@ -144,6 +231,7 @@ public class HttpHandlerTasks extends BaseHttpHandler {
 
     private void deleteTask(HttpExchange exchange, int id) throws IOException {
         taskManager.delTaskByID(id);
+        historySessions.remove(id);
 
         sendText(exchange, String.format("Задача с Id = %d удалена.", id));
     }
@@ -11,6 +11,13 @@ import java.time.format.DateTimeFormatter;
 public class LocalDateTimeAdapter extends TypeAdapter<LocalDateTime> {
     private static final DateTimeFormatter dtf = DateTimeFormatter.ofPattern("dd-MM-yyyy*****HH:mm:ss");
 
+    /**
+     * Формат даты и времени WEB API (используется и в параметрах запросов).
+     */
+    public static DateTimeFormatter getFormatter() {
+        return dtf;
+    }
+
     @Override
     public void write(final JsonWriter jsonWriter, final LocalDateTime localDateTime) throws IOException {
         // приводим localDateTime к необходимому формату
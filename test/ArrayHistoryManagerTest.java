@@ -0,0 +1,114 @@
+import org.junit.jupiter.api.Test;
+import tracker.model.tasks.Epic;
+import tracker.model.tasks.Subtask;
+import tracker.model.tasks.Task;
+import tracker.services.HistoryManager;
+import tracker.services.Managers;
+import tracker.services.TaskManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ArrayHistoryManagerTest {
+
+    private static List<Task> createTasks(int count) {
+        List<Task> tasks = new ArrayList<>();
+        for (int id = 1; id <= count; id++) {
+            Task task = new Task(String.valueOf(id), "");
+            task.setId(id);
+            tasks.add(task);
+        }
+
+        return tasks;
+    }
+
+    @Test
+    public void getHistory() {
+        //История на массивах должна вести себя так же, как история на узлах (см. InMemoryHistoryManagerTest).
+        TaskManager taskManager = Managers.getDefault(Managers.getArrayHistory());
+        HistoryManager historyManager = taskManager.getHistoryManager();
+
+        //Подготовка.
+        Epic epic1 = new Epic("1", "11");
+        Epic epic2 = new Epic("2", "22");
+
+        Subtask subtask1 = new Subtask("1", "11", epic1);
+        Subtask subtask2 = new Subtask("2", "22", epic2);
+
+        Task task1 = new Task("1", "11");
+        Task task2 = new Task("2", "22");
+
+        taskManager.addEpic(epic1);
+        taskManager.addEpic(epic2);
+        taskManager.addSubtask(subtask1);
+        taskManager.addSubtask(subtask2);
+        taskManager.addTask(task1);
+        taskManager.addTask(task2);
+
+        //Исполнение.
+        for (int round = 0; round < 2; round++) {
+            taskManager.getEpicByID(epic1.getId());
+            taskManager.getEpicByID(epic2.getId());
+            taskManager.getSubtaskByID(subtask1.getId());
+            taskManager.getSubtaskByID(subtask2.getId());
+            taskManager.getTaskByID(task1.getId());
+            taskManager.getTaskByID(task2.getId());
+        }
+
+        //Проверка.
+        List<Task> history = historyManager.getHistory();
+
+        assertEquals(6, history.size(), "Количество элементов в истории не верно.");
+        assertTrue((history.get(0) == epic1) && (history.get(2) == subtask1) && (history.get(5) == task2),
+                "История прочтения задач не верна.");
+
+        taskManager.delTaskByID(task1.getId());
+        taskManager.delSubtaskByID(subtask1.getId());
+        taskManager.delEpicByID(epic2.getId());
+
+        history = historyManager.getHistory();
+
+        assertEquals(2, history.size(), "Задачи не удалены из истории.");
+        assertTrue((history.get(0) == epic1) && (history.get(1) == task2), "Задачи не удалены из истории.");
+    }
+
+    @Test
+    public void checkReuseSlots() {
+        //Подготовка.
+        HistoryManager historyManager = Managers.getArrayHistory();
+        List<Task> tasks = createTasks(40);
+
+        //Исполнение: освободившиеся ячейки переиспользуются, порядок просмотров сохраняется.
+        for (Task task : tasks) historyManager.add(task);
+        for (int index = 0; index < 40; index += 2) historyManager.remove(tasks.get(index).getId());
+        for (int index = 0; index < 40; index += 4) historyManager.add(tasks.get(index));
+        historyManager.add(tasks.get(1));
+
+        //Проверка.
+        List<Task> expected = new ArrayList<>();
+        for (int index = 3; index < 40; index += 2) expected.add(tasks.get(index));
+        for (int index = 0; index < 40; index += 4) expected.add(tasks.get(index));
+        expected.add(tasks.get(1));
+
+        assertEquals(expected, historyManager.getHistory(), "История прочтения задач не верна.");
+    }
+
+    @Test
+    public void checkBoundedHistory() {
+        //Подготовка.
+        HistoryManager historyManager = Managers.getArrayHistory(3);
+        List<Task> tasks = createTasks(5);
+
+        //Исполнение.
+        for (Task task : tasks) historyManager.add(task);
+        historyManager.add(tasks.get(2));
+
+        //Проверка.
+        assertEquals(List.of(tasks.get(3), tasks.get(4), tasks.get(2)), historyManager.getHistory(),
+                "Из истории вытеснены не самые старые задачи.");
+        assertEquals(2, historyManager.getEvictions(), "Не верно количество вытесненных задач.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+import org.junit.jupiter.api.Test;
+import tracker.model.tasks.Task;
+import tracker.services.HistoryManager;
+import tracker.services.Managers;
+import tracker.services.TaskManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AsyncHistoryManagerTest {
+
+    @Test
+    public void checkFlushKeepsOrder() {
+        //Подготовка: маленький буфер, чтобы читатель упирался в заполненный буфер.
+        HistoryManager expectedHistory = Managers.getDefaultHistory();
+        HistoryManager asyncHistory = Managers.getAsyncHistory(Managers.getArrayHistory(), 4);
+
+        List<Task> tasks = new ArrayList<>();
+        for (int id = 1; id <= 50; id++) {
+            Task task = new Task(String.valueOf(id), "");
+            task.setId(id);
+            tasks.add(task);
+        }
+
+        //Исполнение: одни и те же просмотры и удаления в синхронной и асинхронной истории.
+        for (int round = 0; round < 20; round++) {
+            for (int index = round % 7; index < tasks.size(); index += 3) {
+                expectedHistory.add(tasks.get(index));
+                asyncHistory.add(tasks.get(index));
+            }
+
+            expectedHistory.remove(tasks.get(round).getId());
+            asyncHistory.remove(tasks.get(round).getId());
+        }
+
+        //Проверка.
+        assertEquals(expectedHistory.getHistory(), asyncHistory.getHistory(true),
+                "История после применения всех событий не совпадает с синхронной.");
+        assertTrue(asyncHistory.getHistory(false).size() <= tasks.size(), "История без ожидания не верна.");
+
+        asyncHistory.close();
+    }
+
+    @Test
+    public void checkCloseAppliesEvents() {
+        //Подготовка.
+        HistoryManager asyncHistory = Managers.getAsyncHistory(Managers.getDefaultHistory(), 4);
+
+        List<Task> tasks = new ArrayList<>();
+        for (int id = 1; id <= 20; id++) {
+            Task task = new Task(String.valueOf(id), "");
+            task.setId(id);
+            tasks.add(task);
+        }
+
+        //Исполнение.
+        for (Task task : tasks) asyncHistory.add(task);
+        asyncHistory.close();
+
+        //Проверка: опубликованные до close события применены, после close просмотры записываются сразу.
+        assertEquals(tasks, asyncHistory.getHistory(false), "Не все события применены при закрытии.");
+
+        asyncHistory.remove(tasks.get(0).getId());
+        asyncHistory.add(tasks.get(0));
+
+        List<Task> history = asyncHistory.getHistory(false);
+        assertEquals(tasks.size(), history.size(), "Просмотр после закрытия не записан.");
+        assertEquals(tasks.get(0), history.get(history.size() - 1), "Просмотр после закрытия не записан.");
+    }
+
+    @Test
+    public void checkParallelViews() throws InterruptedException {
+        //Подготовка.
+        TaskManager taskManager = Managers.getConcurrent(Managers.getDefault(
+                Managers.getAsyncHistory(Managers.getDefaultHistory(), 8)));
+
+        List<Integer> ids = new ArrayList<>();
+        for (int index = 0; index < 100; index++) ids.add(taskManager.addTask(new Task(String.valueOf(index), "")));
+
+        //Исполнение: просмотры из нескольких потоков.
+        List<Thread> threads = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            threads.add(new Thread(() -> {
+                for (int id : ids) taskManager.getTaskByID(id);
+            }));
+        }
+
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+
+        //Проверка: после применения всех событий каждая задача в истории ровно один раз.
+        List<Task> history = taskManager.getHistoryManager().getHistory(true);
+
+        assertEquals(ids.size(), history.size(), "Не все просмотры попали в историю.");
+        assertEquals(ids.size(), history.stream().map(Task::getId).distinct().count(),
+                "Задачи в истории повторяются.");
+
+        taskManager.delTaskByID(ids.get(0));
+
+        assertEquals(ids.size() - 1, taskManager.getHistoryManager().getHistory().size(),
+                "Задача не удалена из истории.");
+
+        taskManager.getHistoryManager().close();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,338 @@
+import com.google.gson.Gson;
+import org.junit.jupiter.api.Test;
+import tracker.model.tasks.Epic;
+import tracker.model.tasks.Subtask;
+import tracker.model.tasks.Task;
+import tracker.services.Managers;
+import tracker.services.TaskManager;
+import tracker.services.exceptions.CrossTimeExecution;
+import tracker.webapi.HttpTaskServer;
+import tracker.webapi.enums.ExecutionModes;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static tracker.model.enums.Status.IN_PROGRESS;
+
+public class ConcurrentTaskManagerTest {
+    private static final int THREADS = 8;
+
+    @Test
+    public void checkGetConcurrent() {
+        TaskManager taskManager = Managers.getConcurrent();
+
+        assertNotNull(taskManager, "Потокобезопасный менеджер не создан.");
+        assertSame(taskManager, Managers.getConcurrent(taskManager), "Потокобезопасный менеджер обернут повторно.");
+    }
+
+    @Test
+    public void checkParallelAddAndRead() throws InterruptedException, ExecutionException {
+        //Потоки параллельно добавляют задачи и подзадачи, читают списки и задачи по id.
+        //Ни одно добавление не должно потеряться, id - уникальны.
+        TaskManager taskManager = Managers.getConcurrent();
+
+        int count = 500;
+
+        List<Epic> epics = new ArrayList<>();
+        for (int index = 0; index < THREADS; index++) {
+            Epic epic = new Epic("Эпик " + index, "Описание эпика " + index + ".");
+            taskManager.addEpic(epic);
+            epics.add(epic);
+        }
+
+        List<Callable<List<Integer>>> workers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            Epic epic = epics.get(thread);
+
+            workers.add(() -> {
+                List<Integer> ids = new ArrayList<>();
+
+                for (int index = 0; index < count; index++) {
+                    int id = taskManager.addTask(new Task("Задача " + index, "Описание задачи."));
+                    ids.add(id);
+                    ids.add(taskManager.addSubtask(new Subtask("Подзадача " + index, "Описание подзадачи.", epic)));
+
+                    assertTrue(taskManager.getTaskByID(id).isPresent(), "Добавленная задача не найдена.");
+                    assertFalse(taskManager.getTasks().isEmpty(), "Список задач пуст.");
+                    taskManager.getHistoryManager().getHistory();
+                }
+
+                return ids;
+            });
+        }
+
+        Set<Integer> ids = new HashSet<>();
+        for (Future<List<Integer>> future : runAll(workers)) ids.addAll(future.get());
+
+        assertEquals(2 * THREADS * count, ids.size(), "Выданы повторяющиеся id.");
+        assertEquals(THREADS * count, taskManager.getTasks().size(), "Потеряны добавленные задачи.");
+        assertEquals(THREADS * count, taskManager.getSubtasks().size(), "Потеряны добавленные подзадачи.");
+
+        for (Epic epic : epics) {
+            assertEquals(count, taskManager.getSubtasksByEpic(epic).size(), "Потеряны подзадачи эпика.");
+        }
+    }
+
+    @Test
+    public void checkParallelCrossTimeExecution() throws InterruptedException, ExecutionException {
+        //Потоки параллельно занимают одни и те же интервалы: каждый интервал достается ровно одной задаче.
+        TaskManager taskManager = Managers.getConcurrent();
+
+        LocalDateTime startTime = LocalDateTime.of(2_025, 8, 1, 0, 0, 0);
+        int slots = 100;
+
+        AtomicInteger conflicts = new AtomicInteger();
+
+        List<Callable<List<Integer>>> workers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            workers.add(() -> {
+                for (int slot = 0; slot < slots; slot++) {
+                    try {
+                        taskManager.addTask(new Task("Задача " + slot, "Описание задачи.",
+                                startTime.plusMinutes(20L * slot), 10));
+                    } catch (CrossTimeExecution e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+
+                return List.of();
+            });
+        }
+
+        for (Future<List<Integer>> future : runAll(workers)) future.get();
+
+        List<Task> prioritizedTasks = taskManager.getPrioritizedTasks();
+
+        assertEquals(slots, prioritizedTasks.size(), "Интервал занят не одной задачей.");
+        assertEquals((THREADS - 1) * slots, conflicts.get(), "Не все пересечения обнаружены.");
+
+        for (int index = 1; index < prioritizedTasks.size(); index++) {
+            assertTrue(prioritizedTasks.get(index - 1).getEndTime().get()
+                    .isBefore(prioritizedTasks.get(index).getStartTime().get()), "Задачи пересекаются.");
+        }
+    }
+
+    @Test
+    public void checkParallelSubtasksByEpics() throws InterruptedException, ExecutionException {
+        //Подзадачи разных эпиков добавляются, обновляются и удаляются параллельно (блокировки эпиков по полосам).
+        //Подзадачи разных эпиков претендуют на одни и те же интервалы: каждый интервал достается одной подзадаче.
+        TaskManager taskManager = Managers.getConcurrent();
+
+        LocalDateTime startTime = LocalDateTime.of(2_025, 9, 1, 0, 0, 0);
+        int slots = 200;
+
+        List<Epic> epics = new ArrayList<>();
+        for (int index = 0; index < THREADS; index++) {
+            Epic epic = new Epic("Эпик " + index, "Описание эпика " + index + ".");
+            taskManager.addEpic(epic);
+            epics.add(epic);
+        }
+
+        List<Callable<List<Integer>>> workers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            Epic epic = epics.get(thread);
+
+            workers.add(() -> {
+                List<Integer> ids = new ArrayList<>();
+
+                for (int slot = 0; slot < slots; slot++) {
+                    try {
+                        ids.add(taskManager.addSubtask(new Subtask("Подзадача " + slot, "Описание подзадачи.", epic,
+                                startTime.plusMinutes(20L * slot), 10)));
+                    } catch (CrossTimeExecution e) {
+                        //интервал занят подзадачей другого эпика
+                    }
+
+                    //Подзадача без времени выполнения: переводим в работу и удаляем каждую вторую.
+                    Subtask subtask = new Subtask("Подзадача без времени " + slot, "Описание подзадачи.", epic);
+                    int id = taskManager.addSubtask(subtask);
+                    taskManager.updateSubtask(subtask);
+
+                    if ((slot % 2) == 0) assertEquals(subtask, taskManager.delSubtaskByID(id), "Подзадача не удалена.");
+                }
+
+                return ids;
+            });
+        }
+
+        int added = 0;
+        for (Future<List<Integer>> future : runAll(workers)) added += future.get().size();
+
+        assertEquals(slots, added, "Интервал занят не одной подзадачей.");
+        assertEquals(slots, taskManager.getPrioritizedTasks().size(), "Потеряны подзадачи с временем выполнения.");
+        assertEquals(slots + THREADS * slots / 2, taskManager.getSubtasks().size(), "Потеряны изменения подзадач.");
+
+        for (Epic epic : epics) {
+            assertEquals(IN_PROGRESS, epic.getStatus(), "Статус эпика рассчитан не верно.");
+        }
+
+        taskManager.delAllSubtasks();
+
+        assertTrue(taskManager.getSubtasks().isEmpty(), "Подзадачи не удалены.");
+        assertTrue(taskManager.getPrioritizedTasks().isEmpty(), "Подзадачи не удалены из приоритизированного списка.");
+    }
+
+    @Test
+    public void checkParallelHttpLoad() throws IOException, InterruptedException, ExecutionException {
+        //Клиенты параллельно создают задачи через HTTP: ни одно создание не должно потеряться.
+        //В многопоточных режимах сервер сам защищает переданный ему обычный менеджер задач.
+        for (ExecutionModes executionMode : ExecutionModes.values()) {
+            TaskManager taskManager = executionMode.isMultiThreaded() ? Managers.getDefault()
+                    : Managers.getConcurrent();
+            HttpTaskServer httpTaskServer = new HttpTaskServer(taskManager, 0, 0, executionMode);
+            httpTaskServer.runWebServices();
+
+            try {
+                checkParallelHttpLoad(httpTaskServer);
+            } finally {
+                httpTaskServer.stopWebServices();
+            }
+        }
+    }
+
+    @Test
+    public void checkHttpTaskServerSettings() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new HttpTaskServer(Managers.getDefault(), -1, 0, ExecutionModes.FIXED_POOL),
+                "Принят не корректный номер порта.");
+        assertThrows(IllegalArgumentException.class,
+                () -> new HttpTaskServer(Managers.getDefault(), 8080, -1, ExecutionModes.FIXED_POOL),
+                "Принята не корректная глубина очереди запросов.");
+
+        TaskManager taskManager = Managers.getDefault();
+
+        assertSame(taskManager, new HttpTaskServer(taskManager, 8080, 0, ExecutionModes.DISPATCHER).getTaskManager(),
+                "Менеджер обернут при обработке запросов в одном потоке.");
+        assertSame(taskManager, new HttpTaskServer(taskManager).getTaskManager(),
+                "Менеджер обернут при обработке запросов по умолчанию.");
+        assertNotSame(taskManager,
+                new HttpTaskServer(taskManager, 8080, 0, ExecutionModes.FIXED_POOL).getTaskManager(),
+                "Менеджер не защищен при многопоточной обработке запросов.");
+    }
+
+    private void checkParallelHttpLoad(HttpTaskServer httpTaskServer) throws InterruptedException, ExecutionException {
+        TaskManager taskManager = httpTaskServer.getTaskManager();
+        URI url = URI.create("http://localhost:" + httpTaskServer.getPort() + "/tasks");
+
+        Gson gson = Managers.createGson();
+        HttpClient client = HttpClient.newHttpClient();
+
+        int count = 50;
+
+        List<Callable<List<Integer>>> workers = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++) {
+            workers.add(() -> {
+                List<Integer> statuses = new ArrayList<>();
+
+                for (int index = 0; index < count; index++) {
+                    HttpRequest request = HttpRequest.newBuilder()
+                            .uri(url)
+                            .POST(HttpRequest.BodyPublishers.ofString(
+                                    gson.toJson(new Task("Задача " + index, "Описание задачи."))))
+                            .build();
+
+                    statuses.add(client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode());
+                }
+
+                return statuses;
+            });
+        }
+
+        for (Future<List<Integer>> future : runAll(workers)) {
+            assertTrue(future.get().stream().allMatch(status -> status == 201), "Задача не создана.");
+        }
+
+        List<Task> tasks = taskManager.getTasks();
+
+        String mode = httpTaskServer.getExecutionMode().toString();
+        assertEquals(THREADS * count, tasks.size(), "Потеряны созданные задачи: " + mode);
+        assertEquals(THREADS * count, tasks.stream().map(Task::getId).distinct().count(),
+                "Выданы повторяющиеся id: " + mode);
+        assertEquals(Optional.of(tasks.getFirst()), taskManager.getTaskByID(tasks.getFirst().getId()),
+                "Созданная задача не найдена: " + mode);
+    }
+
+    @Test
+    public void checkParallelEpicReadsAndSubtaskChanges() throws InterruptedException, ExecutionException {
+        //Одни потоки меняют подзадачи своих эпиков, другие читают эпики, эпики по id и приоритизированный список.
+        //Менеджер с файлом при каждом изменении сохраняет все эпики: сохранение не должно читать эпик,
+        //подзадачи которого в это время меняются.
+        for (TaskManager manager : List.of(Managers.getDefault(), Managers.getDefault(true))) {
+            TaskManager taskManager = Managers.getConcurrent(manager);
+
+            LocalDateTime startTime = LocalDateTime.of(2_025, 10, 1, 0, 0, 0);
+            int count = 100;
+
+            List<Epic> epics = new ArrayList<>();
+            for (int index = 0; index < THREADS / 2; index++) {
+                Epic epic = new Epic("Эпик " + index, "Описание эпика " + index + ".");
+                taskManager.addEpic(epic);
+                epics.add(epic);
+            }
+
+            List<Callable<Integer>> workers = new ArrayList<>();
+            for (int thread = 0; thread < THREADS / 2; thread++) {
+                Epic epic = epics.get(thread);
+                int shift = thread;
+
+                workers.add(() -> {
+                    for (int index = 0; index < count; index++) {
+                        Subtask subtask = new Subtask("Подзадача " + index, "Описание подзадачи.", epic,
+                                startTime.plusMinutes(10L * (index * THREADS + shift)), 5);
+                        int id = taskManager.addSubtask(subtask);
+
+                        taskManager.updateSubtask(subtask);   //NEW -> IN_PROGRESS
+                        if ((index % 2) == 0) taskManager.delSubtaskByID(id);
+                    }
+
+                    return count / 2;
+                });
+
+                workers.add(() -> {
+                    int reads = 0;
+                    for (int index = 0; index < count; index++) {
+                        for (Epic read : taskManager.getEpics()) {
+                            assertTrue(taskManager.getEpicByID(read.getId()).isPresent(), "Эпик не найден.");
+                            reads++;
+                        }
+
+                        taskManager.getPrioritizedTasks();
+                    }
+
+                    return reads;
+                });
+            }
+
+            for (Future<Integer> future : runAll(workers)) future.get();
+
+            for (Epic epic : epics) {
+                assertEquals(count / 2, taskManager.getSubtasksByEpic(epic).size(), "Потеряны изменения подзадач.");
+                assertEquals(IN_PROGRESS, epic.getStatus(), "Статус эпика рассчитан не верно.");
+            }
+            assertEquals(epics.size() * count / 2, taskManager.getPrioritizedTasks().size(),
+                    "Приоритизированный список не верен.");
+        }
+    }
+
+    private <T> List<Future<T>> runAll(List<Callable<T>> workers) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        try {
+            return executor.invokeAll(workers);
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
\ No newline at end of file
@@ -8,9 +8,11 @@ import tracker.services.TaskManager;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
+import static tracker.model.enums.Status.*;
 
 public class EpicTest {
     private static final TaskManager taskManager = Managers.getDefault();
@@ -291,4 +293,93 @@ public class EpicTest {
                         "В подзадаче не корректно рассчитано значение endTime после удаления другого эпика."),
                 () -> fail("При удалении другого эпика, с не пустыми параметрами SDE, в endTime подзадачи получено пустое значение."));
     }
+
+    @Test
+    public void shouldBeStatusCountsCorrect() {
+        //Проверим счетчики подзадач по статусам, процент выполнения и статус эпика при их изменении.
+        TaskManager taskManager = Managers.getDefault();
+
+        Epic epic = new Epic("Эпик 1", "Описание эпика 1.");
+        taskManager.addEpic(epic);
+
+        assertEquals(0, epic.getProgress(), "Процент выполнения эпика без подзадач не равен нулю.");
+
+        Subtask subtask1 = new Subtask("Подзадача 1", "Описание подзадачи 1.", epic);
+        taskManager.addSubtask(subtask1);
+        Subtask subtask2 = new Subtask("Подзадача 2", "Описание подзадачи 2.", epic);
+        taskManager.addSubtask(subtask2);
+        Subtask subtask3 = new Subtask("Подзадача 3", "Описание подзадачи 3.", epic);
+        taskManager.addSubtask(subtask3);
+        Subtask subtask4 = new Subtask("Подзадача 4", "Описание подзадачи 4.", epic);
+        taskManager.addSubtask(subtask4);
+
+        assertEquals(4, epic.getSubtasksCount(NEW), "Не учтены новые подзадачи.");
+
+        taskManager.updateSubtask(subtask1);    //NEW -> IN_PROGRESS
+        taskManager.updateSubtask(subtask1);    //IN_PROGRESS -> DONE
+        taskManager.updateSubtask(subtask2);    //NEW -> IN_PROGRESS
+
+        assertEquals(2, epic.getSubtasksCount(NEW), "Не учтена смена статуса подзадач (NEW).");
+        assertEquals(1, epic.getSubtasksCount(IN_PROGRESS), "Не учтена смена статуса подзадач (IN_PROGRESS).");
+        assertEquals(1, epic.getSubtasksCount(DONE), "Не учтена смена статуса подзадач (DONE).");
+        assertEquals(25, epic.getProgress(), "Процент выполнения эпика рассчитан не верно.");
+        assertEquals(IN_PROGRESS, epic.getStatus(), "Статус эпика рассчитан не верно.");
+
+        //Удаляем подзадачи в статусах NEW и IN_PROGRESS: остается только закрытая подзадача.
+        taskManager.delSubtaskByID(subtask2.getId());
+        taskManager.delSubtaskByID(subtask3.getId());
+        taskManager.delSubtaskByID(subtask4.getId());
+
+        assertEquals(0, epic.getSubtasksCount(NEW) + epic.getSubtasksCount(IN_PROGRESS),
+                "Не учтено удаление подзадач.");
+        assertEquals(100, epic.getProgress(), "Процент выполнения эпика рассчитан не верно.");
+        assertEquals(DONE, epic.getStatus(), "Статус эпика рассчитан не верно.");
+
+        //Смена статуса удаленной подзадачи не влияет на счетчики эпика.
+        subtask2.setStatus(DONE);
+
+        assertEquals(1, epic.getSubtasksCount(DONE), "Учтена смена статуса удаленной подзадачи.");
+    }
+
+    @Test
+    public void shouldBeSDECorrectWithEqualStartTimes() {
+        //Проверим инкрементальный расчет SDE, когда у нескольких подзадач одинаковое начало выполнения.
+        //Подзадачи в менеджер не добавляем (менеджер не допускает пересечения по времени выполнения).
+        LocalDateTime start = LocalDateTime.of(2025, 5, 1, 10, 0);
+
+        Epic epic = new Epic("Эпик 1", "Описание эпика 1.");
+        Subtask subtask1 = new Subtask("Подзадача 1", "Описание подзадачи 1.", epic, start, 10);
+        Subtask subtask2 = new Subtask("Подзадача 2", "Описание подзадачи 2.", epic, start, 20);
+        Subtask subtask3 = new Subtask("Подзадача 3", "Описание подзадачи 3.", epic);
+
+        assertEquals(Optional.of(start), epic.getStartTime(), "Не корректно рассчитано значение startTime.");
+        assertEquals(30, epic.getDuration(), "Не корректно рассчитано значение duration.");
+
+        //Одна из подзадач с минимальным началом сместилась - начало эпика не меняется.
+        subtask1.setStartTime(start.plusHours(1));
+
+        assertEquals(Optional.of(start), epic.getStartTime(), "Начало эпика изменилось при смене начала подзадачи.");
+
+        //Подзадачу с минимальным началом удалили - началом эпика становится начало оставшейся подзадачи.
+        epic.removeSubtask(subtask2);
+
+        assertEquals(Optional.of(start.plusHours(1)), epic.getStartTime(), "Не учтено удаление подзадачи.");
+        assertEquals(10, epic.getDuration(), "Не учтено удаление подзадачи.");
+        assertEquals(Optional.of(start.plusMinutes(70)), epic.getEndTime(), "Не корректно рассчитано значение endTime.");
+
+        //Подзадачу без начала выполнения запланировали раньше остальных.
+        subtask3.setStartTime(start);
+        subtask3.setDuration(15);
+
+        assertEquals(Optional.of(start), epic.getStartTime(), "Не учтено начало выполнения подзадачи.");
+        assertEquals(25, epic.getDuration(), "Не учтена длительность подзадачи.");
+
+        //У подзадач не осталось начала выполнения - показатели SDE сбрасываются.
+        subtask1.setStartTime(null);
+        subtask3.setStartTime(null);
+
+        assertEquals(Optional.empty(), epic.getStartTime(), "Показатели SDE не сброшены.");
+        assertEquals(0, epic.getDuration(), "Показатели SDE не сброшены.");
+        assertEquals(Optional.empty(), epic.getEndTime(), "Показатели SDE не сброшены.");
+    }
 }
\ No newline at end of file
@@ -461,6 +461,119 @@ public class FileBackedTaskManagerTest {
         }
     }
 
+    @Test
+    public void checkAddTasksBatchAndLoad() {
+        //Пакет сохраняется в файл, после загрузки задачи и подзадачи попадают в приоритизированный список.
+        TaskManager taskManager = Managers.getDefault(true);
+
+        LocalDateTime startTime = LocalDateTime.of(2_025, 2, 10, 9, 0, 0);
+
+        Epic epic = new Epic("Эпик 1", "Описание эпика 1.");
+        Task task1 = new Task("Задача 1", "Описание задачи 1.", startTime.plusHours(2), 30);
+        Subtask subtask = new Subtask("Подзадача 1", "Описание подзадачи 1.", epic, startTime, 45);
+        Task task2 = new Task("Задача 2", "Описание задачи 2.", startTime.plusHours(1), 30);
+
+        List<Integer> ids = taskManager.addTasks(List.of(epic, task1, subtask, task2));
+        assertEquals(List.of(1, 2, 3, 4), ids, "Элементам пакета присвоены не корректные id.");
+
+        TaskManager taskManager2 = FileBackedTaskManager.loadFromFile(((FileBackedTaskManager) taskManager).getFileNameSave());
+
+        List<Task> prioritizedTasks = taskManager2.getPrioritizedTasks();
+        assertEquals(3, prioritizedTasks.size(), "Загруженные задачи не попали в приоритизированный список.");
+        assertEquals(List.of(subtask.getId(), task2.getId(), task1.getId()),
+                prioritizedTasks.stream().map(Task::getId).toList(), "Приоритизированный список загружен не верно.");
+    }
+
+    @Test
+    public void checkHistoryLogAndLoad() throws IOException {
+        //Просмотры дописываются в журнал истории, после загрузки история восстанавливается
+        //(без удаленных задач), журнал сжимается.
+        TaskManager taskManager = Managers.getDefault(true);
+
+        Task task1 = new Task("Задача 1", "Описание задачи 1.");    //id = 1
+        Task task2 = new Task("Задача 2", "Описание задачи 2.");    //id = 2
+        Epic epic = new Epic("Эпик 1", "Описание эпика 1.");    //id = 3
+        Subtask subtask = new Subtask("Подзадача 1", "Описание подзадачи 1.", epic);  //id = 4
+        taskManager.addTasks(List.of(task1, task2, epic, subtask));
+
+        Path fileName = ((FileBackedTaskManager) taskManager).getFileNameSave();
+        long sizeFile = Files.size(fileName);
+
+        taskManager.getTaskByID(task1.getId());
+        taskManager.getSubtaskByID(subtask.getId());
+        taskManager.getTaskByID(task2.getId());
+        taskManager.getEpicByID(epic.getId());
+        taskManager.getTaskByID(task1.getId());
+
+        assertEquals(sizeFile, Files.size(fileName), "Файл задач изменен при просмотрах.");
+
+        taskManager.delTaskByID(task2.getId());
+
+        Path historyFileName = ((FileBackedTaskManager) taskManager).getHistoryFileName();
+        assertEquals(5, Files.readAllLines(historyFileName).size(), "Просмотры не дописаны в журнал истории.");
+
+        FileBackedTaskManager taskManager2 = FileBackedTaskManager.loadFromFile(fileName);
+
+        assertEquals(List.of(subtask.getId(), epic.getId(), task1.getId()),
+                taskManager2.getHistoryManager().getHistory().stream().map(Task::getId).toList(),
+                "История просмотров восстановлена не верно.");
+        assertEquals(3, Files.readAllLines(historyFileName).size(), "Журнал истории не сжат после загрузки.");
+
+        Files.deleteIfExists(fileName);
+        Files.deleteIfExists(historyFileName);
+    }
+
+    @Test
+    public void checkHistoryLogCompaction() throws IOException {
+        //Многократные просмотры нескольких задач: журнал сжимается, история после загрузки та же.
+        TaskManager taskManager = Managers.getDefault(true);
+
+        Task task1 = new Task("Задача 1", "Описание задачи 1.");
+        Task task2 = new Task("Задача 2", "Описание задачи 2.");
+        taskManager.addTasks(List.of(task1, task2));
+
+        for (int index = 0; index < 3_000; index++) {
+            taskManager.getTaskByID(task2.getId());
+            taskManager.getTaskByID(task1.getId());
+        }
+
+        Path fileName = ((FileBackedTaskManager) taskManager).getFileNameSave();
+        Path historyFileName = ((FileBackedTaskManager) taskManager).getHistoryFileName();
+        assertTrue(Files.readAllLines(historyFileName).size() < 2_000, "Журнал истории не сжимается.");
+
+        FileBackedTaskManager taskManager2 = FileBackedTaskManager.loadFromFile(fileName);
+
+        assertEquals(List.of(task2.getId(), task1.getId()),
+                taskManager2.getHistoryManager().getHistory().stream().map(Task::getId).toList(),
+                "История просмотров восстановлена не верно.");
+
+        Files.deleteIfExists(fileName);
+        Files.deleteIfExists(historyFileName);
+    }
+
+    @Test
+    public void shouldBeExceptionWithTooLargeId() throws IOException {
+        //Задача с id больше допустимого (поврежденный файл) не загружается: выбрасывается ManagerSaveException,
+        //а не ошибка выделения памяти под хранилище.
+        TaskManager taskManager = Managers.getDefault(true);
+
+        Task task = new Task("Задача 1", "Описание задачи 1.");
+        taskManager.addTask(task);
+
+        Path fileName = ((FileBackedTaskManager) taskManager).getFileNameSave();
+        Path historyFileName = ((FileBackedTaskManager) taskManager).getHistoryFileName();
+
+        List<String> lines = Files.readAllLines(fileName);
+        lines.replaceAll(line -> line.replaceFirst("^" + task.getId(), String.valueOf(Integer.MAX_VALUE)));
+        Files.write(fileName, lines);
+
+        assertThrows(ManagerSaveException.class, () -> FileBackedTaskManager.loadFromFile(fileName),
+                "Не выброшено исключение при загрузке задачи с недопустимым id.");
+
+        Files.deleteIfExists(fileName);
+        Files.deleteIfExists(historyFileName);
+    }
+
     private boolean isEqualsFields(Task task1, Task task2) {
         return (task1.getId() == task2.getId()) &&                      //id
                 (task1.getClass().equals(task2.getClass())) &&          //type
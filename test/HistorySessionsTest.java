@@ -0,0 +1,86 @@
+import org.junit.jupiter.api.Test;
+import tracker.model.tasks.Task;
+import tracker.services.HistorySessions;
+import tracker.services.Managers;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HistorySessionsTest {
+
+    private static Task createTask(int id) {
+        Task task = new Task(String.valueOf(id), "");
+        task.setId(id);
+
+        return task;
+    }
+
+    @Test
+    public void checkSessionsAreSeparateAndBounded() {
+        //Подготовка.
+        HistorySessions historySessions = Managers.getHistorySessions(2, Duration.ofMinutes(1), 100);
+
+        Task task1 = createTask(1);
+        Task task2 = createTask(2);
+        Task task3 = createTask(3);
+
+        //Исполнение.
+        historySessions.add("A", task1);
+        historySessions.add("A", task2);
+        historySessions.add("A", task3);
+        historySessions.add("B", task1);
+
+        historySessions.remove(task1.getId());
+
+        //Проверка.
+        assertEquals(List.of(task2, task3), historySessions.getHistory("A").getHistory(),
+                "История сессии не ограничена по размеру.");
+        assertEquals(1, historySessions.getHistory("A").getEvictions(), "Не верно количество вытесненных задач.");
+        assertEquals(List.of(), historySessions.getHistory("B").getHistory(), "Задача не удалена из сессии.");
+        assertSame(historySessions.getHistory("A"), historySessions.getHistory("A"), "Сессия создана повторно.");
+
+        //Память сессии зависит от ее размера, а не от id задач.
+        Task bigIdTask = createTask(Integer.MAX_VALUE - 1);
+        historySessions.add("B", bigIdTask);
+
+        assertEquals(List.of(bigIdTask), historySessions.getHistory("B").getHistory(), "Задача не попала в сессию.");
+    }
+
+    @Test
+    public void checkMemoryCap() {
+        //Подготовка: общий объем - две сессии по 5 задач.
+        HistorySessions historySessions = Managers.getHistorySessions(5, Duration.ofMinutes(1), 10);
+
+        //Исполнение.
+        historySessions.add("A", createTask(1));
+        historySessions.add("B", createTask(2));
+        historySessions.getHistory("A");    //обращение к сессии A: дольше всех не обращались к сессии B
+        historySessions.add("C", createTask(3));
+
+        //Проверка.
+        assertEquals(2, historySessions.size(), "Превышен общий объем сессий.");
+        assertEquals(1, historySessions.getExpired(), "Не верно количество удаленных сессий.");
+        assertEquals(1, historySessions.getHistory("A").getHistory().size(), "Удалена не самая старая сессия.");
+    }
+
+    @Test
+    public void checkIdleSessionsExpire() throws InterruptedException {
+        //Подготовка.
+        HistorySessions historySessions = Managers.getHistorySessions(5, Duration.ofMillis(50), 100);
+
+        historySessions.add("A", createTask(1));
+        historySessions.add("B", createTask(2));
+
+        //Исполнение.
+        Thread.sleep(120);
+        historySessions.add("C", createTask(3));
+
+        //Проверка.
+        assertEquals(1, historySessions.size(), "Сессии без обращений не удалены.");
+        assertTrue(historySessions.getExpired() >= 2, "Не верно количество удаленных сессий.");
+    }
+}
\ No newline at end of file
@@ -100,7 +100,13 @@ public class HttpTaskManagerEpicsTest {
                 "    \"name\": \"Эпик 1\",\n" +
                 "    \"descr\": \"Описание эпика 1.\",\n" +
                 "    \"startTime\": \"14-01-2025*****05:17:46\",\n" +
-                "    \"duration\": 15\n" +
+                "    \"duration\": 15,\n" +
+                "    \"progress\": {\n" +
+                "      \"new\": 2,\n" +
+                "      \"inProgress\": 0,\n" +
+                "      \"done\": 0,\n" +
+                "      \"percent\": 0\n" +
+                "    }\n" +
                 "  },\n" +
                 "  {\n" +
                 "    \"endTime\": \"18-01-2025*****09:51:16\",\n" +
@@ -109,7 +115,13 @@ public class HttpTaskManagerEpicsTest {
                 "    \"name\": \"Эпик 2\",\n" +
                 "    \"descr\": \"Описание эпика 2.\",\n" +
                 "    \"startTime\": \"18-01-2025*****09:25:16\",\n" +
-                "    \"duration\": 26\n" +
+                "    \"duration\": 26,\n" +
+                "    \"progress\": {\n" +
+                "      \"new\": 1,\n" +
+                "      \"inProgress\": 0,\n" +
+                "      \"done\": 0,\n" +
+                "      \"percent\": 0\n" +
+                "    }\n" +
                 "  }\n" +
                 "]";
 
@@ -140,7 +152,13 @@ public class HttpTaskManagerEpicsTest {
                 "  \"name\": \"Эпик 2\",\n" +
                 "  \"descr\": \"Описание эпика 2.\",\n" +
                 "  \"startTime\": \"18-01-2025*****09:25:16\",\n" +
-                "  \"duration\": 26\n" +
+                "  \"duration\": 26,\n" +
+                "  \"progress\": {\n" +
+                "    \"new\": 1,\n" +
+                "    \"inProgress\": 0,\n" +
+                "    \"done\": 0,\n" +
+                "    \"percent\": 0\n" +
+                "  }\n" +
                 "}";
 
         assertTrue(etalon.equals(response.body()), "Информация по эпику не корректна.");
@@ -1,5 +1,7 @@
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +19,8 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -157,4 +161,55 @@ public class HttpTaskManagerHistoryTest {
         // проверяем код ответа
         assertEquals(405, response.statusCode());
     }
+
+    @Test
+    public void testGetSessionHistory() throws IOException, InterruptedException {
+        TestDataWebAPI.createTask(taskManager); //используем заготовку тестовых задач
+
+        HttpClient client = HttpClient.newHttpClient();
+
+        //Клиент A смотрит задачу 1, эпик 4 и его подзадачу 5, клиент B - задачу 2, без сессии - задачу 3.
+        String[][] views = {{"A", "tasks/1"}, {"A", "epics/4"}, {"A", "subtasks/5"}, {"B", "tasks/2"},
+                {null, "tasks/3"}};
+        for (String[] view : views) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder()
+                    .uri(URI.create("http://localhost:8080/" + view[1]))
+                    .GET();
+            if (view[0] != null) builder.header("X-Session-Id", view[0]);
+
+            HttpResponse<String> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, response.statusCode());
+        }
+
+        // Удаляем эпик: он удаляется из истории сессии вместе с подзадачей.
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/epics/4"))
+                .DELETE()
+                .build();
+        assertEquals(200, client.send(request, HttpResponse.BodyHandlers.ofString()).statusCode());
+
+        // Проверяем истории сессий.
+        assertEquals(List.of(1), getHistoryIds(client, "A"), "История сессии A не верна.");
+        assertEquals(List.of(2), getHistoryIds(client, "B"), "История сессии B не верна.");
+        assertEquals(List.of(), getHistoryIds(client, "C"), "История новой сессии не пуста.");
+        assertTrue(getHistoryIds(client, null).containsAll(List.of(1, 2, 3)),
+                "Общая история не содержит просмотры всех клиентов.");
+        assertEquals(3, httpTaskServer.getHistorySessions().size(), "Количество сессий не верно.");
+    }
+
+    private List<Integer> getHistoryIds(HttpClient client, String sessionId) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/history"))
+                .GET();
+        if (sessionId != null) builder.header("X-Session-Id", sessionId);
+
+        HttpResponse<String> response = client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+
+        List<Integer> ids = new ArrayList<>();
+        for (JsonElement element : JsonParser.parseString(response.body()).getAsJsonArray())
+            ids.add(element.getAsJsonObject().get("id").getAsInt());
+
+        return ids;
+    }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +19,9 @@ import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -134,4 +139,72 @@ public class HttpTaskManagerPrioritizedTest {
         // проверяем код ответа
         assertEquals(405, response.statusCode());
     }
+
+    @Test
+    public void testGetPrioritizedTasksWindow() throws IOException, InterruptedException {
+        TestDataWebAPI.createTask(taskManager); //используем заготовку тестовых задач
+
+        //Порядок по началу выполнения: Подзадача 11 (5), Задача 2 (2), Задача 1 (1), Подзадача 21 (8).
+        HttpClient client = HttpClient.newHttpClient();
+
+        //Первая страница.
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/prioritized?limit=2"))
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        assertEquals(List.of(5, 2), getIds(response.body()), "Первая страница приоритизированного списка не верна.");
+
+        Optional<String> cursor = response.headers().firstValue("X-Next-Cursor");
+        assertEquals(Optional.of("15-01-2025*****02:03:51,2"), cursor, "Курсор следующей страницы не верен.");
+
+        //Вторая (последняя) страница.
+        response = client.send(HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/prioritized?limit=2&cursor=" + cursor.get()))
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        assertEquals(List.of(1, 8), getIds(response.body()), "Вторая страница приоритизированного списка не верна.");
+        assertTrue(response.headers().firstValue("X-Next-Cursor").isEmpty(), "Для последней страницы передан курсор.");
+
+        //Окно по началу выполнения.
+        response = client.send(HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/prioritized?from=15-01-2025*****00:00:00" +
+                        "&to=18-01-2025*****00:00:00"))
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        assertEquals(List.of(2, 1), getIds(response.body()), "Окно приоритизированного списка не верно.");
+
+        //Курсор с тем же началом выполнения, но меньшим id: задача курсора отдается.
+        response = client.send(HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/prioritized?limit=2&cursor=15-01-2025*****02:03:51,1"))
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        assertEquals(List.of(2, 1), getIds(response.body()), "Страница после курсора (начало, id) не верна.");
+
+        //Не корректные параметры.
+        response = client.send(HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/prioritized?limit=-1"))
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(400, response.statusCode());
+
+        response = client.send(HttpRequest.newBuilder()
+                .uri(URI.create("http://localhost:8080/prioritized?limit=2&cursor=15-01-2025*****02:03:51"))
+                .GET()
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertEquals(400, response.statusCode(), "Принят курсор без id задачи.");
+    }
+
+    private List<Integer> getIds(String json) {
+        List<Integer> ids = new ArrayList<>();
+
+        for (JsonElement jsonElement : JsonParser.parseString(json).getAsJsonArray()) {
+            ids.add(jsonElement.getAsJsonObject().get("id").getAsInt());
+        }
+
+        return ids;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+import com.google.gson.JsonArray;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tracker.services.Managers;
+import tracker.services.TaskManager;
+import tracker.webapi.HttpTaskServer;
+import tracker.webapi.handlers.TestDataWebAPI;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HttpTaskManagerSearchTest {
+    TaskManager taskManager = Managers.getDefault();
+    HttpTaskServer httpTaskServer = new HttpTaskServer(taskManager);
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        taskManager.delAllTasks();
+        taskManager.delAllSubtasks();
+        taskManager.delAllEpics();
+        httpTaskServer.runWebServices();
+    }
+
+    @AfterEach
+    public void shutDown() throws IOException {
+        httpTaskServer.stopWebServices();
+    }
+
+    private HttpResponse<String> search(String query) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/search?" + query);
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(url)
+                .GET()
+                .build();
+
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    @Test
+    public void testSearch() throws IOException, InterruptedException {
+        TestDataWebAPI.createTask(taskManager); //используем заготовку тестовых задач
+
+        String q = URLEncoder.encode("подзадач", StandardCharsets.UTF_8);
+
+        //Подзадачи 11 (5), 12 (6) и 21 (8) имеют одинаковый ранг: упорядочены по id.
+        HttpResponse<String> response = search("q=" + q + "&limit=2");
+        assertEquals(200, response.statusCode());
+
+        JsonArray found = JsonParser.parseString(response.body()).getAsJsonArray();
+        assertEquals(2, found.size(), "Размер страницы не верен.");
+        assertEquals(5, found.get(0).getAsJsonObject().get("id").getAsInt(), "Порядок результатов не верен.");
+        assertEquals(6, found.get(1).getAsJsonObject().get("id").getAsInt(), "Порядок результатов не верен.");
+        assertEquals("SUBTASK", found.get(0).getAsJsonObject().get("type").getAsString(), "Тип не указан.");
+        assertEquals(Optional.of("2"), response.headers().firstValue("X-Next-Offset"),
+                "Позиция следующей страницы не передана.");
+
+        response = search("q=" + q + "&limit=2&offset=2");
+        assertEquals(200, response.statusCode());
+
+        found = JsonParser.parseString(response.body()).getAsJsonArray();
+        assertEquals(1, found.size(), "Размер последней страницы не верен.");
+        assertEquals(8, found.get(0).getAsJsonObject().get("id").getAsInt(), "Порядок результатов не верен.");
+        assertEquals(Optional.empty(), response.headers().firstValue("X-Next-Offset"), "Лишняя страница.");
+
+        //В результате только задачи со всеми словами запроса: "Описание эпика 1." есть только у эпика 1 (4).
+        response = search("q=" + URLEncoder.encode("эпика 1", StandardCharsets.UTF_8));
+        found = JsonParser.parseString(response.body()).getAsJsonArray();
+        assertEquals(1, found.size(), "Найдены задачи не со всеми словами.");
+        assertEquals(4, found.get(0).getAsJsonObject().get("id").getAsInt(), "Найдена не та задача.");
+        assertEquals("EPIC", found.get(0).getAsJsonObject().get("type").getAsString(), "Тип не указан.");
+    }
+
+    @Test
+    public void testSearchBadRequest() throws IOException, InterruptedException {
+        assertEquals(400, search("limit=10").statusCode(), "Принят запрос без текста поиска.");
+        assertEquals(400, search("q=abc&offset=-1").statusCode(), "Принята отрицательная позиция страницы.");
+        assertEquals(400, search("q=abc&offset=2147483647&limit=10").statusCode(),
+                "Принята страница, позиция следующей страницы которой не представима.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tracker.services.Managers;
+import tracker.services.TaskManager;
+import tracker.webapi.HttpTaskServer;
+import tracker.webapi.handlers.TestDataWebAPI;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HttpTaskManagerSlotsTest {
+    TaskManager taskManager = Managers.getDefault();
+    HttpTaskServer httpTaskServer = new HttpTaskServer(taskManager);
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        taskManager.delAllTasks();
+        taskManager.delAllSubtasks();
+        taskManager.delAllEpics();
+        httpTaskServer.runWebServices();
+    }
+
+    @AfterEach
+    public void shutDown() throws IOException {
+        httpTaskServer.stopWebServices();
+    }
+
+    @Test
+    public void testGetFreeSlot() throws IOException, InterruptedException {
+        TestDataWebAPI.createTask(taskManager); //используем заготовку тестовых задач
+
+        //Задача 2 (2) выполняется 15.01.2025 с 02:03:51 до 05:10:51.
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/slots?duration=60&after=15-01-2025*****02:00:00");
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(url)
+                .GET()
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+
+        JsonObject slot = JsonParser.parseString(response.body()).getAsJsonObject();
+        assertEquals("15-01-2025*****05:11:00", slot.get("startTime").getAsString(),
+                "Начало свободного интервала не верно.");
+        assertEquals("15-01-2025*****06:11:00", slot.get("endTime").getAsString(),
+                "Конец свободного интервала не верен.");
+        assertEquals(60, slot.get("duration").getAsLong(), "Длительность свободного интервала не верна.");
+    }
+
+    @Test
+    public void testGetFreeSlotBadRequest() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/slots?after=15-01-2025*****02:00:00");
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(url)
+                .GET()
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(400, response.statusCode());
+
+        url = URI.create("http://localhost:8080/slots?duration=100000000000&after=15-01-2025*****02:00:00");
+        request = HttpRequest.newBuilder()
+                .uri(url)
+                .GET()
+                .build();
+
+        response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(400, response.statusCode(), "Принята слишком большая длительность интервала.");
+    }
+
+    @Test
+    public void testMethodNotAllowed() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/slots?duration=60");
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(url)
+                .DELETE()
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(405, response.statusCode());
+    }
+}
\ No newline at end of file
@@ -271,4 +271,157 @@ public class HttpTaskManagerTasksTest {
         // проверяем код ответа
         assertEquals(405, response.statusCode());
     }
+
+    @Test
+    public void testCreateTaskAutoschedule() throws IOException, InterruptedException {
+        TestDataWebAPI.createTask(taskManager); //используем заготовку тестовых задач
+
+        //Задача пересекается с Задачей 2 (15.01.2025 02:03:51 - 05:10:51), поэтому переносится на ее окончание.
+        Task task = new Task("Test 2", "Testing task 2", LocalDateTime.of(2_025, 1, 15, 3, 0, 0), 30);
+        String taskJson = gson.toJson(task);
+
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/tasks");
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(url)
+                .POST(HttpRequest.BodyPublishers.ofString(taskJson))
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(406, response.statusCode(), "Допущено пересечение задач.");
+
+        url = URI.create("http://localhost:8080/tasks?autoschedule=yes");
+        request = HttpRequest.newBuilder()
+                .uri(url)
+                .POST(HttpRequest.BodyPublishers.ofString(taskJson))
+                .build();
+
+        response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(400, response.statusCode(), "Принято не корректное значение autoschedule.");
+
+        url = URI.create("http://localhost:8080/tasks?autoschedule=true");
+        request = HttpRequest.newBuilder()
+                .uri(url)
+                .POST(HttpRequest.BodyPublishers.ofString(taskJson))
+                .build();
+
+        response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(201, response.statusCode());
+
+        Optional<Task> taskScheduled = taskManager.getTasks().stream()
+                .filter(taskCur -> taskCur.getName().equals("Test 2"))
+                .findFirst();
+        assertTrue(taskScheduled.isPresent(), "Задача не добавлена.");
+        assertEquals(Optional.of(LocalDateTime.of(2_025, 1, 15, 5, 11, 0)), taskScheduled.get().getStartTime(),
+                "Задача размещена не в ближайшем свободном интервале.");
+    }
+
+    @Test
+    public void testGetTasksIncludeArchived() throws IOException, InterruptedException {
+        TestDataWebAPI.createTask(taskManager); //используем заготовку тестовых задач
+
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/tasks?includeArchived=true");
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(url)
+                .GET()
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        assertEquals(gson.toJson(taskManager.getTasks(true)), response.body(), "Список задач с архивом не корректен.");
+
+        url = URI.create("http://localhost:8080/tasks?includeArchived=yes");
+        request = HttpRequest.newBuilder()
+                .uri(url)
+                .GET()
+                .build();
+
+        response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(400, response.statusCode(), "Принято не корректное значение параметра.");
+    }
+
+    @Test
+    public void testGetTasksByStatus() throws IOException, InterruptedException {
+        TestDataWebAPI.createTask(taskManager); //используем заготовку тестовых задач
+
+        Task task = taskManager.getTaskByID(3).orElseThrow();
+        taskManager.updateTask(task);   //NEW -> IN_PROGRESS
+
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/tasks?status=in_progress");
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(url)
+                .GET()
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        assertEquals(gson.toJson(List.of(task)), response.body(), "Список задач по статусу не корректен.");
+
+        url = URI.create("http://localhost:8080/tasks?status=CLOSED");
+        request = HttpRequest.newBuilder()
+                .uri(url)
+                .GET()
+                .build();
+
+        response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(400, response.statusCode(), "Принят не корректный статус.");
+    }
+
+    @Test
+    public void testGetTasksPage() throws IOException, InterruptedException {
+        TestDataWebAPI.createTask(taskManager); //используем заготовку тестовых задач (id задач: 1, 2, 3)
+
+        HttpClient client = HttpClient.newHttpClient();
+        URI url = URI.create("http://localhost:8080/tasks?limit=2");
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(url)
+                .GET()
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        assertEquals(gson.toJson(taskManager.getTasks().subList(0, 2)), response.body(), "Первая страница не верна.");
+        assertEquals(Optional.of("2"), response.headers().firstValue("X-Next-Cursor"), "Курсор не передан.");
+
+        url = URI.create("http://localhost:8080/tasks?limit=2&after=2");
+        request = HttpRequest.newBuilder()
+                .uri(url)
+                .GET()
+                .build();
+
+        response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode());
+        assertEquals(gson.toJson(taskManager.getTasks().subList(2, 3)), response.body(), "Вторая страница не верна.");
+        assertEquals(Optional.empty(), response.headers().firstValue("X-Next-Cursor"), "Лишний курсор.");
+
+        url = URI.create("http://localhost:8080/tasks?limit=2&after=0");  //after=0 - с начала списка
+        request = HttpRequest.newBuilder()
+                .uri(url)
+                .GET()
+                .build();
+
+        response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(200, response.statusCode(), "Не принят курсор начала списка.");
+        assertEquals(gson.toJson(taskManager.getTasks().subList(0, 2)), response.body(), "Первая страница не верна.");
+
+        url = URI.create("http://localhost:8080/tasks?limit=2&after=-1");
+        request = HttpRequest.newBuilder()
+                .uri(url)
+                .GET()
+                .build();
+
+        response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(400, response.statusCode(), "Принят отрицательный курсор.");
+
+        url = URI.create("http://localhost:8080/tasks?limit=0");
+        request = HttpRequest.newBuilder()
+                .uri(url)
+                .GET()
+                .build();
+
+        response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        assertEquals(400, response.statusCode(), "Принят не корректный размер страницы.");
+    }
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class InMemoryHistoryManagerTest {
     private static final TaskManager taskManager = Managers.getDefault();
@@ -100,4 +101,45 @@ public class InMemoryHistoryManagerTest {
 
         assertEquals(testDel, historyManager.getHistory(), "Задачи не удалены из истории.");
     }
+
+    @Test
+    public void checkBoundedHistory() {
+        //Подготовка.
+        HistoryManager boundedHistory = Managers.getDefaultHistory(3);
+
+        List<Task> tasks = new ArrayList<>();
+        for (int id = 1; id <= 5; id++) {
+            Task task = new Task(String.valueOf(id), "");
+            task.setId(id);
+            tasks.add(task);
+        }
+
+        //Исполнение.
+        for (Task task : tasks) boundedHistory.add(task);
+
+        //Проверка: остались три последние задачи, две самые старые вытеснены.
+        assertEquals(List.of(tasks.get(2), tasks.get(3), tasks.get(4)), boundedHistory.getHistory(),
+                "Из истории вытеснены не самые старые задачи.");
+        assertEquals(2, boundedHistory.getEvictions(), "Не верно количество вытесненных задач.");
+
+        //Повторный просмотр задачи из истории не вытесняет других задач.
+        boundedHistory.add(tasks.get(2));
+
+        assertEquals(List.of(tasks.get(3), tasks.get(4), tasks.get(2)), boundedHistory.getHistory(),
+                "Повторно просмотренная задача не перенесена в конец истории.");
+        assertEquals(2, boundedHistory.getEvictions(), "Повторный просмотр вытеснил задачу из истории.");
+
+        //После удаления задачи из истории новая задача не вытесняет других.
+        boundedHistory.remove(tasks.get(3).getId());
+        boundedHistory.add(tasks.get(0));
+
+        assertEquals(List.of(tasks.get(4), tasks.get(2), tasks.get(0)), boundedHistory.getHistory(),
+                "Не верна история после удаления задачи.");
+        assertEquals(2, boundedHistory.getEvictions(), "Не верно количество вытесненных задач.");
+
+        assertEquals(0, historyManager.getEvictions(), "Из неограниченной истории вытеснены задачи.");
+
+        assertThrows(IllegalArgumentException.class, () -> Managers.getDefaultHistory(0),
+                "Создана история нулевого размера.");
+    }
 }
\ No newline at end of file
@@ -1,4 +1,5 @@
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import tracker.model.tasks.Epic;
 import tracker.model.tasks.Subtask;
@@ -9,6 +10,7 @@ import tracker.services.TaskManager;
 import tracker.services.exceptions.CrossTimeExecution;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
@@ -18,13 +20,25 @@ import static org.junit.jupiter.api.Assertions.*;
 import static tracker.model.enums.Status.*;
 
 public class InMemoryTaskManagerTest {
-    private static final TaskManager taskManager = Managers.getDefault();
-    private static final HistoryManager historyManager = taskManager.getHistoryManager();
+    private TaskManager taskManager;
+    private HistoryManager historyManager;
+
+    /// Проверяемый менеджер задач. Наследники проверяют по этому же контракту другие реализации.
+    protected TaskManager createTaskManager() {
+        return Managers.getDefault();
+    }
 
     @BeforeAll
     public static void init() {
     }
 
+    @BeforeEach
+    public void setUp() {
+        //Менеджер создается здесь, а не при инициализации полей: createTaskManager переопределяют наследники.
+        taskManager = createTaskManager();
+        historyManager = taskManager.getHistoryManager();
+    }
+
     @Test
     public void addTask() {
         String name = "Задача 1";
@@ -505,7 +519,7 @@ public class InMemoryTaskManagerTest {
         //      - Epic2
         //      - Subtask21(Epic2)
 
-        TaskManager taskManager = Managers.getDefault();
+        TaskManager taskManager = createTaskManager();
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy|HH.mm.ss");
 
@@ -666,7 +680,7 @@ public class InMemoryTaskManagerTest {
         //      - Epic2
         //      - Subtask21(Epic2)
 
-        TaskManager taskManager = Managers.getDefault();
+        TaskManager taskManager = createTaskManager();
 
         DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd.MM.yyyy|HH.mm.ss");
 
@@ -842,4 +856,489 @@ public class InMemoryTaskManagerTest {
                 "Не выброшено исключение при изменении значения поля duration у подзадачи на пересекаемое.");
         wrapper.task.setDuration(oldValueDuration);
     }
+
+    @Test
+    public void checkCrossTimeExecutionBounds() {
+        //Проверяем границы интервалов: касание концами считается пересечением,
+        //задача нулевой длительности внутри чужого интервала пересекается с ним.
+        TaskManager taskManager = createTaskManager();
+
+        LocalDateTime startTime = LocalDateTime.of(2_025, 2, 1, 10, 0, 0);
+
+        //Много непересекающихся задач с интервалом в один час (по 30 минут работы).
+        for (int i = 0; i < 1_000; i++) {
+            taskManager.addTask(new Task("Задача " + i, "Описание задачи " + i, startTime.plusHours(i), 30));
+        }
+
+        assertThrows(CrossTimeExecution.class, () -> taskManager.addTask(new Task("Задача Тест",
+                        "Описание задачи Тест", startTime.plusMinutes(30), 10)),
+                "Не выброшено исключение при касании начала задачи с концом существующей задачи.");
+
+        assertThrows(CrossTimeExecution.class, () -> taskManager.addTask(new Task("Задача Тест",
+                        "Описание задачи Тест", startTime.plusMinutes(50), 10)),
+                "Не выброшено исключение при касании конца задачи с началом существующей задачи.");
+
+        assertThrows(CrossTimeExecution.class, () -> taskManager.addTask(new Task("Задача Тест",
+                        "Описание задачи Тест", startTime.plusMinutes(10), 0)),
+                "Не выброшено исключение при добавлении задачи нулевой длительности внутрь существующей задачи.");
+
+        assertThrows(CrossTimeExecution.class, () -> taskManager.addTask(new Task("Задача Тест",
+                        "Описание задачи Тест", startTime.minusMinutes(10), 600)),
+                "Не выброшено исключение при добавлении задачи, накрывающей несколько существующих задач.");
+
+        assertDoesNotThrow(() -> taskManager.addTask(new Task("Задача Тест", "Описание задачи Тест",
+                        startTime.plusMinutes(31), 28)),
+                "При добавлении задачи в промежуток между задачами возникла ошибка.");
+
+        assertEquals(1_001, taskManager.getPrioritizedTasks().size(), "Количество приоритизированных задач не верно.");
+    }
+
+    @Test
+    public void checkPrioritizedTasksRollback() {
+        //При пересечении по времени выполнения после изменения startTime (duration) задача остается
+        //в приоритизированном списке на прежнем месте.
+        TaskManager taskManager = createTaskManager();
+
+        LocalDateTime startTime = LocalDateTime.of(2_025, 3, 1, 10, 0, 0);
+
+        Task task1 = new Task("Задача 1", "Описание задачи 1.", startTime, 30);
+        taskManager.addTask(task1);
+        Task task2 = new Task("Задача 2", "Описание задачи 2.", startTime.plusHours(1), 30);
+        taskManager.addTask(task2);
+        Task task3 = new Task("Задача 3", "Описание задачи 3.", startTime.plusHours(2), 30);
+        taskManager.addTask(task3);
+
+        List<Task> etalonAllTasks = List.of(task1, task2, task3);
+
+        assertThrows(CrossTimeExecution.class, () -> task1.setStartTime(startTime.plusHours(2)),
+                "Не выброшено исключение при изменении значения поля startTime у задачи на пересекаемое.");
+        assertEquals(etalonAllTasks, taskManager.getPrioritizedTasks(),
+                "Приоритизированный список изменился после отклоненного изменения начала работ.");
+
+        assertThrows(CrossTimeExecution.class, () -> task2.setDuration(90),
+                "Не выброшено исключение при изменении значения поля duration у задачи на пересекаемое.");
+        assertEquals(etalonAllTasks, taskManager.getPrioritizedTasks(),
+                "Приоритизированный список изменился после отклоненного изменения длительности.");
+
+        //Отклоненное значение в задаче не остается.
+        assertEquals(Optional.of(startTime), task1.getStartTime(),
+                "После отклоненного изменения начала работ в задаче осталось новое значение.");
+        assertEquals(30, task2.getDuration(),
+                "После отклоненного изменения длительности в задаче осталось новое значение.");
+        assertEquals(startTime.plusHours(1).toEpochSecond(ZoneOffset.UTC) + 30 * 60, task2.getEndEpochSecond(),
+                "После отклоненного изменения длительности не восстановлен конец выполнения задачи.");
+
+        //После отката задача перемещается без дублирования.
+        task1.setStartTime(startTime.plusHours(3));
+        assertEquals(List.of(task2, task3, task1), taskManager.getPrioritizedTasks(),
+                "Список задач после изменения начала работ приоритизирован не верно.");
+
+        task2.setDuration(30);
+        task1.setStartTime(null);
+        assertEquals(List.of(task2, task3), taskManager.getPrioritizedTasks(),
+                "Список задач после изменения начала работ (в null) приоритизирован не верно.");
+
+        //Эпик, уже принявший изменение сроков подзадачи, возвращается к прежним срокам вместе с ней.
+        Epic epic = new Epic("Эпик 1", "Описание эпика 1.");
+        taskManager.addEpic(epic);
+        Subtask subtask = new Subtask("Подзадача 1", "Описание подзадачи 1.", epic, startTime.plusHours(4), 30);
+        taskManager.addSubtask(subtask);
+
+        assertThrows(CrossTimeExecution.class, () -> subtask.setStartTime(startTime.plusHours(2)),
+                "Не выброшено исключение при изменении значения поля startTime у подзадачи на пересекаемое.");
+        assertEquals(Optional.of(startTime.plusHours(4)), subtask.getStartTime(),
+                "После отклоненного изменения начала работ в подзадаче осталось новое значение.");
+        assertEquals(Optional.of(startTime.plusHours(4)), epic.getStartTime(),
+                "После отклоненного изменения начала работ подзадачи не восстановлено начало работ эпика.");
+        assertEquals(Optional.of(startTime.plusHours(4).plusMinutes(30)), epic.getEndTime(),
+                "После отклоненного изменения начала работ подзадачи не восстановлен конец работ эпика.");
+    }
+
+    @Test
+    public void checkFreeSlots() {
+        TaskManager taskManager = createTaskManager();
+
+        LocalDateTime startTime = LocalDateTime.of(2_025, 4, 1, 10, 0, 0);
+
+        Task task1 = new Task("Задача 1", "Описание задачи 1.", startTime, 30);  //10:00 - 10:30
+        taskManager.addTask(task1);
+        Task task2 = new Task("Задача 2", "Описание задачи 2.", startTime.plusSeconds(1_890), 8);  //10:31:30 - 10:39:30
+        taskManager.addTask(task2);
+
+        assertFalse(taskManager.isTimeSlotFree(startTime.plusMinutes(30), 0), "Конец задачи не считается занятым.");
+        assertTrue(taskManager.isTimeSlotFree(startTime.plusSeconds(1_810), 1), "Промежуток между задачами занят.");
+
+        assertEquals(startTime.plusMinutes(40), taskManager.findFreeSlot(15, startTime),
+                "Не верно найден ближайший свободный интервал.");
+        assertEquals(startTime.minusMinutes(20), taskManager.findFreeSlot(15, startTime.minusMinutes(20)),
+                "Свободный интервал перед задачами не найден.");
+        assertEquals(startTime.plusMinutes(40), taskManager.findFreeSlot(15, startTime.minusMinutes(10)),
+                "Найден интервал, касающийся начала задачи.");
+
+        //Задачи нулевой длительности в одной минуте: удаление одной не освобождает минуту другой.
+        Task task3 = new Task("Задача 3", "Описание задачи 3.", startTime.plusMinutes(50).plusSeconds(10), 0);
+        taskManager.addTask(task3);
+        Task task4 = new Task("Задача 4", "Описание задачи 4.", startTime.plusMinutes(50).plusSeconds(20), 0);
+        taskManager.addTask(task4);
+        taskManager.delTaskByID(task3.getId());
+
+        assertEquals(startTime.plusMinutes(51), taskManager.findFreeSlot(0, startTime.plusMinutes(50)),
+                "После удаления задачи освобождена минута другой задачи.");
+
+        //Интервал через полночь.
+        Task task5 = new Task("Задача 5", "Описание задачи 5.", LocalDateTime.of(2_025, 4, 1, 23, 0, 0), 120);
+        taskManager.addTask(task5);
+
+        assertEquals(LocalDateTime.of(2_025, 4, 2, 1, 1, 0),
+                taskManager.findFreeSlot(60, LocalDateTime.of(2_025, 4, 1, 22, 30, 0)),
+                "Не верно найден свободный интервал после задачи, переходящей через полночь.");
+
+        //После изменения начала задачи ее прежние минуты свободны.
+        task1.setStartTime(startTime.minusHours(2));
+        assertEquals(startTime, taskManager.findFreeSlot(15, startTime),
+                "Минуты задачи не освобождены после изменения начала выполнения.");
+    }
+
+    @Test
+    public void checkUpdateTaskRescheduled() {
+        //Новая версия задачи (другой объект с тем же id) с другими сроками проверяется на пересечение.
+        TaskManager taskManager = createTaskManager();
+
+        LocalDateTime startTime = LocalDateTime.of(2_025, 4, 2, 10, 0, 0);
+
+        Task task1 = new Task("Задача 1", "Описание задачи 1.", startTime, 30);  //10:00 - 10:30
+        int id1 = taskManager.addTask(task1);
+        Task task2 = new Task("Задача 2", "Описание задачи 2.", startTime.plusHours(1), 30);  //11:00 - 11:30
+        int id2 = taskManager.addTask(task2);
+
+        Task taskCross = new Task("Задача 1", "Описание задачи 1.", startTime.plusMinutes(75), 10);
+        taskCross.setId(id1);
+
+        assertThrows(CrossTimeExecution.class, () -> taskManager.updateTask(taskCross),
+                "Новая версия задачи пересекается с другой задачей.");
+        assertEquals(Optional.of(startTime), taskManager.getTaskByID(id1).orElseThrow().getStartTime(),
+                "Сохранена новая версия задачи с пересечением.");
+        assertFalse(taskManager.isTimeSlotFree(startTime, 10), "Интервал задачи освобожден.");
+
+        Task taskMoved = new Task("Задача 1", "Описание задачи 1.", startTime.plusHours(2), 10);  //12:00 - 12:10
+        taskMoved.setId(id1);
+
+        assertTrue(taskManager.updateTask(taskMoved), "Новая версия задачи не сохранена.");
+        assertTrue(taskManager.isTimeSlotFree(startTime, 30), "Прежний интервал задачи не освобожден.");
+        assertFalse(taskManager.isTimeSlotFree(startTime.plusHours(2), 5), "Новый интервал задачи не занят.");
+        assertEquals(List.of(id2, id1), taskManager.getPrioritizedTasks().stream().map(Task::getId).toList(),
+                "Приоритизированный список не учитывает новые сроки задачи.");
+
+        //Менеджер слушает сроки новой версии, а не прежней.
+        task1.setStartTime(startTime.plusHours(1));
+        assertEquals(Optional.of(startTime.plusHours(2)), taskManager.getTaskByID(id1).orElseThrow().getStartTime(),
+                "Изменение прежней версии задачи попало в менеджер.");
+    }
+
+    @Test
+    public void checkPrioritizedTasksAfterUpdate() {
+        //Приоритизированный список после обновления задачи (подзадачи) отдает новую версию (статус).
+        TaskManager taskManager = createTaskManager();
+
+        LocalDateTime startTime = LocalDateTime.of(2_025, 3, 1, 10, 0, 0);
+
+        int idTask = taskManager.addTask(new Task("Задача 1", "Описание задачи 1.", startTime, 30));
+        Epic epic = new Epic("Эпик 1", "Описание эпика 1.");
+        taskManager.addEpic(epic);
+        int idSubtask = taskManager.addSubtask(new Subtask("Подзадача 1", "Описание подзадачи 1.", epic,
+                startTime.plusHours(1), 30));
+
+        assertEquals(List.of(NEW, NEW), taskManager.getPrioritizedTasks().stream().map(Task::getStatus).toList(),
+                "Не верные статусы в приоритизированном списке.");
+
+        taskManager.updateTask(taskManager.getTaskByID(idTask).orElseThrow());
+        assertEquals(List.of(IN_PROGRESS, NEW),
+                taskManager.getPrioritizedTasks().stream().map(Task::getStatus).toList(),
+                "Приоритизированный список не обновлен после обновления задачи.");
+
+        taskManager.updateSubtask(taskManager.getSubtaskByID(idSubtask).orElseThrow());
+        assertEquals(List.of(IN_PROGRESS, IN_PROGRESS),
+                taskManager.getPrioritizedTasks().stream().map(Task::getStatus).toList(),
+                "Приоритизированный список не обновлен после обновления подзадачи.");
+    }
+
+    @Test
+    public void checkFreeSlotsDurationBounds() {
+        TaskManager taskManager = createTaskManager();
+
+        LocalDateTime startTime = LocalDateTime.of(2_025, 4, 1, 10, 0, 0);
+        taskManager.addTask(new Task("Задача 1", "Описание задачи 1.", startTime, 30));  //10:00 - 10:30
+
+        //Интервал максимальной длительности начинается после всех задач, а не на занятой минуте.
+        assertEquals(startTime.plusMinutes(31), taskManager.findFreeSlot(Task.MAX_DURATION_MINUTES, startTime),
+                "Интервал максимальной длительности пересекается с задачей.");
+        assertFalse(taskManager.isTimeSlotFree(startTime.minusDays(1), Task.MAX_DURATION_MINUTES),
+                "Интервал максимальной длительности не пересекается с задачей.");
+
+        assertThrows(IllegalArgumentException.class, () -> taskManager.isTimeSlotFree(startTime, -1),
+                "Принята отрицательная продолжительность интервала.");
+        assertThrows(IllegalArgumentException.class, () -> taskManager.isTimeSlotFree(startTime, Long.MAX_VALUE),
+                "Принята слишком большая продолжительность интервала.");
+        assertThrows(IllegalArgumentException.class, () -> taskManager.findFreeSlot(Long.MAX_VALUE, startTime),
+                "Принята слишком большая продолжительность интервала.");
+    }
+
+    @Test
+    public void checkScheduleTask() {
+        TaskManager taskManager = createTaskManager();
+
+        LocalDateTime startTime = LocalDateTime.of(2_025, 5, 1, 10, 0, 0);
+
+        Task task1 = new Task("Задача 1", "Описание задачи 1.", startTime, 30);  //10:00 - 10:30
+        taskManager.addTask(task1);
+        Task task2 = new Task("Задача 2", "Описание задачи 2.", startTime.plusMinutes(45), 30);  //10:45 - 11:15
+        taskManager.addTask(task2);
+
+        //Промежуток 10:31 - 10:44 мал для задачи длительностью 20 минут.
+        Task task3 = new Task("Задача 3", "Описание задачи 3.", null, 0);
+        task3.setDuration(20);
+        int id = taskManager.scheduleTask(task3, startTime);
+
+        assertTrue(id > 0, "Задача не запланирована.");
+        assertEquals(Optional.of(startTime.plusMinutes(76)), task3.getStartTime(),
+                "Задача размещена не в ближайшем свободном интервале.");
+
+        //Подзадача помещается в промежуток между задачами.
+        Epic epic = new Epic("Эпик 1", "Описание эпика 1.");
+        taskManager.addEpic(epic);
+        Subtask subtask = new Subtask("Подзадача 1", "Описание подзадачи 1.", epic);
+        subtask.setDuration(10);
+        taskManager.scheduleTask(subtask, startTime);
+
+        assertEquals(Optional.of(startTime.plusMinutes(31)), subtask.getStartTime(),
+                "Подзадача размещена не в ближайшем свободном интервале.");
+        assertEquals(subtask.getStartTime(), epic.getStartTime(), "Начало эпика не пересчитано.");
+
+        assertEquals(List.of(task1, subtask, task2, task3), taskManager.getPrioritizedTasks(),
+                "Список задач после планирования приоритизирован не верно.");
+    }
+
+    @Test
+    public void checkListSnapshots() {
+        TaskManager taskManager = createTaskManager();
+
+        LocalDateTime startTime = LocalDateTime.of(2_025, 6, 1, 10, 0, 0);
+
+        Task task1 = new Task("Задача 1", "Описание задачи 1.", startTime, 30);
+        taskManager.addTask(task1);
+
+        //Между изменениями повторное чтение возвращает тот же неизменяемый снимок.
+        List<Task> tasks = taskManager.getTasks();
+        List<Task> prioritizedTasks = taskManager.getPrioritizedTasks();
+        long hits = taskManager.getSnapshotHits();
+        long rebuilds = taskManager.getSnapshotRebuilds();
+
+        assertSame(tasks, taskManager.getTasks(), "Снимок списка задач перестроен без изменений.");
+        assertSame(prioritizedTasks, taskManager.getPrioritizedTasks(),
+                "Снимок приоритизированного списка перестроен без изменений.");
+        assertEquals(hits + 2, taskManager.getSnapshotHits(), "Не учтены чтения из снимков.");
+        assertEquals(rebuilds, taskManager.getSnapshotRebuilds(), "Учтены лишние перестроения снимков.");
+        assertThrows(UnsupportedOperationException.class, () -> tasks.add(task1), "Снимок списка изменяемый.");
+
+        //Изменение задач делает снимок устаревшим, старый снимок при этом не меняется.
+        Task task2 = new Task("Задача 2", "Описание задачи 2.", startTime.minusHours(1), 30);
+        taskManager.addTask(task2);
+
+        assertEquals(List.of(task1), tasks, "Изменился ранее выданный снимок.");
+        assertEquals(2, taskManager.getTasks().size(), "Снимок списка задач не перестроен после добавления.");
+        assertEquals(List.of(task2, task1), taskManager.getPrioritizedTasks(),
+                "Снимок приоритизированного списка не перестроен после добавления.");
+
+        //Изменение начала выполнения меняет порядок приоритизированного списка.
+        task2.setStartTime(startTime.plusHours(1));
+
+        assertEquals(List.of(task1, task2), taskManager.getPrioritizedTasks(),
+                "Снимок приоритизированного списка не перестроен после изменения начала выполнения.");
+        assertEquals(rebuilds + 3, taskManager.getSnapshotRebuilds(), "Не учтены перестроения снимков.");
+    }
+
+    @Test
+    public void checkAddTasksBatch() {
+        TaskManager taskManager = createTaskManager();
+
+        LocalDateTime startTime = LocalDateTime.of(2_025, 7, 1, 10, 0, 0);
+
+        Task task = new Task("Задача 1", "Описание задачи 1.", startTime, 30);  //10:00 - 10:30
+        taskManager.addTask(task);
+
+        //В пакете: пересечение с задачей менеджера, пересечение элементов пакета между собой и свободные элементы.
+        Epic epic = new Epic("Эпик 1", "Описание эпика 1.");
+        Task task1 = new Task("Задача 2", "Описание задачи 2.", startTime.plusMinutes(20), 30); //с задачей 1
+        Task task2 = new Task("Задача 3", "Описание задачи 3.", startTime.plusHours(2), 60);   //12:00 - 13:00
+        Subtask subtask = new Subtask("Подзадача 1", "Описание подзадачи 1.", epic,
+                startTime.plusHours(2).plusMinutes(30), 10);                                  //с задачей 3
+        Task task3 = new Task("Задача 4", "Описание задачи 4.", startTime.plusHours(5), 30);
+        Task task4 = new Task("Задача 5", "Описание задачи 5.");
+
+        List<Task> batch = List.of(epic, task1, task2, subtask, task3, task4);
+
+        CrossTimeExecution exception = assertThrows(CrossTimeExecution.class, () -> taskManager.addTasks(batch),
+                "Пересечения в пакете не обнаружены.");
+        assertEquals(List.of(task1, task2, subtask), exception.getConflictingTasks(),
+                "Пересекающиеся элементы пакета определены не верно.");
+        assertEquals(1, taskManager.getTasks().size() + taskManager.getEpics().size()
+                + taskManager.getSubtasks().size(), "Добавлены элементы пакета, не прошедшего проверку.");
+
+        //Пакет без пересечений добавляется целиком в порядке коллекции.
+        subtask.setStartTime(startTime.plusHours(4));
+        task1.setStartTime(startTime.plusHours(6));
+
+        List<Integer> ids = taskManager.addTasks(batch);
+
+        assertEquals(batch.size(), ids.size(), "Добавлены не все элементы пакета.");
+        assertEquals(epic.getId(), ids.get(0), "Id присвоены не в порядке пакета.");
+        assertEquals(List.of(task, task2, subtask, task3, task1), taskManager.getPrioritizedTasks(),
+                "Приоритизированный список после добавления пакета не верен.");
+    }
+
+    @Test
+    public void checkGetByIdTypes() {
+        //Задачи всех типов хранятся по id в одном хранилище: поиск по id учитывает тип.
+        TaskManager taskManager = createTaskManager();
+
+        Task task = new Task("Задача 1", "Описание задачи 1.");
+        int taskId = taskManager.addTask(task);
+        Epic epic = new Epic("Эпик 1", "Описание эпика 1.");
+        int epicId = taskManager.addEpic(epic);
+        Subtask subtask = new Subtask("Подзадача 1", "Описание подзадачи 1.", epic);
+        int subtaskId = taskManager.addSubtask(subtask);
+
+        assertTrue(taskManager.getSubtaskByID(taskId).isEmpty(), "Задача найдена как подзадача.");
+        assertTrue(taskManager.getEpicByID(subtaskId).isEmpty(), "Подзадача найдена как эпик.");
+        assertTrue(taskManager.getTaskByID(epicId).isEmpty(), "Эпик найден как задача.");
+        assertTrue(taskManager.getTaskByID(subtaskId + 1_000).isEmpty(), "Найдена задача с не выданным id.");
+
+        assertEquals(Optional.of(subtask), taskManager.getSubtaskByID(subtaskId), "Подзадача не найдена по id.");
+
+        taskManager.delAllSubtasks();
+
+        assertTrue(taskManager.getSubtaskByID(subtaskId).isEmpty(), "Подзадача не удалена.");
+        assertEquals(List.of(task), taskManager.getTasks(), "При удалении подзадач изменился список задач.");
+        assertEquals(List.of(epic), taskManager.getEpics(), "При удалении подзадач изменился список эпиков.");
+    }
+
+    @Test
+    public void checkGetTasksByStatus() {
+        //Выборка по статусу ведется индексом: добавление, обновление (смена статуса) и удаление.
+        TaskManager taskManager = createTaskManager();
+
+        Task task1 = new Task("Задача 1", "Описание задачи 1.");
+        Task task2 = new Task("Задача 2", "Описание задачи 2.");
+        Task task3 = new Task("Задача 3", "Описание задачи 3.");
+        taskManager.addTask(task1);
+        int id2 = taskManager.addTask(task2);
+        taskManager.addTask(task3);
+
+        Epic epic = new Epic("Эпик 1", "Описание эпика 1.");
+        taskManager.addEpic(epic);
+        Subtask subtask1 = new Subtask("Подзадача 1", "Описание подзадачи 1.", epic);
+        Subtask subtask2 = new Subtask("Подзадача 2", "Описание подзадачи 2.", epic);
+        taskManager.addSubtask(subtask1);
+        int idSubtask2 = taskManager.addSubtask(subtask2);
+
+        assertEquals(List.of(task1, task2, task3), taskManager.getTasksByStatus(NEW), "Новые задачи не верны.");
+        assertEquals(List.of(), taskManager.getTasksByStatus(IN_PROGRESS), "Задачи в работе не верны.");
+
+        taskManager.updateTask(task3);
+        taskManager.updateTask(task1);
+        taskManager.updateTask(task1);
+        taskManager.updateSubtask(subtask2);
+
+        assertEquals(List.of(task2), taskManager.getTasksByStatus(NEW), "Новые задачи не верны.");
+        assertEquals(List.of(task3), taskManager.getTasksByStatus(IN_PROGRESS), "Задачи в работе не верны.");
+        assertEquals(List.of(task1), taskManager.getTasksByStatus(DONE), "Выполненные задачи не верны.");
+        assertEquals(List.of(subtask1), taskManager.getSubtasksByStatus(NEW), "Новые подзадачи не верны.");
+        assertEquals(List.of(subtask2), taskManager.getSubtasksByStatus(IN_PROGRESS),
+                "Подзадачи в работе не верны.");
+
+        //Новая версия задачи с другим статусом учитывается по итоговому статусу.
+        Task task2Update = new Task("Задача 2", "Новое описание задачи 2.");
+        task2Update.setId(id2);
+        task2Update.setStatus(IN_PROGRESS);
+        taskManager.updateTask(task2Update);
+
+        assertEquals(List.of(), taskManager.getTasksByStatus(NEW), "Новая версия задачи не учтена.");
+        assertEquals(List.of(task2Update), taskManager.getTasksByStatus(DONE).subList(1, 2),
+                "Новая версия задачи не учтена.");
+
+        taskManager.delTaskByID(id2);
+        taskManager.delSubtaskByID(idSubtask2);
+
+        assertEquals(List.of(task1), taskManager.getTasksByStatus(DONE), "Удаленная задача осталась в индексе.");
+        assertEquals(List.of(), taskManager.getSubtasksByStatus(IN_PROGRESS), "Удаленная подзадача в индексе.");
+
+        taskManager.delAllEpics();
+        assertEquals(List.of(), taskManager.getSubtasksByStatus(NEW), "Подзадачи удаленных эпиков в индексе.");
+    }
+
+    @Test
+    public void checkSearchTasks() {
+        //Полнотекстовый поиск: слова запроса ищутся по началу слов, в результате - задачи со всеми словами.
+        TaskManager taskManager = createTaskManager();
+
+        Task task1 = new Task("Купить ёлку", "Съездить на ёлочный базар.");
+        Task task2 = new Task("Съездить на дачу", "Купить саженцы и удобрения.");
+        int id1 = taskManager.addTask(task1);
+        taskManager.addTask(task2);
+
+        Epic epic = new Epic("Переезд", "Перевезти вещи на дачу.");
+        taskManager.addEpic(epic);
+        Subtask subtask = new Subtask("Упаковать вещи", "Коробки, скотч.", epic);
+        int idSubtask = taskManager.addSubtask(subtask);
+
+        //Совпадение в имени весит больше, чем в описании.
+        assertEquals(List.of(task1, task2), taskManager.searchTasks("купить", 0, 0), "Ранжирование не верно.");
+        assertEquals(List.of(task2, task1), taskManager.searchTasks("СЪЕЗДИТЬ", 0, 0), "Ранжирование не верно.");
+        //"е" и "ё" не различаются, слово запроса - начало слова.
+        assertEquals(List.of(task1), taskManager.searchTasks("елк", 0, 0), "Не найдено слово с буквой ё.");
+        assertEquals(List.of(task2, epic), taskManager.searchTasks("дач", 0, 0), "Поиск по началу слова не верен.");
+        //Все слова запроса должны быть в задаче.
+        assertEquals(List.of(epic), taskManager.searchTasks("вещи дачу", 0, 0), "Найдены задачи не со всеми словами.");
+        assertEquals(List.of(), taskManager.searchTasks("купить переезд", 0, 0), "Найдены задачи не со всеми словами.");
+        assertEquals(List.of(), taskManager.searchTasks(" ,. ", 0, 0), "Найдены задачи по пустому запросу.");
+
+        //Страница результатов.
+        assertEquals(List.of(task2), taskManager.searchTasks("купить", 1, 1), "Страница результатов не верна.");
+
+        //Обновление и удаление учитываются индексом.
+        Task task1Update = new Task("Нарядить ёлку", "Игрушки на антресоли.");
+        task1Update.setId(id1);
+        taskManager.updateTask(task1Update);
+        taskManager.delSubtaskByID(idSubtask);
+
+        assertEquals(List.of(task2), taskManager.searchTasks("купить", 0, 0), "Прежняя версия задачи в индексе.");
+        assertEquals(List.of(task1Update), taskManager.searchTasks("нарядить", 0, 0), "Новая версия не в индексе.");
+        assertEquals(List.of(epic), taskManager.searchTasks("вещи", 0, 0), "Удаленная подзадача в индексе.");
+    }
+
+    @Test
+    public void checkGetPages() {
+        //Постраничное чтение по id: курсор - id последнего элемента предыдущей страницы.
+        TaskManager taskManager = createTaskManager();
+
+        Task task1 = new Task("Задача 1", "Описание задачи 1.");
+        Task task2 = new Task("Задача 2", "Описание задачи 2.");
+        taskManager.addTask(task1);
+        int id2 = taskManager.addTask(task2);
+
+        Epic epic = new Epic("Эпик 1", "Описание эпика 1.");
+        taskManager.addEpic(epic);
+        Subtask subtask = new Subtask("Подзадача 1", "Описание подзадачи 1.", epic);
+        taskManager.addSubtask(subtask);
+
+        Task task3 = new Task("Задача 3", "Описание задачи 3.");
+        taskManager.addTask(task3);
+
+        assertEquals(List.of(task1, task2), taskManager.getTasksPage(0, 2), "Первая страница не верна.");
+        assertEquals(List.of(task3), taskManager.getTasksPage(id2, 2), "Вторая страница не верна.");
+        assertEquals(List.of(), taskManager.getTasksPage(task3.getId(), 2), "Страница после последней задачи.");
+        assertEquals(List.of(task1, task2, task3), taskManager.getTasksPage(0, 0), "Страница без ограничения.");
+        assertEquals(List.of(subtask), taskManager.getSubtasksPage(0, 10), "Страница подзадач не верна.");
+        assertEquals(List.of(epic), taskManager.getEpicsPage(0, 10), "Страница эпиков не верна.");
+    }
 }
\ No newline at end of file
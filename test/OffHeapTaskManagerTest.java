@@ -0,0 +1,86 @@
+import org.junit.jupiter.api.Test;
+import tracker.model.tasks.Task;
+import tracker.services.Managers;
+import tracker.services.TaskManager;
+import tracker.services.exceptions.CrossTimeExecution;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static tracker.model.enums.Status.IN_PROGRESS;
+
+/// Менеджер задач вне кучи проверяется по контракту InMemoryTaskManagerTest.
+public class OffHeapTaskManagerTest extends InMemoryTaskManagerTest {
+    @Override
+    protected TaskManager createTaskManager() {
+        return Managers.getOffHeap();
+    }
+
+    @Test
+    public void checkTasksMaterializedOnRead() {
+        //Задачи хранятся вне кучи: каждое чтение создает новый объект с данными хранилища.
+        TaskManager taskManager = createTaskManager();
+
+        LocalDateTime startTime = LocalDateTime.of(2_025, 8, 1, 10, 0, 15);
+
+        Task task = new Task("Задача 1 - длинное имя", "Описание задачи 1.", startTime, 30);
+        int id = taskManager.addTask(task);
+
+        Task taskGet = taskManager.getTaskByID(id).orElseThrow();
+
+        assertNotSame(task, taskGet, "Задача не создана при чтении.");
+        assertEquals(task, taskGet, "Задачи не совпадают.");
+        assertEquals(Optional.of(startTime), taskGet.getStartTime(), "Начало выполнения не сохранено.");
+        assertEquals(30, taskGet.getDuration(), "Продолжительность выполнения не сохранена.");
+
+        //Обновление: имя короче прежнего записывается на место прежнего, статус сохраняется.
+        Task taskUpdate = new Task("Задача 1", null, startTime, 30);
+        taskUpdate.setId(id);
+        taskManager.updateTask(taskUpdate);
+
+        taskGet = taskManager.getTaskByID(id).orElseThrow();
+
+        assertEquals("Задача 1", taskGet.getName(), "Имя задачи не обновлено.");
+        assertNull(taskGet.getDescr(), "Описание задачи не обновлено.");
+        assertEquals(IN_PROGRESS, taskGet.getStatus(), "Статус задачи не сохранен.");
+
+        //Принятое индексом изменение сроков объекта, переданного в addTask, попадает в хранилище.
+        Task task2 = new Task("Задача 2", "Описание задачи 2.", startTime.plusHours(1), 30);
+        int id2 = taskManager.addTask(task2);
+        task2.setStartTime(startTime.plusHours(2));
+
+        assertEquals(Optional.of(startTime.plusHours(2)), taskManager.getTaskByID(id2).orElseThrow().getStartTime(),
+                "Изменение начала выполнения не сохранено.");
+        assertEquals(List.of(task, task2), taskManager.getPrioritizedTasks(), "Приоритизированный список не верен.");
+    }
+
+    @Test
+    public void checkMaterializedTaskRescheduledOnUpdate() {
+        //Объект, созданный при чтении, менеджер не слушает: новые сроки проверяются при updateTask.
+        TaskManager taskManager = createTaskManager();
+
+        LocalDateTime startTime = LocalDateTime.of(2_025, 8, 2, 10, 0, 0);
+
+        int id1 = taskManager.addTask(new Task("Задача 1", "Описание задачи 1.", startTime, 30));
+        int id2 = taskManager.addTask(new Task("Задача 2", "Описание задачи 2.", startTime.plusHours(1), 30));
+
+        Task taskGet = taskManager.getTaskByID(id1).orElseThrow();
+        taskGet.setStartTime(startTime.plusMinutes(70));    //на время задачи 2
+
+        assertThrows(CrossTimeExecution.class, () -> taskManager.updateTask(taskGet),
+                "Сохранено пересекающееся начало выполнения.");
+        assertEquals(Optional.of(startTime), taskManager.getTaskByID(id1).orElseThrow().getStartTime(),
+                "В хранилище записано пересекающееся начало выполнения.");
+
+        taskGet.setStartTime(startTime.plusHours(2));
+        taskManager.updateTask(taskGet);
+
+        assertEquals(Optional.of(startTime.plusHours(2)), taskManager.getTaskByID(id1).orElseThrow().getStartTime(),
+                "Начало выполнения не сохранено.");
+        assertTrue(taskManager.isTimeSlotFree(startTime, 30), "Прежний интервал задачи не освобожден.");
+        assertEquals(List.of(id2, id1), taskManager.getPrioritizedTasks().stream().map(Task::getId).toList(),
+                "Приоритизированный список не учитывает новые сроки задачи.");
+    }
+}
\ No newline at end of file
@@ -1,9 +1,15 @@
+import com.google.gson.Gson;
 import org.junit.jupiter.api.Test;
+import tracker.model.tasks.ScheduleListener;
 import tracker.model.tasks.Task;
+import tracker.services.Managers;
 import tracker.services.enums.TypeTask;
 import tracker.services.exceptions.SetPropertyTaskException;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -102,6 +108,25 @@ public class TaskTest {
                 "В исключении не корректная информация об ошибке.");
     }
 
+    @Test
+    public void shouldBeThrowWith_durationGreaterMax() {
+        //Продолжительность больше Task.MAX_DURATION_MINUTES не принимают ни сеттер, ни конструктор:
+        //компактное представление хранит продолжительность в int.
+        final Task task1 = new Task("Имя 3", "Описание 3", LocalDateTime.of(2026, 9, 25, 13, 35), 10);
+
+        assertThrows(SetPropertyTaskException.class, () -> task1.setDuration(Task.MAX_DURATION_MINUTES + 1),
+                "Не выброшено исключение при установке слишком большого значения в поле duration.");
+        assertEquals(10, task1.getDurationMinutes(), "Продолжительность изменена отклоненным значением.");
+
+        assertThrows(SetPropertyTaskException.class,
+                () -> new Task("Задача ...", "Описание ...", LocalDateTime.of(2026, 9, 25, 13, 35),
+                        Task.MAX_DURATION_MINUTES + 1),
+                "Не выброшено исключение при создании задачи со слишком большим значением duration.");
+
+        task1.setDuration(Task.MAX_DURATION_MINUTES);
+        assertEquals(Task.MAX_DURATION_MINUTES, task1.getDurationMinutes(), "Продолжительность усечена.");
+    }
+
     @Test
     public void shouldBeThrowWith_startTimeEqualNull_durationEqualNot0() {
         //Создаем объект с пустым свойствам startTime и duration != 0.
@@ -116,4 +141,79 @@ public class TaskTest {
         assertTrue(exception.getMessage().contains("Не допускается создание задачи с продолжительностью выполнения не равной нулю и startTime равным null."),
                 "В исключении не корректная информация об ошибке.");
     }
+
+    @Test
+    public void shouldBeNotifyScheduleListeners() {
+        //Проверяем оповещение слушателей об изменении сроков: старые значения передаются в слушатель,
+        //без фактического изменения оповещения нет, отключенный слушатель не оповещается.
+        final LocalDateTime startTime = LocalDateTime.of(2026, 9, 25, 13, 35, 56);
+
+        Task task = new Task("Имя 1", "Описание 1", startTime, 10);
+
+        List<String> events = new ArrayList<>();
+        ScheduleListener listener = (source, oldStartTime, oldDuration) ->
+                events.add(source.getName() + ";" + oldStartTime + ";" + oldDuration + ";" + source.getDuration());
+
+        task.addScheduleListener(listener);
+
+        task.setStartTime(startTime);   //значение не изменилось
+        task.setDuration(10);   //значение не изменилось
+        task.setStartTime(startTime.plusHours(1));
+        task.setDuration(20);
+
+        assertEquals(List.of("Имя 1;" + startTime + ";10;10", "Имя 1;" + startTime.plusHours(1) + ";10;20"), events,
+                "Не корректное оповещение слушателя об изменении сроков.");
+
+        task.removeScheduleListener(listener);
+        task.setDuration(30);
+
+        assertEquals(2, events.size(), "Оповещен отключенный слушатель.");
+    }
+
+    @Test
+    public void shouldBeCompactScheduleCorrect() {
+        //Проверяем компактное представление сроков (секунды от эпохи) после создания, изменения сроков
+        //и десериализации (поля компактного представления не сериализуются).
+        final LocalDateTime startTime = LocalDateTime.of(2026, 9, 25, 13, 35, 56);
+        final long startSecond = startTime.toEpochSecond(ZoneOffset.UTC);
+
+        Task task = new Task("Имя 1", "Описание 1");
+
+        assertEquals(Task.NO_TIME, task.getStartEpochSecond(), "Задан компактный срок у задачи без начала.");
+        assertEquals(Task.NO_TIME, task.getEndEpochSecond(), "Задан компактный срок у задачи без начала.");
+
+        task.setStartTime(startTime);
+        task.setDuration(15);
+
+        assertEquals(startSecond, task.getStartEpochSecond(), "Не корректное компактное начало выполнения.");
+        assertEquals(startSecond + 15 * 60, task.getEndEpochSecond(), "Не корректный компактный конец выполнения.");
+        assertEquals(15, task.getDurationMinutes(), "Не корректная компактная продолжительность выполнения.");
+
+        Gson gson = Managers.createGson();
+        Task taskFromJson = gson.fromJson(gson.toJson(task), Task.class);
+
+        assertEquals(startSecond, taskFromJson.getStartEpochSecond(), "Компактное начало не рассчитано после десериализации.");
+        assertEquals(startSecond + 15 * 60, taskFromJson.getEndEpochSecond(), "Компактный конец не рассчитан после десериализации.");
+    }
+
+    @Test
+    public void shouldTruncateStartTimeToSeconds() {
+        //Доли секунды начала выполнения отбрасываются при установке: компактное представление совпадает со startTime.
+        final LocalDateTime startTime = LocalDateTime.of(2026, 9, 25, 13, 35, 56, 700_000_000);
+        final LocalDateTime startSecond = LocalDateTime.of(2026, 9, 25, 13, 35, 56);
+
+        Task task = new Task("Имя 1", "Описание 1", startTime, 15);
+
+        assertEquals(Optional.of(startSecond), task.getStartTime(), "Доли секунды в конструкторе не отброшены.");
+        assertEquals(Optional.of(startSecond.plusMinutes(15)), task.getEndTime(), "Не корректный конец выполнения.");
+
+        task.setStartTime(startTime.plusMinutes(1));
+
+        assertEquals(Optional.of(startSecond.plusMinutes(1)), task.getStartTime(), "Доли секунды в сеттере не отброшены.");
+        assertEquals(startSecond.plusMinutes(1).toEpochSecond(ZoneOffset.UTC), task.getStartEpochSecond(),
+                "Не корректное компактное начало выполнения.");
+
+        assertThrows(SetPropertyTaskException.class, () -> new Task("Имя 2", "Описание 2", startTime, -1),
+                "Создана задача с отрицательной продолжительностью выполнения.");
+    }
 }
\ No newline at end of file
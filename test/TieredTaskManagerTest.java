@@ -0,0 +1,220 @@
+import org.junit.jupiter.api.Test;
+import tracker.model.tasks.Epic;
+import tracker.model.tasks.Subtask;
+import tracker.model.tasks.Task;
+import tracker.services.Managers;
+import tracker.services.TaskManager;
+import tracker.services.TieringPolicy;
+import tracker.services.exceptions.CrossTimeExecution;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static tracker.model.enums.Status.*;
+
+/// Менеджер задач с архивом проверяется по контракту InMemoryTaskManagerTest (политика с большим лимитом),
+/// перенос в архив - отдельными тестами.
+public class TieredTaskManagerTest extends InMemoryTaskManagerTest {
+    @Override
+    protected TaskManager createTaskManager() {
+        return Managers.getTiered(TieringPolicy.byCount(1_000));
+    }
+
+    /// Доводит задачу до статуса DONE (каждое обновление переводит задачу в следующий статус).
+    private void complete(TaskManager taskManager, Task task) {
+        taskManager.updateTask(task);
+        taskManager.updateTask(task);
+    }
+
+    /// Id задач списка: эпик и подзадачи, прочитанные из архива, - новые объекты, сравниваем их по id.
+    private List<Integer> ids(List<? extends Task> tasks) {
+        return tasks.stream().map(Task::getId).toList();
+    }
+
+    @Test
+    public void checkDoneTasksArchivedByCount() {
+        TaskManager taskManager = Managers.getTiered(TieringPolicy.byCount(1));
+
+        LocalDateTime startTime = LocalDateTime.of(2_025, 9, 1, 10, 0);
+
+        Task task1 = new Task("Задача 1", "Описание задачи 1.", startTime, 30);
+        Task task2 = new Task("Задача 2", "Описание задачи 2.");
+        Task task3 = new Task("Задача 3", "Описание задачи 3.");
+        int id1 = taskManager.addTask(task1);
+        int id2 = taskManager.addTask(task2);
+        taskManager.addTask(task3);
+
+        complete(taskManager, task1);
+        assertEquals(List.of(task1, task2, task3), taskManager.getTasks(), "Задача перенесена в архив до лимита.");
+
+        //Вторая выполненная задача превышает лимит: в архив уходит выполненная раньше.
+        complete(taskManager, task2);
+        assertEquals(List.of(task2, task3), taskManager.getTasks(), "Задача не перенесена в архив.");
+        assertEquals(List.of(task1, task2, task3), taskManager.getTasks(true), "Список с архивом не верен.");
+        assertEquals(List.of(), taskManager.getPrioritizedTasks(), "Архивная задача в приоритизированном списке.");
+
+        //Интервал архивной задачи по-прежнему занимает время выполнения.
+        assertFalse(taskManager.isTimeSlotFree(startTime, 10), "Время архивной задачи освобождено.");
+        assertThrows(CrossTimeExecution.class,
+                () -> taskManager.addTask(new Task("Задача 4", "Описание задачи 4.", startTime.plusMinutes(10), 5)),
+                "Задача пересекается с архивной задачей.");
+
+        //Получение по id читает задачу из архива, задача остается в архиве.
+        Task taskGet = taskManager.getTaskByID(id1).orElseThrow();
+
+        assertNotSame(task1, taskGet, "Задача не прочитана из архива.");
+        assertEquals(task1, taskGet, "Задачи не совпадают.");
+        assertEquals(task1.getName(), taskGet.getName(), "Имя задачи не восстановлено.");
+        assertEquals(DONE, taskGet.getStatus(), "Статус задачи не восстановлен.");
+        assertEquals(Optional.of(startTime), taskGet.getStartTime(), "Начало выполнения не восстановлено.");
+        assertEquals(30, taskGet.getDuration(), "Продолжительность выполнения не восстановлена.");
+        assertEquals(List.of(task2, task3), taskManager.getTasks(), "Прочитанная задача возвращена в память.");
+        assertEquals(List.of(id1), ids(taskManager.getHistoryManager().getHistory()),
+                "Просмотр архивной задачи не отмечен в истории.");
+
+        //Обновление возвращает задачу из архива в память, в архив уходит следующая по порядку выполнения.
+        taskManager.updateTask(taskGet);
+        assertEquals(List.of(taskGet), taskManager.getPrioritizedTasks(), "Задача из архива не в индексе.");
+        assertFalse(taskManager.getTasks().contains(task2), "Задача сверх лимита не перенесена в архив.");
+
+        //Удаление архивной задачи по id.
+        assertEquals(task2, taskManager.delTaskByID(id2), "Архивная задача не удалена.");
+        assertFalse(taskManager.getTasks(true).contains(task2), "Удаленная задача осталась в архиве.");
+    }
+
+    @Test
+    public void checkDoneEpicArchivedWithSubtasks() {
+        TaskManager taskManager = Managers.getTiered(TieringPolicy.byAge(Duration.ZERO));
+
+        LocalDateTime startTime = LocalDateTime.of(2_025, 9, 2, 10, 0);
+
+        Epic epic = new Epic("Эпик 1", "Описание эпика 1.");
+        int idEpic = taskManager.addEpic(epic);
+
+        Subtask subtask1 = new Subtask("Подзадача 1", "Описание подзадачи 1.", epic, startTime, 30);
+        Subtask subtask2 = new Subtask("Подзадача 2", null, epic, startTime.plusHours(1), 15);
+        int idSubtask1 = taskManager.addSubtask(subtask1);
+        taskManager.addSubtask(subtask2);
+
+        for (Subtask subtask : List.of(subtask1, subtask2)) {
+            taskManager.updateSubtask(subtask);
+            taskManager.updateSubtask(subtask);
+        }
+
+        //Эпик выполнен: по возрасту ZERO сразу переносится в архив вместе с подзадачами.
+        assertEquals(List.of(), taskManager.getEpics(), "Эпик не перенесен в архив.");
+        assertEquals(List.of(), taskManager.getSubtasks(), "Подзадачи не перенесены в архив.");
+        assertEquals(List.of(idEpic), ids(taskManager.getEpics(true)), "Эпика нет в списке с архивом.");
+        assertEquals(ids(List.of(subtask1, subtask2)), ids(taskManager.getSubtasks(true)),
+                "Подзадач нет в списке с архивом.");
+
+        //Подзадача читается из архива вместе с эпиком, группа остается в архиве.
+        Subtask subtaskGet = taskManager.getSubtaskByID(idSubtask1).orElseThrow();
+        Epic epicGet = subtaskGet.getEpic();
+
+        assertNotSame(epic, epicGet, "Эпик не прочитан из архива.");
+        assertEquals(idEpic, epicGet.getId(), "Эпик подзадачи не совпадает.");
+        assertEquals(DONE, epicGet.getStatus(), "Статус эпика не восстановлен.");
+        assertEquals(Optional.of(startTime), epicGet.getStartTime(), "Начало выполнения эпика не рассчитано.");
+        assertEquals(45, epicGet.getDuration(), "Продолжительность эпика не рассчитана.");
+        assertEquals(Optional.of(startTime.plusMinutes(45)), epicGet.getEndTime(), "Конец эпика не рассчитан.");
+        assertSame(epicGet, epicGet.getSubtasks().get(1).getEpic(), "Подзадачи ссылаются на разные эпики.");
+        assertNull(epicGet.getSubtasks().get(1).getDescr(), "Описание подзадачи не восстановлено.");
+        assertEquals(List.of(), taskManager.getSubtasks(), "Прочитанная подзадача возвращена в память.");
+
+        //Новая подзадача открывает эпик повторно: эпик остается в памяти.
+        Subtask subtask3 = new Subtask("Подзадача 3", "Описание подзадачи 3.", epicGet);
+        taskManager.addSubtask(subtask3);
+
+        assertSame(epicGet, taskManager.getEpics().get(0), "Открытый эпик перенесен в архив.");
+        assertEquals(3, taskManager.getSubtasks().size(), "Подзадачи эпика не в памяти.");
+
+        //Удаление всех эпиков удаляет и архивные.
+        taskManager.delAllEpics();
+        assertEquals(List.of(), taskManager.getEpics(true), "Эпики не удалены.");
+        assertEquals(List.of(), taskManager.getSubtasks(true), "Подзадачи не удалены.");
+        assertTrue(taskManager.isTimeSlotFree(startTime, 90), "Время удаленных подзадач не освобождено.");
+    }
+
+    @Test
+    public void checkDoneTasksArchivedByAgeOnRead() throws InterruptedException {
+        TaskManager taskManager = Managers.getTiered(TieringPolicy.byAge(Duration.ofMillis(50)));
+
+        Task task1 = new Task("Задача 1", "Описание задачи 1.");
+        Task task2 = new Task("Задача 2", "Описание задачи 2.");
+        taskManager.addTask(task1);
+        int id2 = taskManager.addTask(task2);
+
+        complete(taskManager, task1);
+        assertEquals(List.of(task1, task2), taskManager.getTasks(), "Задача перенесена в архив раньше срока.");
+
+        //Изменений менеджера больше нет: выполненная задача переносится в архив по возрасту при чтении.
+        Thread.sleep(100);
+        taskManager.getTaskByID(id2);
+
+        assertEquals(List.of(task2), taskManager.getTasks(), "Задача не перенесена в архив при чтении.");
+        assertEquals(List.of(task1, task2), taskManager.getTasks(true), "Список с архивом не верен.");
+    }
+
+    @Test
+    public void checkArchivedEpicDeletedWithoutThaw() {
+        TaskManager taskManager = Managers.getTiered(TieringPolicy.byAge(Duration.ZERO));
+
+        LocalDateTime startTime = LocalDateTime.of(2_025, 9, 3, 10, 0);
+
+        Epic epic = new Epic("Эпик 1", "Описание эпика 1.");
+        int idEpic = taskManager.addEpic(epic);
+
+        Subtask subtask1 = new Subtask("Подзадача 1", "Описание подзадачи 1.", epic, startTime, 30);
+        Subtask subtask2 = new Subtask("Подзадача 2", "Описание подзадачи 2.", epic, startTime.plusHours(1), 15);
+        int idSubtask1 = taskManager.addSubtask(subtask1);
+        taskManager.addSubtask(subtask2);
+
+        taskManager.getEpicByID(idEpic);
+        taskManager.getSubtaskByID(idSubtask1);
+
+        for (Subtask subtask : List.of(subtask1, subtask2)) {
+            taskManager.updateSubtask(subtask);
+            taskManager.updateSubtask(subtask);
+        }
+        assertEquals(List.of(), taskManager.getEpics(), "Эпик не перенесен в архив.");
+
+        //Удаление архивного эпика: эпик не возвращается в память, его подзадачи удаляются вместе с ним.
+        assertEquals(idEpic, taskManager.delEpicByID(idEpic).orElseThrow().getId(), "Архивный эпик не удален.");
+        assertEquals(List.of(), taskManager.getEpics(true), "Эпик остался в архиве.");
+        assertEquals(List.of(), taskManager.getSubtasks(true), "Подзадачи остались в архиве.");
+        assertEquals(List.of(), taskManager.getHistoryManager().getHistory(), "Эпик остался в истории.");
+        assertTrue(taskManager.isTimeSlotFree(startTime, 90), "Время удаленных подзадач не освобождено.");
+        assertTrue(taskManager.getSubtaskByID(idSubtask1).isEmpty(), "Подзадача удаленного эпика найдена.");
+    }
+
+    @Test
+    public void checkColdStoreCompaction() throws IOException {
+        Path coldFile = File.createTempFile("archiveTasks", null).toPath();
+        TaskManager taskManager = Managers.getTiered(TieringPolicy.byAge(Duration.ZERO), coldFile);
+
+        String descr = "Описание задачи.".repeat(500);  //около 16 КБ в UTF-8
+        Task task = new Task("Задача 1", descr);
+        int id = taskManager.addTask(task);
+        complete(taskManager, task);
+
+        //Задача многократно возвращается из архива обновлением и снова переносится в архив.
+        for (int cycle = 0; cycle < 100; cycle++) {
+            taskManager.updateTask(taskManager.getTaskByID(id).orElseThrow());
+
+            assertFalse(taskManager.getTasks().stream().anyMatch(hot -> hot.getId() == id),
+                    "Задача не перенесена в архив.");
+        }
+
+        //Без сжатия файл занимал бы больше 1,6 МБ (сто копий задачи).
+        assertTrue(Files.size(coldFile) < 256 * 1024, "Место извлеченных задач в архиве не освобождено.");
+        assertEquals(descr, taskManager.getTaskByID(id).orElseThrow().getDescr(), "Задача после сжатия не прочитана.");
+    }
+}
\ No newline at end of file